@@ -90,6 +90,18 @@ public class ExportTest implements ExportErrorHandler
         export.run(new SysoutProgressMonitor());
     }
 
+    /** Export channels to numeric, chunked Matlab file */
+    @Test
+    public void matlabNumericExport() throws Exception
+    {
+        final Model model = getTestModel();
+        final ExportJob export = new MatlabNumericFileExportJob(model,
+                model.getStartTime(), model.getEndTime(),
+                Source.RAW_ARCHIVE, 10,
+                "/tmp/matlab.mat", this);
+        export.run(new SysoutProgressMonitor());
+    }
+
     /** @see ExportErrorHandler */
     @Override
     public void handleExportError(final Exception ex)
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.Block;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.IndexWriter;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of the {@link BinarySampleImporter}
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class BinarySampleImporterUnitTest
+{
+    private static final int COUNT = 20000;
+    private static final Instant START = Instant.ofEpochSecond(1500000000);
+    private static File file;
+
+    /** Write file with channel "numbers" and "stats" */
+    @BeforeClass
+    public static void createFile() throws Exception
+    {
+        file = File.createTempFile("binary_import", BinarySampleFormat.FILE_EXTENSION);
+        final Block block = new Block();
+        final IndexWriter index = new IndexWriter();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try
+        (
+            final FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        )
+        {
+            final ByteBuffer header = ByteBuffer.allocate(BinarySampleFormat.MAGIC.length + Integer.BYTES);
+            header.put(BinarySampleFormat.MAGIC);
+            header.putInt(BinarySampleFormat.VERSION);
+            header.flip();
+            out.write(header);
+            for (String name : new String[] { "numbers", "stats" })
+            {
+                index.startChannel(name);
+                for (int i=0; i<COUNT; ++i)
+                {
+                    final Instant time = START.plusSeconds(i);
+                    if (name.equals("stats"))
+                        block.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "", ValueFactory.displayNone(),
+                                                         -i, -i-1, -i+1, 0, 1));
+                    else
+                        block.add(new ArchiveVNumber(time, AlarmSeverity.values()[i % 3], "", ValueFactory.displayNone(), i));
+                    if (block.isFull()  ||  i == COUNT-1)
+                    {
+                        final ByteBuffer data = block.encode(deflater);
+                        final long position = out.position();
+                        final int size = data.remaining();
+                        out.write(data);
+                        index.addBlock(position, size, block);
+                        block.clear();
+                    }
+                }
+                index.endChannel();
+            }
+            out.write(index.toBuffer(out.position()));
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    @AfterClass
+    public static void deleteFile()
+    {
+        file.delete();
+    }
+
+    /** @param name Channel
+     *  @param start Start time
+     *  @param end End time
+     *  @param count Expected number of samples
+     *  @param first Expected first value
+     */
+    private void checkRange(final String name, final Instant start, final Instant end,
+                            final int count, final double first) throws Exception
+    {
+        final ValueIterator values = new BinarySampleImporter().importValues(file, name, start, end);
+        int n = 0;
+        double value = Double.NaN;
+        while (values.hasNext())
+        {
+            final VType sample = values.next();
+            if (n == 0)
+                value = VTypeHelper.toDouble(sample);
+            ++n;
+        }
+        values.close();
+        assertEquals(count, n);
+        if (count > 0)
+            assertEquals(first, value, 0.0);
+    }
+
+    @Test
+    public void testStreamImport() throws Exception
+    {
+        final List<VType> values = new BinarySampleImporter().importValues(new FileInputStream(file));
+        // Stream import reads the first channel
+        assertEquals(COUNT, values.size());
+        assertEquals(COUNT-1, VTypeHelper.toDouble(values.get(COUNT-1)), 0.0);
+        assertEquals(AlarmSeverity.MAJOR, VTypeHelper.getSeverity(values.get(2)));
+    }
+
+    @Test
+    public void testTimeRanges() throws Exception
+    {
+        // All
+        checkRange("numbers", START.minusSeconds(100), START.plusSeconds(COUNT + 100), COUNT, 0);
+        // Range starts with sample at-or-before start
+        checkRange("numbers", START.plusSeconds(5000).plusMillis(500), START.plusSeconds(6000), 1001, 5000);
+        // Start on block boundary
+        final int block = BinarySampleFormat.BLOCK_SIZE;
+        checkRange("numbers", START.plusSeconds(block), START.plusSeconds(2*block), block+1, block);
+        checkRange("numbers", START.plusSeconds(block-1).plusMillis(1), START.plusSeconds(block), 2, block-1);
+        // Range after the data returns last sample
+        checkRange("numbers", START.plusSeconds(COUNT + 100), START.plusSeconds(COUNT + 200), 1, COUNT-1);
+        // Range before the data is empty
+        checkRange("numbers", START.minusSeconds(200), START.minusSeconds(100), 0, 0);
+        // Other channel
+        checkRange("stats", START.plusSeconds(10), START.plusSeconds(20), 11, -10);
+        // Unknown channel falls back to first channel
+        checkRange("unknown", START.plusSeconds(10), START.plusSeconds(20), 11, 10);
+    }
+
+    @Test
+    public void testStatistics() throws Exception
+    {
+        final ValueIterator values = new BinarySampleImporter().importValues(file, "stats", START, START);
+        final VType value = values.next();
+        values.close();
+        assertThat(value, instanceOf(VStatistics.class));
+        assertEquals(-1.0, ((VStatistics) value).getMin(), 0.0);
+        assertEquals(1.0, ((VStatistics) value).getMax(), 0.0);
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.VType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of the {@link CSVFileValueIterator}
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CSVFileValueIteratorUnitTest
+{
+    private static final int COUNT = 20000;
+    private static final LocalDateTime START = LocalDateTime.of(2018, 1, 1, 0, 0);
+    private static File file;
+
+    @BeforeClass
+    public static void createFile() throws Exception
+    {
+        file = File.createTempFile("csv_import", ".dat");
+        final DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+        try
+        (
+            final PrintWriter out = new PrintWriter(file);
+        )
+        {
+            out.println("# Test data");
+            for (int i=0; i<COUNT; ++i)
+                out.println(START.plusSeconds(i).format(format) + "\t" + i + "\tNONE\tNO_ALARM");
+        }
+    }
+
+    @AfterClass
+    public static void deleteFile()
+    {
+        file.delete();
+    }
+
+    private static Instant time(final int seconds)
+    {
+        return START.plusSeconds(seconds).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /** Read range with various segment sizes
+     *  @param start Start time
+     *  @param end End time
+     *  @param count Expected number of samples
+     *  @param first Expected first value
+     */
+    private void checkRange(final Instant start, final Instant end, final int count, final double first) throws Exception
+    {
+        for (int segment_size : new int[] { 1000, 100000, 10000000 })
+        {
+            final ValueIterator values = new CSVFileValueIterator(file, start, end, segment_size);
+            int n = 0;
+            double value = Double.NaN;
+            while (values.hasNext())
+            {
+                final VType sample = values.next();
+                if (n == 0)
+                    value = VTypeHelper.toDouble(sample);
+                ++n;
+            }
+            values.close();
+            assertEquals(count, n);
+            if (count > 0)
+                assertEquals(first, value, 0.0);
+        }
+    }
+
+    @Test
+    public void testStreamImport() throws Exception
+    {
+        final List<VType> values = new CSVSampleImporter().importValues(new FileInputStream(file));
+        assertEquals(COUNT, values.size());
+        assertEquals(COUNT-1, VTypeHelper.toDouble(values.get(COUNT-1)), 0.0);
+    }
+
+    @Test
+    public void testTimeRanges() throws Exception
+    {
+        // All
+        checkRange(time(-10000), time(COUNT + 10000), COUNT, 0);
+        // Range starts with sample at-or-before start
+        checkRange(time(5000).plusMillis(500), time(6000), 1001, 5000);
+        checkRange(time(5000), time(6000), 1001, 5000);
+        // Range after the data returns last sample
+        checkRange(time(COUNT + 10000), time(COUNT + 20000), 1, COUNT-1);
+        // Range before the data is empty
+        checkRange(time(-20000), time(-10000), 0, 0);
+    }
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link CSVLineParser}
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CSVLineParserUnitTest
+{
+    private static boolean parse(final CSVLineParser parser, final String line)
+    {
+        final ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        return parser.parse(buf, 0, buf.limit());
+    }
+
+    @Test
+    public void testCommaGrouping() throws Exception
+    {
+        final Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        try
+        {
+            final CSVLineParser parser = new CSVLineParser();
+
+            // Grouping separator is skipped
+            assertTrue(parse(parser, "2018-01-01 12:00:00.000 1,234.5"));
+            assertEquals(1234.5, parser.value, 0.0);
+            assertFalse(parser.statistics);
+
+            assertTrue(parse(parser, "2018-01-01 12:00:00.000\t-1,234,567.25\tNONE"));
+            assertEquals(-1234567.25, parser.value, 0.0);
+
+            // .. but comma still separates columns
+            assertTrue(parse(parser, "2018-01-01 12:00:00.000,1.5,0.5,0.25"));
+            assertEquals(1.5, parser.value, 0.0);
+            assertTrue(parser.statistics);
+            assertEquals(0.5, parser.negative, 0.0);
+            assertEquals(0.25, parser.positive, 0.0);
+
+            assertTrue(parse(parser, "2018-01-01 12:00:00.000,1,2,3"));
+            assertEquals(1.0, parser.value, 0.0);
+            assertTrue(parser.statistics);
+            assertEquals(2.0, parser.negative, 0.0);
+            assertEquals(3.0, parser.positive, 0.0);
+        }
+        finally
+        {
+            Locale.setDefault(original);
+        }
+    }
+}
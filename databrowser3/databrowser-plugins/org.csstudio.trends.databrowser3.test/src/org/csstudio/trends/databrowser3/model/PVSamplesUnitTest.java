@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.VTypeHelper;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueUtil;
@@ -100,4 +101,33 @@ public class PVSamplesUnitTest
         assertThat(ValueUtil.timeOf(value).isTimeValid(), equalTo(true));
     }
 
+    @Test
+    public void testSnapshot() throws Exception
+    {
+        final AtomicInteger waveform_index = new AtomicInteger(0);
+        final PVSamples samples = new PVSamples(waveform_index);
+        assertEquals(0, samples.snapshot().length);
+
+        final List<VType> history = new ArrayList<VType>();
+        for (int i=0; i<10; ++i)
+            history.add(TestHelper.makeValue(i));
+        samples.mergeArchivedData("Test", history);
+        samples.addLiveSample(TestHelper.makeValue(10));
+
+        // Snapshot has history, live, continuation until 'now'
+        final PlotSample[] all = samples.snapshot();
+        assertEquals(samples.size(), all.length);
+        for (int i=0; i<all.length-1; ++i)
+            assertThat(all[i].getVType(), equalTo(samples.get(i).getVType()));
+
+        // Range snapshot starts with sample at-or-before start time
+        final PlotSample[] range = samples.snapshot(VTypeHelper.getTimestamp(TestHelper.makeValue(3)).plusNanos(500),
+                                                   VTypeHelper.getTimestamp(TestHelper.makeValue(6)));
+        assertEquals(4, range.length);
+        assertThat(range[0].getValue(), equalTo(3.0));
+        assertThat(range[3].getValue(), equalTo(6.0));
+
+        // Range before any samples
+        assertEquals(0, samples.snapshot(Instant.ofEpochSecond(-10), Instant.ofEpochSecond(-5)).length);
+    }
 }
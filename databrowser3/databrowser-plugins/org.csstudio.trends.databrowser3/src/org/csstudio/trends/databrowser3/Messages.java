@@ -113,6 +113,8 @@ public class Messages extends NLS
     public static String ExportGroupSource;
     public static String ExportLinearIntervalError;
     public static String ExportMatlabFilenameError;
+    public static String ExportMatlabNumeric;
+    public static String ExportMatlabNumericTT;
     public static String ExportMinMaxCol;
     public static String ExportMinMaxColTT;
     public static String Export_NoValueMarker;
@@ -133,6 +135,8 @@ public class Messages extends NLS
     public static String ExportStartExportTT;
     public static String ExportTabular;
     public static String ExportTabularTT;
+    public static String ExportTypeBinary;
+    public static String ExportTypeBinaryTT;
     public static String ExportTypeMatlab;
     public static String ExportTypeMatlabTT;
     public static String ExportTypeSpreadsheet;
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.Deflater;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.Block;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.IndexWriter;
+import org.csstudio.trends.databrowser3.model.Model;
+import org.csstudio.trends.databrowser3.model.ModelItem;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/** Eclipse Job for exporting data from Model to file in the {@link BinarySampleFormat}
+ *
+ *  <p>Samples of all channels are written into one file,
+ *  which can be imported via the "binary" sample importer.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class BinaryFileExportJob extends ExportJob
+{
+    final private String filename;
+
+    public BinaryFileExportJob(final Model model, final Instant start,
+            final Instant end, final Source source,
+            final int optimize_parameter, final String filename,
+            final ExportErrorHandler error_handler)
+    {
+        super("", model, start, end, source, optimize_parameter, null, error_handler);
+        this.filename = filename;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void performExport(final IProgressMonitor monitor,
+                                 final PrintStream out) throws Exception
+    {
+        // This exporter does its own file handling
+        if (out != null)
+            throw new IllegalStateException();
+
+        final Block block = new Block();
+        final IndexWriter index = new IndexWriter();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try
+        (
+            final FileChannel file = FileChannel.open(Paths.get(filename),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        )
+        {
+            final ByteBuffer header = ByteBuffer.allocate(BinarySampleFormat.MAGIC.length + Integer.BYTES);
+            header.put(BinarySampleFormat.MAGIC);
+            header.putInt(BinarySampleFormat.VERSION);
+            header.flip();
+            write(file, header);
+
+            for (ModelItem item : model.getItems())
+            {
+                monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
+                index.startChannel(item.getName());
+                final ValueIterator values = createValueIterator(item);
+                final long start_ms = System.currentTimeMillis();
+                long count = 0;
+                block.clear();
+                while (values.hasNext()  &&  !monitor.isCanceled())
+                {
+                    block.add(values.next());
+                    if (block.isFull())
+                        writeBlock(file, block, deflater, index);
+                    if (++count % PROGRESS_UPDATE_LINES == 0)
+                        reportProgress(monitor, item.getName(), count, start_ms);
+                }
+                values.close();
+                if (block.size() > 0)
+                    writeBlock(file, block, deflater, index);
+                index.endChannel();
+            }
+            write(file, index.toBuffer(file.position()));
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /** Compress block, write it, add to index, clear block */
+    private static void writeBlock(final FileChannel file, final Block block,
+                                   final Deflater deflater, final IndexWriter index) throws Exception
+    {
+        final ByteBuffer data = block.encode(deflater);
+        final long position = file.position();
+        final int size = data.remaining();
+        write(file, data);
+        index.addBlock(position, size, block);
+        block.clear();
+    }
+
+    private static void write(final FileChannel file, final ByteBuffer data) throws Exception
+    {
+        while (data.hasRemaining())
+            file.write(data);
+    }
+}
@@ -7,7 +7,13 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.export;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +21,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
 
 import org.csstudio.apputil.time.SecondsParser;
 import org.csstudio.archive.reader.ArchiveReader;
@@ -33,6 +40,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
 
 /** Base for Eclipse Job for exporting data from Model to file
  *  @author Kay Kasemir
@@ -41,6 +49,10 @@ import org.eclipse.core.runtime.jobs.Job;
 abstract public class ExportJob extends Job
 {
     final protected static int PROGRESS_UPDATE_LINES = 1000;
+    /** Size of output buffer */
+    final private static int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    /** File name suffix that enables GZIP compression */
+    final public static String GZIP_SUFFIX = ".gz";
     final protected String comment;
     final protected Model model;
     final protected Instant start, end;
@@ -126,7 +138,7 @@ abstract public class ExportJob extends Job
             final PrintStream out;
             if (filename != null)
             {
-                out = new PrintStream(filename);
+                out = createOutput(filename);
                 printExportInfo(out);
             }
             else
@@ -153,6 +165,42 @@ abstract public class ExportJob extends Job
         return Status.OK_STATUS;
     }
 
+    /** Create output stream
+     *
+     *  <p>Writes through a large buffer to a file channel.
+     *  File names that end in {@link #GZIP_SUFFIX} are compressed.
+     *
+     *  @param filename Name of file to create
+     *  @return {@link PrintStream}
+     *  @throws Exception on error
+     */
+    protected static PrintStream createOutput(final String filename) throws Exception
+    {
+        final FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream stream = Channels.newOutputStream(channel);
+        if (filename.endsWith(GZIP_SUFFIX))
+            stream = new GZIPOutputStream(stream, OUTPUT_BUFFER_SIZE);
+        return new PrintStream(new BufferedOutputStream(stream, OUTPUT_BUFFER_SIZE));
+    }
+
+    /** Update progress monitor with number of lines and rate
+     *  @param monitor Progress monitor
+     *  @param name Name of item or empty
+     *  @param line_count Number of lines written
+     *  @param start_ms Time when writing started, in System.currentTimeMillis()
+     */
+    protected static void reportProgress(final IProgressMonitor monitor, final String name,
+                                         final long line_count, final long start_ms)
+    {
+        final long ms = Math.max(1, System.currentTimeMillis() - start_ms);
+        final long rate = line_count * 1000 / ms;
+        if (name.isEmpty())
+            monitor.subTask(NLS.bind("Wrote {0} samples ({1} samples/sec)", line_count, rate));
+        else
+            monitor.subTask(NLS.bind("{0}: Wrote {1} samples ({2} samples/sec)", new Object[] { name, line_count, rate }));
+    }
+
     /** Print file header, gets invoked before <code>performExport</code> */
     protected void printExportInfo(final PrintStream out)
     {
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.csstudio.trends.databrowser3.model.Model;
+import org.csstudio.trends.databrowser3.model.ModelItem;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VType;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+import com.jmatio.io.MatFileIncrementalWriter;
+import com.jmatio.types.MLCell;
+import com.jmatio.types.MLChar;
+import com.jmatio.types.MLDouble;
+import com.jmatio.types.MLStructure;
+
+/** Eclipse Job for exporting data from Model to Matlab-format file
+ *  with purely numeric arrays.
+ *
+ *  <p>In contrast to the {@link MatlabFileExportJob}, time stamps
+ *  and severities are written as numbers, and samples are written
+ *  in chunks of fixed size, so memory usage does not depend on
+ *  the number of exported samples.
+ *
+ *  <p>For each channel with index N, the file contains
+ *  <ul>
+ *  <li>a structure "channelN" with fields "name", "chunks"
+ *      and "severity_names"
+ *  <li>structures "channelN_0", "channelN_1", ..., one per chunk,
+ *      with fields "time" (seconds since 1970-01-01 UTC, use
+ *      <code>datetime(t, 'ConvertFrom', 'posixtime')</code>),
+ *      "value" and "severity" (index into "severity_names" starting at 0)
+ *  </ul>
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class MatlabNumericFileExportJob extends ExportJob
+{
+    /** Number of samples per chunk */
+    final private static int CHUNK_SIZE = 100000;
+
+    final private String filename;
+
+    // Chunk buffers, re-used for all chunks
+    final private double[] times = new double[CHUNK_SIZE];
+    final private double[] values = new double[CHUNK_SIZE];
+    final private double[] severities = new double[CHUNK_SIZE];
+
+    public MatlabNumericFileExportJob(final Model model, final Instant start,
+            final Instant end, final Source source,
+            final int optimize_parameter, final String filename,
+            final ExportErrorHandler error_handler)
+    {
+        super("", model, start, end, source, optimize_parameter, null, error_handler);
+        this.filename = filename;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void performExport(final IProgressMonitor monitor,
+                                 final PrintStream out) throws Exception
+    {
+        // This exporter does its own file handling
+        if (out != null)
+            throw new IllegalStateException();
+
+        final MatFileIncrementalWriter writer = new MatFileIncrementalWriter(filename);
+        try
+        {
+            int i = 0;
+            for (ModelItem item : model.getItems())
+            {   // Get data
+                monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
+                final String var = "channel" + i++;
+                final ValueIterator iter = createValueIterator(item);
+                final long start_ms = System.currentTimeMillis();
+                long count = 0;
+                int chunks = 0, size = 0;
+                while (iter.hasNext()  &&  !monitor.isCanceled())
+                {
+                    final VType value = iter.next();
+                    final Instant time = VTypeHelper.getTimestamp(value);
+                    times[size] = time.getEpochSecond() + time.getNano() * 1e-9;
+                    values[size] = VTypeHelper.toDouble(value);
+                    severities[size] = VTypeHelper.getSeverity(value).ordinal();
+                    if (++size >= CHUNK_SIZE)
+                    {
+                        writer.write(createChunk(var + "_" + chunks++, size));
+                        size = 0;
+                    }
+                    if (++count % PROGRESS_UPDATE_LINES == 0)
+                        reportProgress(monitor, item.getName(), count, start_ms);
+                }
+                if (size > 0)
+                    writer.write(createChunk(var + "_" + chunks++, size));
+                writer.write(createChannelInfo(var, item.getName(), chunks));
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    /** @param values Values
+     *  @param size Number of values to use
+     *  @return {@link MLDouble} column vector
+     */
+    private MLDouble createColumn(final double[] values, final int size)
+    {
+        final MLDouble column = new MLDouble(null, new int[] { size, 1 });
+        // Fill buffer directly to avoid boxing each value
+        final ByteBuffer buffer = column.getRealByteBuffer();
+        buffer.clear();
+        buffer.asDoubleBuffer().put(values, 0, size);
+        return column;
+    }
+
+    /** Create ML Structure with data for a chunk
+     *  @param name Name of the structure
+     *  @param size Number of samples in chunk
+     *  @return {@link MLStructure}
+     */
+    private MLStructure createChunk(final String name, final int size)
+    {
+        final MLStructure struct = new MLStructure(name, new int[] { 1, 1 });
+        struct.setField("time", createColumn(times, size));
+        struct.setField("value", createColumn(values, size));
+        struct.setField("severity", createColumn(severities, size));
+        return struct;
+    }
+
+    /** Create ML Structure with info about a channel
+     *  @param var Name of the structure
+     *  @param name Channel name
+     *  @param chunks Number of chunks
+     *  @return {@link MLStructure}
+     */
+    private MLStructure createChannelInfo(final String var, final String name, final int chunks)
+    {
+        final MLStructure struct = new MLStructure(var, new int[] { 1, 1 });
+        struct.setField("name", new MLChar(null, name));
+        struct.setField("chunks", new MLDouble(null, new double[] { chunks }, 1));
+        final AlarmSeverity[] all_severities = AlarmSeverity.values();
+        final MLCell names = new MLCell(null, new int[] { all_severities.length, 1 });
+        for (int i=0; i<all_severities.length; ++i)
+            names.set(new MLChar(null, all_severities[i].name()), i);
+        struct.setField("severity_names", names);
+        return struct;
+    }
+}
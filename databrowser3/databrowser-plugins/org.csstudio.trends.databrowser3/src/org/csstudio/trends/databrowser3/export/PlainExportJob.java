@@ -54,6 +54,7 @@ public class PlainExportJob extends ExportJob
     protected void performExport(final IProgressMonitor monitor,
                                  final PrintStream out) throws Exception
     {
+        final String nl = System.lineSeparator();
         int count = 0;
         for (ModelItem item : model.getItems())
         {   // Item header
@@ -65,17 +66,23 @@ public class PlainExportJob extends ExportJob
             final ValueIterator values = createValueIterator(item);
             // Dump all values
             out.println(comment + Messages.TimeColumn + Messages.Export_Delimiter + formatter.getHeader());
+            final RowBatchFormatter<VType> lines = new RowBatchFormatter<>(out, (value, buf) ->
+            {
+                buf.append(TimestampHelper.format(VTypeHelper.getTimestamp(value)));
+                buf.append(Messages.Export_Delimiter);
+                formatter.format(value, buf);
+                buf.append(nl);
+            });
+            final long start_ms = System.currentTimeMillis();
             long line_count = 0;
             while (values.hasNext()  &&  !monitor.isCanceled())
             {
-                final VType value = values.next();
-
-                final String time = TimestampHelper.format(VTypeHelper.getTimestamp(value));
-                out.println(time + Messages.Export_Delimiter + formatter.format(value));
-                ++line_count;
+                lines.add(values.next());
                 if (++line_count % PROGRESS_UPDATE_LINES == 0)
-                    monitor.subTask(NLS.bind("{0}: Wrote {1} samples", item.getName(), line_count));
+                    reportProgress(monitor, item.getName(), line_count, start_ms);
             }
+            lines.flush();
+            reportProgress(monitor, item.getName(), lines.getCount(), start_ms);
             ++count;
         }
     }
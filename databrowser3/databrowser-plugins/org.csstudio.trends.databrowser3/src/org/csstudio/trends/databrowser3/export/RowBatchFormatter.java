@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/** Formats export lines in parallel batches
+ *
+ *  <p>Rows are collected into a batch.
+ *  When the batch is full, it is split into one chunk per CPU.
+ *  Each chunk is formatted on the fork/join pool into its own buffer,
+ *  and the buffers are then written in the original row order.
+ *  Buffers are re-used for all batches.
+ *
+ *  <p>Not thread-safe, rows must be added by one thread.
+ *
+ *  @param <ROW> Type of one row
+ *  @author Kay Kasemir
+ */
+public class RowBatchFormatter<ROW>
+{
+    /** Formatter for one row */
+    @FunctionalInterface
+    public interface LineFormatter<ROW>
+    {
+        /** Format a row
+         *
+         *  <p>Called concurrently for different rows.
+         *
+         *  @param row Row to format
+         *  @param buf Buffer to which the line, including line end, is appended
+         */
+        public void format(ROW row, StringBuilder buf);
+    }
+
+    /** Number of rows in a batch */
+    final private static int BATCH_SIZE = 10000;
+
+    /** Batches smaller than this are formatted in the calling thread */
+    final private static int MIN_PARALLEL_SIZE = 500;
+
+    final private PrintStream out;
+
+    final private LineFormatter<ROW> formatter;
+
+    final private Object[] batch = new Object[BATCH_SIZE];
+
+    /** Number of rows in batch */
+    private int size = 0;
+
+    /** One buffer per chunk */
+    final private StringBuilder[] buffers;
+
+    final private ForkJoinTask<?>[] tasks;
+
+    /** Number of rows written */
+    private long count = 0;
+
+    /** @param out Stream to which formatted lines are written
+     *  @param formatter Line formatter, must allow concurrent calls
+     */
+    public RowBatchFormatter(final PrintStream out, final LineFormatter<ROW> formatter)
+    {
+        this.out = out;
+        this.formatter = formatter;
+        final int chunks = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        buffers = new StringBuilder[chunks];
+        for (int i=0; i<chunks; ++i)
+            buffers[i] = new StringBuilder();
+        tasks = new ForkJoinTask<?>[chunks];
+    }
+
+    /** Add a row. May write a batch of lines.
+     *  @param row Row to add
+     *  @throws Exception on error
+     */
+    public void add(final ROW row) throws Exception
+    {
+        batch[size++] = row;
+        if (size >= BATCH_SIZE)
+            flush();
+    }
+
+    /** @return Number of rows written so far */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /** Format and write all rows that have been added
+     *  @throws Exception on error
+     */
+    public void flush() throws Exception
+    {
+        if (size <= 0)
+            return;
+        if (size < MIN_PARALLEL_SIZE)
+        {
+            final StringBuilder buf = buffers[0];
+            buf.setLength(0);
+            format(0, size, buf);
+            out.append(buf);
+        }
+        else
+        {
+            final int chunk_size = (size + buffers.length - 1) / buffers.length;
+            for (int c=0; c<buffers.length; ++c)
+            {
+                final int start = c * chunk_size;
+                final int end = Math.min(size, start + chunk_size);
+                final StringBuilder buf = buffers[c];
+                buf.setLength(0);
+                if (start < end)
+                    tasks[c] = ForkJoinPool.commonPool().submit(() -> format(start, end, buf));
+                else
+                    tasks[c] = null;
+            }
+            // Write chunks in order
+            for (int c=0; c<buffers.length; ++c)
+                if (tasks[c] != null)
+                {
+                    tasks[c].get();
+                    tasks[c] = null;
+                    out.append(buffers[c]);
+                }
+        }
+        Arrays.fill(batch, 0, size, null);
+        count += size;
+        size = 0;
+    }
+
+    /** @param start First row to format
+     *  @param end Row after the last row to format
+     *  @param buf Buffer for lines
+     */
+    @SuppressWarnings("unchecked")
+    private void format(final int start, final int end, final StringBuilder buf)
+    {
+        for (int i=start; i<end; ++i)
+            formatter.format((ROW) batch[i], buf);
+    }
+}
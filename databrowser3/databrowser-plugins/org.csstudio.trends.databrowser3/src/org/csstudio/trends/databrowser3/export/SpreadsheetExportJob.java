@@ -28,6 +28,19 @@ import org.diirt.vtype.VType;
 @SuppressWarnings("nls")
 public class SpreadsheetExportJob extends PlainExportJob
 {
+    /** One line of the spreadsheet */
+    private static class Line
+    {
+        final Instant time;
+        final VType[] values;
+
+        Line(final Instant time, final VType[] values)
+        {
+            this.time = time;
+            this.values = values;
+        }
+    }
+
     public SpreadsheetExportJob(final  Model model,
             final Instant start, final Instant end, final Source source,
             final int optimize_parameter, final ValueFormatter formatter,
@@ -60,23 +73,30 @@ public class SpreadsheetExportJob extends PlainExportJob
             iters.add(createValueIterator(item));
         }
         final SpreadsheetIterator sheet = new SpreadsheetIterator(iters.toArray(new ValueIterator[iters.size()]));
-        // Dump the spreadsheet lines
+        // Dump the spreadsheet lines, formatting them in parallel batches
+        final String nl = System.lineSeparator();
+        final RowBatchFormatter<Line> lines = new RowBatchFormatter<>(out, (line, buf) ->
+        {
+            buf.append(TimestampHelper.format(line.time));
+            for (int i=0; i<line.values.length; ++i)
+            {
+                buf.append(Messages.Export_Delimiter);
+                formatter.format(line.values[i], buf);
+            }
+            buf.append(nl);
+        });
+        final long start_ms = System.currentTimeMillis();
         long line_count = 0;
-
         while (sheet.hasNext()  &&  !monitor.isCanceled())
         {
             final Instant time = sheet.getTime();
-            final VType line[] = sheet.next();
-            out.print(TimestampHelper.format(time));
-
-            for (int i=0; i<line.length; ++i)
-                out.print(Messages.Export_Delimiter + formatter.format(line[i]));
-            out.println();
+            // Copy values in case iterator re-uses the array
+            lines.add(new Line(time, sheet.next().clone()));
             ++line_count;
             if ((line_count % PROGRESS_UPDATE_LINES) == 0)
-                monitor.subTask(NLS.bind("Wrote {0} samples", line_count));
-            if (monitor.isCanceled())
-                break;
+                reportProgress(monitor, "", line_count, start_ms);
         }
+        lines.flush();
+        reportProgress(monitor, "", lines.getCount(), start_ms);
     }
 }
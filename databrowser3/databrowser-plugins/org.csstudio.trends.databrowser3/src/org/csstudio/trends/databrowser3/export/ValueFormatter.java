@@ -27,7 +27,11 @@ import org.diirt.vtype.VType;
 public class ValueFormatter
 {
     private boolean min_max_column = false;
-    private VTypeFormat format = null;
+
+    /** Number format, one per thread
+     *  since lines may be formatted in parallel
+     */
+    final private ThreadLocal<VTypeFormat> format;
 
     /** Initialize
      *  @param style Number style to use
@@ -35,8 +39,12 @@ public class ValueFormatter
      */
     public ValueFormatter(final Style style, final int precision)
     {
-        format = Style.getFormat(style, precision);
-        format.setMaxArray(-1);
+        format = ThreadLocal.withInitial(() ->
+        {
+            final VTypeFormat format = Style.getFormat(style, precision);
+            format.setMaxArray(-1);
+            return format;
+        });
     }
 
     /** @param min_max_column Display min/max info in separate column? */
@@ -58,6 +66,20 @@ public class ValueFormatter
 
     /** @return Value formatted into columns */
     public String format(final VType value)
+    {
+        final StringBuilder buf = new StringBuilder();
+        format(value, buf);
+        return buf.toString();
+    }
+
+    /** Format value into columns
+     *
+     *  <p>May be called concurrently from several threads.
+     *
+     *  @param value Value to format
+     *  @param buf Buffer to which formatted columns are appended
+     */
+    public void format(final VType value, final StringBuilder buf)
     {
         final VTypeFormat format_for_this_value;
         if (value instanceof VString ||
@@ -67,19 +89,17 @@ public class ValueFormatter
         {
             if (Double.isNaN(VTypeHelper.toDouble(value)))
             {
+                buf.append(Messages.Export_NoValueMarker);
                 if (min_max_column)
-                    return Messages.Export_NoValueMarker +
-                           Messages.Export_Delimiter + Messages.Export_NoValueMarker +
-                           Messages.Export_Delimiter + Messages.Export_NoValueMarker;
-                else
-                    return Messages.Export_NoValueMarker;
+                    buf.append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker)
+                       .append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker);
+                return;
             }
-            format_for_this_value = format;
+            format_for_this_value = format.get();
         }
 
         final VStatistics stats = (value instanceof VStatistics) ? (VStatistics) value : null;
 
-        final StringBuilder buf = new StringBuilder();
         if (stats != null)
             // Show only the average, since min/max handled separately
             format_for_this_value.format(stats.getAverage(), stats, buf);
@@ -102,12 +122,11 @@ public class ValueFormatter
                 buf.append(0);
             }
         }
-        return buf.toString();
     }
 
     @Override
     public String toString()
     {
-        return format.toString();
+        return format.get().toString();
     }
 }
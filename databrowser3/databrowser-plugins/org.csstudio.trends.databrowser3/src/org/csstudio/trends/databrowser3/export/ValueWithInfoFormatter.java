@@ -38,16 +38,16 @@ public class ValueWithInfoFormatter extends ValueFormatter
 
     /** {@inheritDoc} */
     @Override
-    public String format(final VType value)
+    public void format(final VType value, final StringBuilder buf)
     {
+        super.format(value, buf);
         if (value instanceof VString
                 || value instanceof VStringArray
                 || Double.isNaN(VTypeHelper.toDouble(value)))
-            return super.format(value) +
-                Messages.Export_Delimiter + Messages.Export_NoValueMarker +
-                Messages.Export_Delimiter + Messages.Export_NoValueMarker;
-        return super.format(value) + Messages.Export_Delimiter +
-            VTypeHelper.getSeverity(value) + Messages.Export_Delimiter +
-            VTypeHelper.getMessage(value);
+            buf.append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker)
+               .append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker);
+        else
+            buf.append(Messages.Export_Delimiter).append(VTypeHelper.getSeverity(value))
+               .append(Messages.Export_Delimiter).append(VTypeHelper.getMessage(value));
     }
 }
@@ -19,7 +19,9 @@ import org.csstudio.archive.vtype.Style;
 import org.csstudio.trends.databrowser3.Messages;
 import org.csstudio.trends.databrowser3.editor.DataBrowserAwareView;
 import org.csstudio.trends.databrowser3.export.ExportErrorHandler;
+import org.csstudio.trends.databrowser3.export.BinaryFileExportJob;
 import org.csstudio.trends.databrowser3.export.MatlabFileExportJob;
+import org.csstudio.trends.databrowser3.export.MatlabNumericFileExportJob;
 import org.csstudio.trends.databrowser3.export.MatlabScriptExportJob;
 import org.csstudio.trends.databrowser3.export.PlainExportJob;
 import org.csstudio.trends.databrowser3.export.Source;
@@ -74,6 +76,8 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
     private Text optimize;
     private Text linear;
     private Button type_matlab;
+    private Button matlab_numeric;
+    private Button type_binary;
     private Button tabular;
     private Button min_max_col;
     private Button sev_stat;
@@ -259,7 +263,7 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
         group.setLayoutData(new GridData(SWT.FILL, 0, true, false));
         group.setLayout(new RowLayout(SWT.VERTICAL));
 
-        // (*) Spreadsheet ( ) Matlab
+        // (*) Spreadsheet ( ) Matlab ( ) Binary
         Composite box = new Composite(group, 0);
         box.setLayout(new RowLayout());
         final Button type_spreadsheet = new Button(box, SWT.RADIO);
@@ -271,7 +275,16 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
         type_matlab.setText(Messages.ExportTypeMatlab);
         type_matlab.setToolTipText(Messages.ExportTypeMatlabTT);
 
-        box.setTabList(new Control[] { type_spreadsheet, type_matlab });
+        matlab_numeric = new Button(box, SWT.CHECK);
+        matlab_numeric.setText(Messages.ExportMatlabNumeric);
+        matlab_numeric.setToolTipText(Messages.ExportMatlabNumericTT);
+        matlab_numeric.setEnabled(false);
+
+        type_binary = new Button(box, SWT.RADIO);
+        type_binary.setText(Messages.ExportTypeBinary);
+        type_binary.setToolTipText(Messages.ExportTypeBinaryTT);
+
+        box.setTabList(new Control[] { type_spreadsheet, type_matlab, matlab_numeric, type_binary });
 
         // [x] Tabular [x] ... with min/max column [x] ... with Severity/Status
         box = new Composite(group, 0);
@@ -325,6 +338,7 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
             @Override
             public void widgetSelected(SelectionEvent e)
             {
+                matlab_numeric.setEnabled(false);
                 tabular.setEnabled(true);
                 sev_stat.setEnabled(true);
                 format_default.setEnabled(true);
@@ -339,6 +353,22 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
             @Override
             public void widgetSelected(SelectionEvent e)
             {
+                matlab_numeric.setEnabled(true);
+                tabular.setEnabled(false);
+                sev_stat.setEnabled(false);
+                format_default.setEnabled(false);
+                format_decimal.setEnabled(false);
+                format_expo.setEnabled(false);
+                format_digits.setEnabled(false);
+                min_max_col.setEnabled(minMaxAllowed());
+            }
+        });
+        type_binary.addSelectionListener(new SelectionAdapter()
+        {
+            @Override
+            public void widgetSelected(SelectionEvent e)
+            {
+                matlab_numeric.setEnabled(false);
                 tabular.setEnabled(false);
                 sev_stat.setEnabled(false);
                 format_default.setEnabled(false);
@@ -422,7 +452,7 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
     /** @return <code>true</code> if the min/max (error) column option should be enabled */
     private boolean minMaxAllowed()
     {
-        return !type_matlab.getSelection()  &&   !source_raw.getSelection();
+        return !type_matlab.getSelection()  &&  !type_binary.getSelection()  &&  !source_raw.getSelection();
     }
 
     /** {@inheritDoc} */
@@ -575,6 +605,9 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
             if (filename.endsWith(".m")) //$NON-NLS-1$
                 export = new MatlabScriptExportJob(model, start_time, end_time, source,
                         optimize_parameter, filename, this);
+            else if (filename.endsWith(".mat")  &&  matlab_numeric.getSelection()) //$NON-NLS-1$
+                export = new MatlabNumericFileExportJob(model, start_time, end_time, source,
+                        optimize_parameter, filename, this);
             else if (filename.endsWith(".mat")) //$NON-NLS-1$
                 export = new MatlabFileExportJob(model, start_time, end_time, source,
                         optimize_parameter, filename, this);
@@ -585,6 +618,9 @@ public class ExportView extends DataBrowserAwareView implements ExportErrorHandl
                 return;
             }
         }
+        else if (type_binary.getSelection())
+            export = new BinaryFileExportJob(model, start_time, end_time, source,
+                    optimize_parameter, filename, this);
         else
         {   // Spreadsheet file export
             final Style style;
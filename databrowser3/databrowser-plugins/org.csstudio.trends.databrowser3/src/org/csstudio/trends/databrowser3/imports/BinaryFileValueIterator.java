@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Inflater;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.Block;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.BlockInfo;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.ChannelInfo;
+import org.diirt.vtype.VType;
+
+/** {@link ValueIterator} that reads samples from a memory-mapped {@link BinarySampleFormat} file
+ *
+ *  <p>Uses the block index to locate the start time,
+ *  then decompresses one block at a time.
+ *  Returns the last sample at-or-before the start time
+ *  followed by all samples up to the end time.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class BinaryFileValueIterator implements ValueIterator
+{
+    final private FileChannel channel;
+    final private BlockInfo[] blocks;
+    final private Instant end;
+    final private Inflater inflater = new Inflater();
+    final private Block block = new Block();
+
+    /** Complete file if it can be mapped as one buffer */
+    private MappedByteBuffer mapped = null;
+
+    /** Index of current block, and index of next sample in there */
+    private int block_index, index;
+
+    /** Value to return from next() or <code>null</code> when done */
+    private VType value = null;
+
+    /** Initialize
+     *  @param file File in {@link BinarySampleFormat}
+     *  @param name Name of channel to read. If not found, first channel in file is used.
+     *  @param start Start time
+     *  @param end End time
+     *  @throws Exception on error
+     */
+    public BinaryFileValueIterator(final File file, final String name,
+                                   final Instant start, final Instant end) throws Exception
+    {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.end = end;
+        try
+        {
+            final long file_size = channel.size();
+            if (file_size <= Integer.MAX_VALUE)
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, file_size);
+            blocks = BinarySampleFormat.findChannel(BinarySampleFormat.readIndex(this::getBuffer, file_size), name).blocks;
+            locate(start);
+        }
+        catch (Exception ex)
+        {
+            close();
+            throw ex;
+        }
+    }
+
+    /** @see BinarySampleFormat.Source */
+    private ByteBuffer getBuffer(final long position, final int size) throws IOException
+    {
+        if (mapped != null)
+        {
+            final ByteBuffer buf = mapped.duplicate();
+            buf.position((int) position);
+            buf.limit((int) position + size);
+            return buf.slice();
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    /** Locate the last sample at-or-before start
+     *  @param start Start time
+     *  @throws Exception on error
+     */
+    private void locate(final Instant start) throws Exception
+    {
+        if (blocks.length <= 0)
+            return;
+        // Binary search for last block that starts at-or-before start
+        int low = 0, high = blocks.length - 1;
+        while (low < high)
+        {
+            final int mid = (low + high + 1) / 2;
+            if (compare(blocks[mid].first_seconds, blocks[mid].first_nanos, start) <= 0)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        block_index = low;
+        readBlock();
+        // Binary search within block
+        low = 0;
+        high = block.size - 1;
+        while (low < high)
+        {
+            final int mid = (low + high + 1) / 2;
+            if (compare(block.seconds[mid], block.nanos[mid], start) <= 0)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        index = low;
+        // When the first sample is after start, it must still be before end
+        if (compare(block.seconds[index], block.nanos[index], start) > 0  &&
+            compare(block.seconds[index], block.nanos[index], end) > 0)
+            return;
+        value = block.createValue(index++);
+    }
+
+    /** Decompress block at block_index */
+    private void readBlock() throws Exception
+    {
+        final BlockInfo info = blocks[block_index];
+        block.decode(getBuffer(info.position, info.size), inflater);
+    }
+
+    /** @return Time comparison of seconds, nanos relative to time */
+    private static int compare(final long seconds, final int nanos, final Instant time)
+    {
+        final int cmp = Long.compare(seconds, time.getEpochSecond());
+        if (cmp != 0)
+            return cmp;
+        return Integer.compare(nanos, time.getNano());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext()
+    {
+        return value != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public VType next() throws Exception
+    {
+        final VType result = value;
+        if (result == null)
+            throw new Exception("End of samples");
+        while (index >= block.size  &&  block_index < blocks.length - 1)
+        {
+            ++block_index;
+            readBlock();
+            index = 0;
+        }
+        if (index < block.size  &&  compare(block.seconds[index], block.nanos[index], end) <= 0)
+            value = block.createValue(index++);
+        else
+        {
+            value = null;
+            close();
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close()
+    {
+        inflater.end();
+        mapped = null;
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ex)
+        {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING, "Cannot close file", ex);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Display;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+
+/** Binary, columnar sample file format
+ *
+ *  <p>File layout, all numbers in big-endian byte order:
+ *  <pre>
+ *  MAGIC, VERSION
+ *  block...                  Deflate-compressed blocks of samples
+ *  index                     Channel and block index
+ *  index position (long), MAGIC
+ *  </pre>
+ *
+ *  <p>Each block holds up to {@link #BLOCK_SIZE} samples of one channel
+ *  as columns:
+ *  <pre>
+ *  count (int), flags (byte)
+ *  seconds (long[count]), first value absolute, then difference to previous
+ *  nanos (int[count])
+ *  value (double[count])
+ *  min, max (double[count]) only if flags contain FLAG_MINMAX
+ *  severity (byte[count])
+ *  </pre>
+ *
+ *  <p>The index lists each channel with the position and time range
+ *  of its blocks, so a reader can locate a time range without
+ *  reading the samples before it:
+ *  <pre>
+ *  channel count (int)
+ *  for each channel: name (UTF), sample count (long), block count (int),
+ *     for each block: position (long), compressed size (int), sample count (int),
+ *                     first seconds (long), first nanos (int), last seconds (long), last nanos (int)
+ *  </pre>
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class BinarySampleFormat
+{
+    /** Suggested file name extension */
+    final public static String FILE_EXTENSION = ".dbs";
+
+    /** Start and end of file */
+    final public static byte[] MAGIC = "CSSDBSMP".getBytes(StandardCharsets.US_ASCII);
+
+    /** Format version */
+    final public static int VERSION = 1;
+
+    /** Maximum number of samples per block */
+    final public static int BLOCK_SIZE = 4096;
+
+    /** Block contains min, max columns */
+    final private static byte FLAG_MINMAX = 1;
+
+    /** Size of the trailer: index position, magic */
+    final public static int TRAILER_SIZE = Long.BYTES + 8;
+
+    final private static AlarmSeverity[] SEVERITIES = AlarmSeverity.values();
+
+    final private static Display meta_data = ValueFactory.displayNone();
+
+    /** Provides a section of the file */
+    @FunctionalInterface
+    public interface Source
+    {
+        /** @param position Position within file
+         *  @param size Number of bytes
+         *  @return Buffer with the requested bytes, starting at buffer position 0
+         *  @throws IOException on error
+         */
+        public ByteBuffer get(long position, int size) throws IOException;
+    }
+
+    /** Info about one block in the index */
+    public static class BlockInfo
+    {
+        final long position;
+        final int size, count;
+        final long first_seconds, last_seconds;
+        final int first_nanos, last_nanos;
+
+        BlockInfo(final long position, final int size, final int count,
+                  final long first_seconds, final int first_nanos,
+                  final long last_seconds, final int last_nanos)
+        {
+            this.position = position;
+            this.size = size;
+            this.count = count;
+            this.first_seconds = first_seconds;
+            this.first_nanos = first_nanos;
+            this.last_seconds = last_seconds;
+            this.last_nanos = last_nanos;
+        }
+    }
+
+    /** Info about one channel in the index */
+    public static class ChannelInfo
+    {
+        final String name;
+        final long samples;
+        final BlockInfo[] blocks;
+
+        ChannelInfo(final String name, final long samples, final BlockInfo[] blocks)
+        {
+            this.name = name;
+            this.samples = samples;
+            this.blocks = blocks;
+        }
+
+        /** @return Channel name */
+        public String getName()
+        {
+            return name;
+        }
+
+        /** @return Number of samples */
+        public long getSampleCount()
+        {
+            return samples;
+        }
+    }
+
+    /** Columns for one block of samples
+     *
+     *  <p>Used to write and read blocks,
+     *  arrays and compression buffers are re-used.
+     */
+    public static class Block
+    {
+        int size = 0;
+        boolean minmax = false;
+        final long[] seconds = new long[BLOCK_SIZE];
+        final int[] nanos = new int[BLOCK_SIZE];
+        final double[] values = new double[BLOCK_SIZE];
+        final double[] min = new double[BLOCK_SIZE];
+        final double[] max = new double[BLOCK_SIZE];
+        final byte[] severities = new byte[BLOCK_SIZE];
+
+        final private ByteBuffer raw = ByteBuffer.allocate(5 + BLOCK_SIZE * (Long.BYTES + Integer.BYTES + 3*Double.BYTES + 1));
+        private byte[] compressed = new byte[raw.capacity() + 1024];
+
+        /** @return Number of samples in block */
+        public int size()
+        {
+            return size;
+        }
+
+        /** @return <code>true</code> if block is full */
+        public boolean isFull()
+        {
+            return size >= BLOCK_SIZE;
+        }
+
+        /** Add a sample
+         *  @param value Value to add
+         */
+        public void add(final VType value)
+        {
+            final Instant time = VTypeHelper.getTimestamp(value);
+            seconds[size] = time.getEpochSecond();
+            nanos[size] = time.getNano();
+            if (value instanceof VStatistics)
+            {
+                final VStatistics stats = (VStatistics) value;
+                values[size] = stats.getAverage();
+                min[size] = stats.getMin();
+                max[size] = stats.getMax();
+            }
+            else
+            {
+                values[size] = VTypeHelper.toDouble(value);
+                min[size] = max[size] = values[size];
+            }
+            if (Double.compare(min[size], values[size]) != 0  ||  Double.compare(max[size], values[size]) != 0)
+                minmax = true;
+            severities[size] = (byte) VTypeHelper.getSeverity(value).ordinal();
+            ++size;
+        }
+
+        /** Compress block
+         *  @param deflater Deflater to use
+         *  @return Compressed data, valid until next call
+         */
+        public ByteBuffer encode(final Deflater deflater)
+        {
+            raw.clear();
+            raw.putInt(size);
+            raw.put(minmax ? FLAG_MINMAX : 0);
+            long last = 0;
+            for (int i=0; i<size; ++i)
+            {
+                raw.putLong(seconds[i] - last);
+                last = seconds[i];
+            }
+            for (int i=0; i<size; ++i)
+                raw.putInt(nanos[i]);
+            for (int i=0; i<size; ++i)
+                raw.putDouble(values[i]);
+            if (minmax)
+            {
+                for (int i=0; i<size; ++i)
+                    raw.putDouble(min[i]);
+                for (int i=0; i<size; ++i)
+                    raw.putDouble(max[i]);
+            }
+            raw.put(severities, 0, size);
+
+            deflater.reset();
+            deflater.setInput(raw.array(), 0, raw.position());
+            deflater.finish();
+            int length = 0;
+            while (! deflater.finished())
+            {
+                if (length >= compressed.length)
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            return ByteBuffer.wrap(compressed, 0, length);
+        }
+
+        /** Decompress block
+         *  @param data Compressed data
+         *  @param inflater Inflater to use
+         *  @throws DataFormatException on error
+         */
+        public void decode(final ByteBuffer data, final Inflater inflater) throws DataFormatException
+        {
+            final int length = data.remaining();
+            if (compressed.length < length)
+                compressed = new byte[length];
+            data.get(compressed, 0, length);
+            inflater.reset();
+            inflater.setInput(compressed, 0, length);
+            final int raw_size = inflater.inflate(raw.array());
+            if (! inflater.finished())
+                throw new DataFormatException("Block exceeds " + BLOCK_SIZE + " samples");
+            raw.clear();
+            raw.limit(raw_size);
+
+            size = raw.getInt();
+            if (size < 0  ||  size > BLOCK_SIZE)
+                throw new DataFormatException("Invalid block size " + size);
+            minmax = (raw.get() & FLAG_MINMAX) != 0;
+            long last = 0;
+            for (int i=0; i<size; ++i)
+                seconds[i] = last += raw.getLong();
+            for (int i=0; i<size; ++i)
+                nanos[i] = raw.getInt();
+            for (int i=0; i<size; ++i)
+                values[i] = raw.getDouble();
+            if (minmax)
+            {
+                for (int i=0; i<size; ++i)
+                    min[i] = raw.getDouble();
+                for (int i=0; i<size; ++i)
+                    max[i] = raw.getDouble();
+            }
+            raw.get(severities, 0, size);
+        }
+
+        /** @param index Sample index
+         *  @return Value for the sample
+         */
+        public VType createValue(final int index)
+        {
+            final int ordinal = severities[index];
+            final AlarmSeverity severity = ordinal >= 0  &&  ordinal < SEVERITIES.length
+                                         ? SEVERITIES[ordinal]
+                                         : AlarmSeverity.UNDEFINED;
+            final Instant time = Instant.ofEpochSecond(seconds[index], nanos[index]);
+            if (minmax)
+                return new ArchiveVStatistics(time, severity, "", meta_data, values[index], min[index], max[index], 0, 1);
+            return new ArchiveVNumber(time, severity, "", meta_data, values[index]);
+        }
+
+        /** Clear block for re-use */
+        public void clear()
+        {
+            size = 0;
+            minmax = false;
+        }
+    }
+
+    /** Creates the index of a file */
+    public static class IndexWriter
+    {
+        final private List<ChannelInfo> channels = new ArrayList<>();
+        final private List<BlockInfo> blocks = new ArrayList<>();
+        private String name = null;
+        private long samples;
+
+        /** @param name Name of channel for the following blocks */
+        public void startChannel(final String name)
+        {
+            this.name = name;
+            blocks.clear();
+            samples = 0;
+        }
+
+        /** @param position Position of block in file
+         *  @param size Compressed size
+         *  @param block Block
+         */
+        public void addBlock(final long position, final int size, final Block block)
+        {
+            final int last = block.size - 1;
+            blocks.add(new BlockInfo(position, size, block.size,
+                                     block.seconds[0], block.nanos[0],
+                                     block.seconds[last], block.nanos[last]));
+            samples += block.size;
+        }
+
+        /** Complete the current channel */
+        public void endChannel()
+        {
+            channels.add(new ChannelInfo(name, samples, blocks.toArray(new BlockInfo[blocks.size()])));
+        }
+
+        /** @param index_position Position of the index in the file
+         *  @return Index and trailer
+         *  @throws IOException on error
+         */
+        public ByteBuffer toBuffer(final long index_position) throws IOException
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(channels.size());
+            for (ChannelInfo channel : channels)
+            {
+                out.writeUTF(channel.name);
+                out.writeLong(channel.samples);
+                out.writeInt(channel.blocks.length);
+                for (BlockInfo block : channel.blocks)
+                {
+                    out.writeLong(block.position);
+                    out.writeInt(block.size);
+                    out.writeInt(block.count);
+                    out.writeLong(block.first_seconds);
+                    out.writeInt(block.first_nanos);
+                    out.writeLong(block.last_seconds);
+                    out.writeInt(block.last_nanos);
+                }
+            }
+            out.writeLong(index_position);
+            out.write(MAGIC);
+            out.flush();
+            return ByteBuffer.wrap(bytes.toByteArray());
+        }
+    }
+
+    /** @param header First bytes of file
+     *  @throws IOException if file does not start with the expected header
+     */
+    public static void checkHeader(final ByteBuffer header) throws IOException
+    {
+        final byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (! Arrays.equals(magic, MAGIC))
+            throw new IOException("Not a binary sample file");
+        final int version = header.getInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported binary sample file version " + version);
+    }
+
+    /** Read index
+     *  @param source Access to the file
+     *  @param file_size Size of the file
+     *  @return Channels in file
+     *  @throws IOException on error
+     */
+    public static ChannelInfo[] readIndex(final Source source, final long file_size) throws IOException
+    {
+        final int header_size = MAGIC.length + Integer.BYTES;
+        if (file_size < header_size + TRAILER_SIZE)
+            throw new IOException("Binary sample file is too short");
+        checkHeader(source.get(0, header_size));
+
+        final ByteBuffer trailer = source.get(file_size - TRAILER_SIZE, TRAILER_SIZE);
+        final long index_position = trailer.getLong();
+        final byte[] magic = new byte[MAGIC.length];
+        trailer.get(magic);
+        if (! Arrays.equals(magic, MAGIC)  ||  index_position < header_size  ||
+            index_position > file_size - TRAILER_SIZE)
+            throw new IOException("Binary sample file is incomplete");
+
+        final ByteBuffer index = source.get(index_position, (int) (file_size - TRAILER_SIZE - index_position));
+        final ChannelInfo[] channels = new ChannelInfo[index.getInt()];
+        for (int c=0; c<channels.length; ++c)
+        {
+            final String name = readUTF(index);
+            final long samples = index.getLong();
+            final BlockInfo[] blocks = new BlockInfo[index.getInt()];
+            for (int b=0; b<blocks.length; ++b)
+                blocks[b] = new BlockInfo(index.getLong(), index.getInt(), index.getInt(),
+                                          index.getLong(), index.getInt(),
+                                          index.getLong(), index.getInt());
+            channels[c] = new ChannelInfo(name, samples, blocks);
+        }
+        return channels;
+    }
+
+    /** @param buffer Buffer with string in DataOutput.writeUTF format
+     *  @return String
+     */
+    private static String readUTF(final ByteBuffer buffer)
+    {
+        // Names are usually ASCII, for which modified UTF-8 equals UTF-8
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @param channels Channels in file
+     *  @param name Requested channel name
+     *  @return Channel with that name, or first channel
+     *  @throws IOException if file contains no channel
+     */
+    public static ChannelInfo findChannel(final ChannelInfo[] channels, final String name) throws IOException
+    {
+        if (channels.length <= 0)
+            throw new IOException("Binary sample file contains no channels");
+        for (ChannelInfo channel : channels)
+            if (channel.name.equals(name))
+                return channel;
+        return channels[0];
+    }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.Block;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.BlockInfo;
+import org.csstudio.trends.databrowser3.imports.BinarySampleFormat.ChannelInfo;
+import org.diirt.vtype.VType;
+
+/** {@link SampleImporter} for files in the {@link BinarySampleFormat}
+ *
+ *  <p>Files may contain several channels.
+ *  The channel with the requested name is read,
+ *  defaulting to the first channel in the file.
+ *
+ *  @author Kay Kasemir
+ */
+public class BinarySampleImporter implements FileSampleImporter
+{
+    /** {@inheritDoc} */
+    @Override
+    public List<VType> importValues(final InputStream input) throws Exception
+    {
+        // Index is at the end, so need the complete file
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buf = new byte[64 * 1024];
+        int len;
+        while ((len = input.read(buf)) > 0)
+            bytes.write(buf, 0, len);
+        input.close();
+        final ByteBuffer file = ByteBuffer.wrap(bytes.toByteArray());
+
+        final ChannelInfo channel = BinarySampleFormat.findChannel(BinarySampleFormat.readIndex((position, size) ->
+        {
+            final ByteBuffer section = file.duplicate();
+            section.position((int) position);
+            section.limit((int) position + size);
+            return section.slice();
+        }, file.capacity()), "");
+
+        final List<VType> values = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, channel.getSampleCount()));
+        final Inflater inflater = new Inflater();
+        final Block block = new Block();
+        try
+        {
+            for (BlockInfo info : channel.blocks)
+            {
+                final ByteBuffer data = file.duplicate();
+                data.position((int) info.position);
+                data.limit((int) info.position + info.size);
+                block.decode(data, inflater);
+                for (int i=0; i<block.size(); ++i)
+                    values.add(block.createValue(i));
+            }
+        }
+        finally
+        {
+            inflater.end();
+        }
+        return values;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ValueIterator importValues(final File file, final String name,
+                                      final Instant start, final Instant end) throws Exception
+    {
+        return new BinaryFileValueIterator(file, name, start, end);
+    }
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.diirt.vtype.VType;
+
+/** {@link ValueIterator} that reads samples from a memory-mapped CSV file
+ *
+ *  <p>The file is read in segments which are parsed in parallel,
+ *  ahead of the samples that are currently returned,
+ *  so memory usage is limited to a few segments.
+ *
+ *  <p>Assumes that the samples in the file are in time order.
+ *  Locates the start time by binary search within the file,
+ *  then returns the last sample at-or-before the start time
+ *  followed by all samples up to the end time.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CSVFileValueIterator implements ValueIterator
+{
+    /** Default segment size */
+    final private static int SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    /** Size of file region used to locate a time stamp */
+    final private static int PROBE_SIZE = 64 * 1024;
+
+    final private Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Samples parsed from one segment of the file */
+    private static class Segment
+    {
+        int size = 0;
+        long[] seconds = new long[1024];
+        int[] nanos = new int[1024];
+        double[] values = new double[1024];
+        double[] negative = new double[1024];
+        double[] positive = new double[1024];
+        boolean[] statistics = new boolean[1024];
+
+        void add(final CSVLineParser parser)
+        {
+            if (size >= seconds.length)
+            {
+                final int capacity = size * 2;
+                seconds = Arrays.copyOf(seconds, capacity);
+                nanos = Arrays.copyOf(nanos, capacity);
+                values = Arrays.copyOf(values, capacity);
+                negative = Arrays.copyOf(negative, capacity);
+                positive = Arrays.copyOf(positive, capacity);
+                statistics = Arrays.copyOf(statistics, capacity);
+            }
+            seconds[size] = parser.seconds;
+            nanos[size] = parser.nanos;
+            values[size] = parser.value;
+            negative[size] = parser.negative;
+            positive[size] = parser.positive;
+            statistics[size] = parser.statistics;
+            ++size;
+        }
+    }
+
+    final private FileChannel channel;
+    final private long file_size;
+    final private int segment_size;
+    final private Instant start, end;
+
+    /** Segments that are being parsed, in file order */
+    final private Deque<Future<Segment>> pending = new ArrayDeque<>();
+
+    /** Maximum number of segments parsed ahead */
+    final private int max_pending = Math.max(2, ForkJoinPool.getCommonPoolParallelism());
+
+    /** File position of the next segment to parse */
+    private long next_position;
+
+    /** Segment that's currently read, and index of next sample in there */
+    private Segment segment = null;
+    private int index = 0;
+
+    /** Value to return from next() or <code>null</code> when done */
+    private VType value;
+
+    /** Initialize
+     *  @param file CSV file
+     *  @param start Start time
+     *  @param end End time
+     *  @throws Exception on error
+     */
+    public CSVFileValueIterator(final File file, final Instant start, final Instant end) throws Exception
+    {
+        this(file, start, end, SEGMENT_SIZE);
+    }
+
+    /** Initialize
+     *  @param file CSV file
+     *  @param start Start time
+     *  @param end End time
+     *  @param segment_size Size of file segments that are parsed in parallel
+     *  @throws Exception on error
+     */
+    CSVFileValueIterator(final File file, final Instant start, final Instant end,
+                         final int segment_size) throws Exception
+    {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.file_size = channel.size();
+        this.segment_size = segment_size;
+        this.start = start;
+        this.end = end;
+        try
+        {
+            next_position = locateStart();
+            value = findFirstValue();
+        }
+        catch (Exception ex)
+        {
+            close();
+            throw ex;
+        }
+    }
+
+    /** Binary search for a line before the start time
+     *  @return File position of a line that's before the start time, or 0
+     *  @throws Exception on error
+     */
+    private long locateStart() throws Exception
+    {
+        final CSVLineParser parser = new CSVLineParser();
+        long low = 0, high = file_size;
+        while (high - low > segment_size)
+        {
+            final long mid = low + (high - low) / 2;
+            final long line = probe(parser, mid, high);
+            if (line >= 0  &&  compare(parser.seconds, parser.nanos, start) < 0)
+                low = line;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /** Locate first sample line after a position
+     *  @param parser Parser, will hold the sample
+     *  @param position Position within file, probably in the middle of a line
+     *  @param limit Position where to stop searching
+     *  @return Start of a sample line or -1
+     *  @throws IOException on error
+     */
+    private long probe(final CSVLineParser parser, final long position, final long limit) throws IOException
+    {
+        final int size = (int) Math.min(PROBE_SIZE, limit - position);
+        final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        // Skip the partial line
+        int line = findLineEnd(buf, 0, size) + 1;
+        while (line < size)
+        {
+            final int line_end = findLineEnd(buf, line, size);
+            if (line_end >= size)
+                break;
+            if (parser.parse(buf, line, line_end))
+                return position + line;
+            line = line_end + 1;
+        }
+        return -1;
+    }
+
+    /** @return Position of '\n' or 'end' */
+    private static int findLineEnd(final ByteBuffer buf, int pos, final int end)
+    {
+        while (pos < end  &&  buf.get(pos) != '\n')
+            ++pos;
+        return pos;
+    }
+
+    /** @return Segment that starts at 'next_position', extended to include the last complete line
+     *  @throws IOException on error
+     */
+    private Future<Segment> submitSegment() throws IOException
+    {
+        final long position = next_position;
+        long limit = Math.min(file_size, position + segment_size);
+        // Extend segment to the end of its last line
+        final ByteBuffer probe = ByteBuffer.allocate(1024);
+        while (limit < file_size)
+        {
+            probe.clear();
+            final int read = channel.read(probe, limit);
+            if (read <= 0)
+                break;
+            final int line_end = findLineEnd(probe, 0, read);
+            limit += line_end;
+            if (line_end < read)
+            {   // Include the '\n'
+                ++limit;
+                break;
+            }
+        }
+        next_position = limit;
+        final int size = (int) (limit - position);
+        return ForkJoinPool.commonPool().submit(() -> parseSegment(position, size));
+    }
+
+    /** @param position Start of segment in file
+     *  @param size Size of segment
+     *  @return Parsed segment
+     *  @throws IOException on error
+     */
+    private Segment parseSegment(final long position, final int size) throws IOException
+    {
+        final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        final CSVLineParser parser = new CSVLineParser();
+        final Segment segment = new Segment();
+        int line = 0;
+        while (line < size)
+        {
+            final int line_end = findLineEnd(buf, line, size);
+            if (parser.parse(buf, line, line_end))
+                segment.add(parser);
+            else if (logger.isLoggable(Level.FINE))
+                logger.log(Level.FINE, "Ignored input at position {0}", position + line);
+            line = line_end + 1;
+        }
+        return segment;
+    }
+
+    /** Advance to next sample
+     *  @return <code>false</code> if there are no more samples
+     *  @throws Exception on error
+     */
+    private boolean advance() throws Exception
+    {
+        if (segment != null  &&  ++index < segment.size)
+            return true;
+        // Need another segment
+        while (true)
+        {
+            while (pending.size() < max_pending  &&  next_position < file_size)
+                pending.add(submitSegment());
+            if (pending.isEmpty())
+            {
+                segment = null;
+                return false;
+            }
+            segment = pending.removeFirst().get();
+            index = 0;
+            if (segment.size > 0)
+                return true;
+        }
+    }
+
+    /** @return Last sample at-or-before start, or first sample after start, or <code>null</code>
+     *  @throws Exception on error
+     */
+    private VType findFirstValue() throws Exception
+    {
+        Segment before = null;
+        int before_index = 0;
+        while (advance())
+        {
+            if (compare(segment.seconds[index], segment.nanos[index], start) > 0)
+            {
+                if (before == null)
+                {   // No sample before start; is first sample already after end?
+                    if (compare(segment.seconds[index], segment.nanos[index], end) > 0)
+                        return null;
+                    return createValue(segment, index);
+                }
+                // Return 'before', then continue with current sample
+                --index;
+                return createValue(before, before_index);
+            }
+            before = segment;
+            before_index = index;
+        }
+        if (before != null)
+            return createValue(before, before_index);
+        return null;
+    }
+
+    /** @return Time comparison of seconds, nanos relative to time */
+    private static int compare(final long seconds, final int nanos, final Instant time)
+    {
+        final int cmp = Long.compare(seconds, time.getEpochSecond());
+        if (cmp != 0)
+            return cmp;
+        return Integer.compare(nanos, time.getNano());
+    }
+
+    /** @return Value for sample at index of segment */
+    private static VType createValue(final Segment segment, final int index)
+    {
+        return CSVSampleImporter.createValue(Instant.ofEpochSecond(segment.seconds[index], segment.nanos[index]),
+                                             segment.values[index], segment.statistics[index],
+                                             segment.negative[index], segment.positive[index]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext()
+    {
+        return value != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public VType next() throws Exception
+    {
+        final VType result = value;
+        if (result == null)
+            throw new Exception("End of samples");
+        if (advance()  &&  compare(segment.seconds[index], segment.nanos[index], end) <= 0)
+            value = createValue(segment, index);
+        else
+        {
+            value = null;
+            close();
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close()
+    {
+        for (Future<Segment> future : pending)
+            future.cancel(false);
+        pending.clear();
+        segment = null;
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ex)
+        {
+            logger.log(Level.WARNING, "Cannot close file", ex);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** Parser for one line of a CSV sample file
+ *
+ *  <p>Handles lines of the form
+ *  <pre>
+ *  YYYY-MM-DD HH:MM:SS.SSS   value  [negativeError  positiveError]  ignored...
+ *  YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value  [negativeError  positiveError]  ignored...
+ *  </pre>
+ *  where the columns are separated by spaces, tabs or commas.
+ *  The time stamp is in the local time zone.
+ *  Numbers use the decimal and grouping separators of the default locale.
+ *  A grouping separator is only skipped when followed by a group of
+ *  three digits, so a comma may still separate columns
+ *  in locales that group with a comma.
+ *
+ *  <p>Parses the bytes of the line directly, without regular
+ *  expressions or intermediate strings, so it assumes an
+ *  ASCII-compatible file encoding.
+ *
+ *  <p>Not thread-safe, each thread needs its own parser.
+ *
+ *  @author Kay Kasemir
+ */
+class CSVLineParser
+{
+    /** Powers of ten that are exact in a double */
+    final private static double[] POW10 =
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    final private static int[] NANO_SCALE =
+    {
+        1000000000, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1
+    };
+
+    final private ZoneId zone = ZoneId.systemDefault();
+    final private char grouping_separator, decimal_separator;
+
+    /** Hour for which 'hour_seconds' was computed, -1 if none */
+    private long cached_hour = -1;
+    /** Epoch seconds for the start of 'cached_hour' */
+    private long hour_seconds;
+
+    /** Position while parsing */
+    private int pos;
+
+    /** Result of parseNumber */
+    private double parsed;
+
+    /** Fallback for numbers that cannot be computed exactly */
+    final private StringBuilder number_text = new StringBuilder();
+
+    /** Parsed time stamp, seconds since epoch */
+    long seconds;
+
+    /** Parsed time stamp, nanoseconds within second */
+    int nanos;
+
+    /** Parsed value */
+    double value;
+
+    /** Parsed negative, positive error if <code>statistics</code> */
+    double negative, positive;
+
+    /** Did line contain statistics? */
+    boolean statistics;
+
+    CSVLineParser()
+    {
+        final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+        grouping_separator = symbols.getGroupingSeparator();
+        decimal_separator = symbols.getDecimalSeparator();
+    }
+
+    /** Parse a line
+     *  @param buf Buffer that contains the line
+     *  @param start Start of line within buffer
+     *  @param end End of line within buffer, not including the line end
+     *  @return <code>true</code> if line contained a sample,
+     *          <code>false</code> for empty, comment and unknown lines
+     */
+    boolean parse(final ByteBuffer buf, final int start, final int end)
+    {
+        pos = start;
+        skipWhitespace(buf, end);
+        if (pos >= end  ||  buf.get(pos) == '#')
+            return false;
+        if (! parseTime(buf, end))
+            return false;
+        if (! skipSeparators(buf, end)  ||  ! parseNumber(buf, end))
+            return false;
+        value = parsed;
+        // Optional negative and positive error
+        statistics = false;
+        final int mark = pos;
+        if (skipSeparators(buf, end)  &&  parseNumber(buf, end))
+        {
+            negative = parsed;
+            if (skipSeparators(buf, end)  &&  parseNumber(buf, end))
+            {
+                positive = parsed;
+                statistics = true;
+            }
+        }
+        if (! statistics)
+            pos = mark;
+        return true;
+    }
+
+    private void skipWhitespace(final ByteBuffer buf, final int end)
+    {
+        while (pos < end)
+        {
+            final byte c = buf.get(pos);
+            if (c != ' '  &&  c != '\t'  &&  c != '\r')
+                break;
+            ++pos;
+        }
+    }
+
+    /** @return <code>true</code> if at least one separator was skipped */
+    private boolean skipSeparators(final ByteBuffer buf, final int end)
+    {
+        final int start = pos;
+        while (pos < end)
+        {
+            final byte c = buf.get(pos);
+            if (c != ' '  &&  c != '\t'  &&  !(c == ','  &&  decimal_separator != ','))
+                break;
+            ++pos;
+        }
+        return pos > start;
+    }
+
+    /** @param count Number of digits to parse
+     *  @return Value of the digits or -1 on error
+     */
+    private int parseDigits(final ByteBuffer buf, final int end, final int count)
+    {
+        if (pos + count > end)
+            return -1;
+        int result = 0;
+        for (int i=0; i<count; ++i)
+        {
+            final int digit = buf.get(pos++) - '0';
+            if (digit < 0  ||  digit > 9)
+                return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /** @param expected Expected character
+     *  @return <code>true</code> if found and skipped
+     */
+    private boolean expect(final ByteBuffer buf, final int end, final char expected)
+    {
+        if (pos < end  &&  buf.get(pos) == expected)
+        {
+            ++pos;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean expectDateSeparator(final ByteBuffer buf, final int end)
+    {
+        return expect(buf, end, '-')  ||  expect(buf, end, '/');
+    }
+
+    /** Parse YYYY-MM-DD HH:MM:SS.fraction into seconds, nanos */
+    private boolean parseTime(final ByteBuffer buf, final int end)
+    {
+        final int year = parseDigits(buf, end, 4);
+        if (year < 0  ||  !expectDateSeparator(buf, end))
+            return false;
+        final int month = parseDigits(buf, end, 2);
+        if (month < 1  ||  month > 12  ||  !expectDateSeparator(buf, end))
+            return false;
+        final int day = parseDigits(buf, end, 2);
+        if (day < 1  ||  day > 31  ||  !expect(buf, end, ' '))
+            return false;
+        final int hour = parseDigits(buf, end, 2);
+        if (hour < 0  ||  hour > 23  ||  !expect(buf, end, ':'))
+            return false;
+        final int minute = parseDigits(buf, end, 2);
+        if (minute < 0  ||  minute > 59  ||  !expect(buf, end, ':'))
+            return false;
+        final int second = parseDigits(buf, end, 2);
+        if (second < 0  ||  second > 60  ||  !expect(buf, end, '.'))
+            return false;
+        // Fraction, using at most nanosecond resolution
+        int fraction = 0, digits = 0;
+        while (pos < end)
+        {
+            final int digit = buf.get(pos) - '0';
+            if (digit < 0  ||  digit > 9)
+                break;
+            if (digits < 9)
+            {
+                fraction = fraction * 10 + digit;
+                ++digits;
+            }
+            ++pos;
+        }
+        nanos = fraction * NANO_SCALE[digits];
+
+        // Time zone rules are applied once per hour,
+        // minutes and seconds are then added
+        final long hour_key = ((year * 100L + month) * 100L + day) * 100L + hour;
+        if (hour_key != cached_hour)
+        {
+            try
+            {
+                hour_seconds = LocalDateTime.of(year, month, day, hour, 0).atZone(zone).toEpochSecond();
+            }
+            catch (Exception ex)
+            {   // Invalid date like Feb. 30
+                return false;
+            }
+            cached_hour = hour_key;
+        }
+        seconds = hour_seconds + minute * 60 + second;
+        return true;
+    }
+
+    /** @return <code>true</code> if there are exactly three digits at 'start' */
+    private static boolean isDigitGroup(final ByteBuffer buf, final int start, final int end)
+    {
+        if (start + 3 > end)
+            return false;
+        for (int i=start; i<start+3; ++i)
+        {
+            final int digit = buf.get(i) - '0';
+            if (digit < 0  ||  digit > 9)
+                return false;
+        }
+        if (start + 3 < end)
+        {
+            final int digit = buf.get(start + 3) - '0';
+            if (digit >= 0  &&  digit <= 9)
+                return false;
+        }
+        return true;
+    }
+
+    /** Parse number into 'parsed'
+     *  @return <code>true</code> if there was a number
+     */
+    private boolean parseNumber(final ByteBuffer buf, final int end)
+    {
+        final int start = pos;
+        boolean minus = false;
+        if (pos < end)
+        {
+            final byte c = buf.get(pos);
+            if (c == '-'  ||  c == '+')
+            {
+                minus = c == '-';
+                ++pos;
+            }
+        }
+        long mantissa = 0;
+        int significant = 0, exponent = 0, digits = 0;
+        boolean in_fraction = false;
+        while (pos < end)
+        {
+            final byte c = buf.get(pos);
+            final int digit = c - '0';
+            if (digit >= 0  &&  digit <= 9)
+            {
+                ++digits;
+                if (significant < 18)
+                {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa > 0)
+                        ++significant;
+                    if (in_fraction)
+                        --exponent;
+                }
+                else if (! in_fraction)
+                    ++exponent;
+            }
+            else if (c == decimal_separator  &&  !in_fraction)
+                in_fraction = true;
+            else if (c == grouping_separator  &&  !in_fraction  &&  digits > 0  &&  isDigitGroup(buf, pos+1, end))
+            {
+                // Skip grouping separator
+            }
+            else
+                break;
+            ++pos;
+        }
+        if (digits <= 0)
+        {
+            pos = start;
+            return false;
+        }
+        // Optional exponent
+        if (pos < end  &&  (buf.get(pos) == 'e'  ||  buf.get(pos) == 'E'))
+        {
+            final int mark = pos++;
+            boolean exp_negative = false;
+            if (pos < end  &&  (buf.get(pos) == '-'  ||  buf.get(pos) == '+'))
+                exp_negative = buf.get(pos++) == '-';
+            int exp = 0, exp_digits = 0;
+            while (pos < end)
+            {
+                final int digit = buf.get(pos) - '0';
+                if (digit < 0  ||  digit > 9)
+                    break;
+                if (exp < 10000)
+                    exp = exp * 10 + digit;
+                ++exp_digits;
+                ++pos;
+            }
+            if (exp_digits > 0)
+                exponent += exp_negative ? -exp : exp;
+            else
+                pos = mark;
+        }
+
+        if (significant <= 15  &&  exponent >= -22  &&  exponent <= 22)
+        {   // Mantissa and power of ten are exact, so result is correctly rounded
+            final double result = exponent < 0
+                                ? mantissa / POW10[-exponent]
+                                : mantissa * POW10[exponent];
+            parsed = minus ? -result : result;
+        }
+        else
+        {   // Rare case, use the JDK parser
+            number_text.setLength(0);
+            for (int i=start; i<pos; ++i)
+            {
+                final char c = (char) buf.get(i);
+                if (c == decimal_separator)
+                    number_text.append('.');
+                else if (c != grouping_separator)
+                    number_text.append(c);
+            }
+            parsed = Double.parseDouble(number_text.toString());
+        }
+        return true;
+    }
+}
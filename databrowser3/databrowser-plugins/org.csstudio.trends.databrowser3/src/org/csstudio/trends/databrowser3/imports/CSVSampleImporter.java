@@ -7,133 +7,110 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.imports;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.text.DateFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.csstudio.archive.reader.ValueIterator;
 import org.csstudio.archive.vtype.ArchiveVNumber;
 import org.csstudio.archive.vtype.ArchiveVStatistics;
-import org.csstudio.archive.vtype.TimestampHelper;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.Display;
 import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueFactory;
 
 /** {@link SampleImporter} for Command (space, tab) separated value file of time, value
+ *
+ *  <p>See {@link CSVLineParser} for the supported format.
+ *
  *  @author Jaka Bobnar - Parse min, max
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
-public class CSVSampleImporter implements SampleImporter
+public class CSVSampleImporter implements FileSampleImporter
 {
+    final private static Display meta_data = ValueFactory.displayNone();
+
     final private Logger logger = Logger.getLogger(getClass().getName());
-    final private Display meta_data = ValueFactory.displayNone();
 
     /** {@inheritDoc} */
     @Override
     public List<VType> importValues(final InputStream input) throws Exception
     {
-        // To be reentrant, need per-call parsers
-        final DateFormat date_parser = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        final Pattern pattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value  ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value  ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
-
-        final Pattern statisticsPattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value    negativeError    positiveError    ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value    negativeError    positiveError    ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
-
-
+        // To be reentrant, need per-call parser
+        final CSVLineParser parser = new CSVLineParser();
         final List<VType> values = new ArrayList<VType>();
-
-        final BufferedReader reader =
-                new BufferedReader(new InputStreamReader(input));
-        String line;
-        char groupingSeparator = DecimalFormatSymbols.getInstance().getGroupingSeparator();
-        char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
-        boolean statistics = true;
-        while ((line = reader.readLine()) != null)
+        try
+        (
+            final InputStream buffered = new BufferedInputStream(input, 64 * 1024);
+        )
         {
-            line = line.trim();
-            // Skip empty lines, comments
-            if (line.length() <= 0  ||  line.startsWith("#"))
-                continue;
-            statistics = true;
-            // Locate time and value
-            // Is statistical data?
-            Matcher matcher = statisticsPattern.matcher(line);
-            if (! matcher.matches())
+            byte[] line = new byte[256];
+            ByteBuffer buf = ByteBuffer.wrap(line);
+            int length = 0;
+            int c;
+            do
             {
-                // Not statistical data, try normal
-                matcher = pattern.matcher(line);
-                if (! matcher.matches())
+                c = buffered.read();
+                if (c == '\n'  ||  c < 0)
                 {
-                    logger.log(Level.INFO, "Ignored input: {0}", line);
-                    continue;
+                    if (parser.parse(buf, 0, length))
+                        values.add(createValue(parser));
+                    else if (length > 0)
+                        logger.log(Level.FINE, "Ignored input: {0}", new String(line, 0, length));
+                    length = 0;
+                }
+                else
+                {
+                    if (length >= line.length)
+                    {
+                        line = Arrays.copyOf(line, line.length * 2);
+                        buf = ByteBuffer.wrap(line);
+                    }
+                    line[length++] = (byte) c;
                 }
-                statistics = false;
-            }
-
-
-            // Parse
-            // Date may use '-' or '/' as separator. Force '-'
-            String date_text = matcher.group(1).replace('/', '-');
-            // Can only parse up to millisecs, so limit length
-            if (date_text.length() > 23)
-                date_text = date_text.substring(0, 23);
-            final Date date = date_parser.parse(date_text);
-            //Double.parseDouble only parses numbers in format #.#... or #.#...#E0, meaning
-            //that you cannot have any grouping separators, and the decimal separator must be '.'
-            //First remove all grouping separators, then replace the decimal separator with a '.'
-            final double number = Double.parseDouble(
-                    remove(matcher.group(2),groupingSeparator).replace(decimalSeparator, '.'));
-            final Instant time = TimestampHelper.fromMillisecs(date.getTime());
-            if (statistics) {
-                final double min = Double.parseDouble(
-                        remove(matcher.group(3),groupingSeparator).replace(decimalSeparator, '.'));
-                final double max = Double.parseDouble(
-                        remove(matcher.group(4),groupingSeparator).replace(decimalSeparator, '.'));
-                values.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, number, number-min, number+max, 0, 1));
-            } else {
-                values.add(new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, number));
             }
+            while (c >= 0);
         }
-        reader.close();
-
         return values;
     }
 
-    /**
-     * Remove all occurrences of the character from the string.
-     *
-     * @param source the string to remove the characters from
-     * @param charToRemove the character to remove
-     * @return the string without any occurrence of the given character
+    /** {@inheritDoc} */
+    @Override
+    public ValueIterator importValues(final File file, final String name,
+                                      final Instant start, final Instant end) throws Exception
+    {
+        return new CSVFileValueIterator(file, start, end);
+    }
+
+    /** @param parser Parser that holds a sample
+     *  @return Value for the sample
      */
-    private static String remove(String source, char charToRemove) {
-        if (source.indexOf(charToRemove) < 0) return source;
-        char[] chars = source.toCharArray();
-        int pos = 0;
-        for (int j = 0; j < chars.length; j++) {
-            if (chars[j] != charToRemove) {
-                chars[pos++] = chars[j];
-            }
-        }
-        return new String(chars,0,pos);
+    static VType createValue(final CSVLineParser parser)
+    {
+        return createValue(Instant.ofEpochSecond(parser.seconds, parser.nanos), parser.value,
+                           parser.statistics, parser.negative, parser.positive);
+    }
+
+    /** @param time Time stamp
+     *  @param number Value
+     *  @param statistics Use negative and positive error?
+     *  @param negative Negative error
+     *  @param positive Positive error
+     *  @return Value for the sample
+     */
+    static VType createValue(final Instant time, final double number,
+                             final boolean statistics, final double negative, final double positive)
+    {
+        if (statistics)
+            return new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, number, number-negative, number+positive, 0, 1);
+        return new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, number);
     }
 }
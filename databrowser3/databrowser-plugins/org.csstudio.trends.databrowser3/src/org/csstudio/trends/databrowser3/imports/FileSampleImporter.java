@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.File;
+import java.time.Instant;
+
+import org.csstudio.archive.reader.ValueIterator;
+
+/** {@link SampleImporter} that can directly read from a file
+ *
+ *  <p>Instead of importing all samples into memory,
+ *  the samples for a time range are read as needed.
+ *
+ *  @author Kay Kasemir
+ */
+public interface FileSampleImporter extends SampleImporter
+{
+    /** Perform value import for a time range
+     *
+     *  <p>Must be re-entrant, see {@link SampleImporter}.
+     *
+     *  @param file File to read
+     *  @param name Channel name, may be used by importers that support several channels per file
+     *  @param start Start time
+     *  @param end End time
+     *  @return {@link ValueIterator} for the samples, must be closed when done
+     *  @throws Exception on error
+     */
+    public ValueIterator importValues(final File file, final String name, final Instant start, final Instant end) throws Exception;
+}
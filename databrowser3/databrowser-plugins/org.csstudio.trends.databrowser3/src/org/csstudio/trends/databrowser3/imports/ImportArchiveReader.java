@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.imports;
 
+import java.io.File;
 import java.time.Instant;
 import java.util.List;
 
@@ -21,7 +22,9 @@ import org.diirt.vtype.VType;
 
 /** Archive reader that imports data from a file
  *
- *  <p>Performs the import once, reading the complete file.
+ *  <p>When the importer can directly read a file system file,
+ *  each request reads the requested time range from the file.
+ *  Otherwise performs the import once, reading the complete file.
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -91,6 +94,13 @@ public class ImportArchiveReader implements ArchiveReader
             // Locate file
             final ResourceHelper resources = SingleSourcePlugin.getResourceHelper();
             final IPath ipath = resources.newPath(path);
+            // Read time range directly from file?
+            if (importer.canImportFile())
+            {
+                final File file = ipath.toFile();
+                if (file.isFile())
+                    return importer.importValues(file, name, start, end);
+            }
             // Import data
             values = importer.importValues(resources.getInputStream(ipath));
         }
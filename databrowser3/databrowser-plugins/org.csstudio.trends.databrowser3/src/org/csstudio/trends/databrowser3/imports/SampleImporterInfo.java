@@ -7,9 +7,12 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.imports;
 
+import java.io.File;
 import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
+import org.csstudio.archive.reader.ValueIterator;
 import org.diirt.vtype.VType;
 
 /** {@link SampleImporter} with info about its type and description
@@ -49,4 +52,25 @@ public class SampleImporterInfo
     {
         return importer.importValues(input);
     }
+
+    /** @return <code>true</code> if importer can read a time range directly from a file */
+    public boolean canImportFile()
+    {
+        return importer instanceof FileSampleImporter;
+    }
+
+    /** Perform value import for a time range
+     *  @param file File to read
+     *  @param name Channel name
+     *  @param start Start time
+     *  @param end End time
+     *  @return {@link ValueIterator} for the samples
+     *  @throws Exception on error
+     *  @see #canImportFile()
+     */
+    public ValueIterator importValues(final File file, final String name,
+                                      final Instant start, final Instant end) throws Exception
+    {
+        return ((FileSampleImporter) importer).importValues(file, name, start, end);
+    }
 }
@@ -7,9 +7,6 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.model;
 
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-
 import org.diirt.vtype.VType;
 
 /** One input to the formula: Model item that provides data, Variable name
@@ -25,6 +22,11 @@ public class FormulaInput
     /** The variable name for this input. */
     final private String variable_name;
 
+    final private static PlotSample[] NO_SAMPLES = new PlotSample[0];
+
+    /** Snapshot of the item's samples taken by first() */
+    private PlotSample[] samples = NO_SAMPLES;
+
     /** Index of the sample that next() will return or -1 when 'done' */
     private int index = -1;
 
@@ -51,27 +53,18 @@ public class FormulaInput
     }
 
     /** Reset the sample iterator to the first sample
+     *  <p>
+     *  Takes a snapshot of the input's samples
+     *  which is then used by <code>next()</code>.
      *  @see #next()
      *  @return First sample or <code>null</code>
      *  @throws Exception on error
      */
     public VType first() throws Exception
     {
-        final PlotSamples samples = item.getSamples();
-        if (! samples.getLock().tryLock(10, TimeUnit.SECONDS))
-            throw new TimeoutException("Cannot lock " + samples);
-        try
-        {
-            if (samples.size() > 0)
-                index = 0;
-            else
-                index = -1;
-            return next();
-        }
-        finally
-        {
-            samples.getLock().unlock();
-        }
+        samples = item.getSamples().snapshot();
+        index = 0;
+        return next();
     }
 
     /** Iterate over the samples of the input's ModelItem
@@ -82,25 +75,12 @@ public class FormulaInput
     {
         if (index < 0)
             return null;
-        final VType result;
-        final PlotSamples samples = item.getSamples();
-        if (! samples.getLock().tryLock(10, TimeUnit.SECONDS))
-            throw new TimeoutException("Cannot lock " + samples);
-        try
-        {
-            if (index < samples.size())
-                result = samples.get(index++).getVType();
-            else
-            {
-                result = null;
-                index = -1;
-            }
-        }
-        finally
-        {
-            samples.getLock().unlock();
-        }
-        return result;
+        if (index < samples.length)
+            return samples[index++].getVType();
+        // Done, release the snapshot
+        index = -1;
+        samples = NO_SAMPLES;
+        return null;
     }
 
     /** Check for new samples.
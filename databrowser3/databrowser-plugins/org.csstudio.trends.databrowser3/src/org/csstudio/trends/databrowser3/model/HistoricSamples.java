@@ -8,6 +8,7 @@
 package org.csstudio.trends.databrowser3.model;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -114,6 +115,13 @@ public class HistoricSamples extends PlotSamples
         return visible_size;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected PlotSample[] copySamples()
+    {
+        return Arrays.copyOf(samples, visible_size);
+    }
+
     /**
      * @return the number of samples, ignoring the border time
      */
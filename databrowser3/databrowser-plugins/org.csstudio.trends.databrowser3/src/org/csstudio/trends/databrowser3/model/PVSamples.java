@@ -10,6 +10,7 @@ package org.csstudio.trends.databrowser3.model;
 import static org.csstudio.trends.databrowser3.Activator.logger;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -120,6 +121,23 @@ public class PVSamples extends PlotSamples
             return new PlotSample(sample.getSource(), VTypeHelper.transformTimestampToNow(sample.getVType()));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected PlotSample[] copySamples()
+    {
+        final PlotSample[] old = history.copySamples();
+        final int num_live = live.size();
+        final int raw_count = old.length + num_live;
+        final int count = size();
+        final PlotSample[] copy = Arrays.copyOf(old, count);
+        for (int i=0; i<num_live; ++i)
+            copy[old.length + i] = live.get(i);
+        // Add continuation to 'now'
+        if (count > raw_count)
+            copy[raw_count] = get(raw_count);
+        return copy;
+    }
+
     /** Get 'raw' sample, no continuation until 'now'
      *  @param index 0... getRawSize()-1
      *  @return Sample from historic or live sample subsection
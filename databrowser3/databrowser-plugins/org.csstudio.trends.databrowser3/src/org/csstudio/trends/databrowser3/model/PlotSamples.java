@@ -10,6 +10,7 @@ package org.csstudio.trends.databrowser3.model;
 import static org.csstudio.javafx.rtplot.Activator.logger;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -19,6 +20,7 @@ import java.util.logging.Level;
 
 import org.csstudio.javafx.rtplot.data.InstrumentedReadWriteLock;
 import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.data.TimeDataSearch;
 
 /** Base for classes that hold plot samples
  *  in a way accessible as {@link PlotDataProvider}
@@ -73,6 +75,80 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
     @Override
     abstract public PlotSample get(int index);
 
+    /** Get a consistent copy of all samples.
+     *  <p>
+     *  Locks the samples once for the complete copy,
+     *  so code that iterates over all samples
+     *  does not need to lock for each individual sample.
+     *  Samples themselves are immutable, so only the
+     *  references are copied.
+     *
+     *  @return Samples at the time of the call, may be empty
+     *  @throws Exception when samples cannot be locked
+     */
+    public PlotSample[] snapshot() throws Exception
+    {
+        lockForReading();
+        try
+        {
+            return copySamples();
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
+    /** Get a consistent copy of the samples in a time range.
+     *  <p>
+     *  Includes the last sample at-or-before the start time,
+     *  since that value is still valid at the start time.
+     *
+     *  @param start Start time
+     *  @param end End time
+     *  @return Samples from start to end, may be empty
+     *  @throws Exception when samples cannot be locked
+     */
+    public PlotSample[] snapshot(final Instant start, final Instant end) throws Exception
+    {
+        final PlotSample[] all = snapshot();
+        final TimeDataSearch search = new TimeDataSearch();
+        final PlotSampleArray access = new PlotSampleArray();
+        access.set(Arrays.asList(all));
+        // Start at sample before start time, or at the first sample
+        final int first = Math.max(0, search.findSampleLessOrEqual(access, start));
+        // End at sample before end time
+        final int last = search.findSampleLessOrEqual(access, end);
+        if (last < first)
+            return new PlotSample[0];
+        return Arrays.copyOfRange(all, first, last+1);
+    }
+
+    /** Copy samples
+     *  <p>
+     *  Caller must hold the lock.
+     *  Derived classes that keep their samples in an array
+     *  can override to copy more efficiently.
+     *  @return Copy of current samples
+     */
+    protected PlotSample[] copySamples()
+    {
+        final int n = size();
+        final PlotSample[] copy = new PlotSample[n];
+        for (int i=0; i<n; ++i)
+            copy[i] = get(i);
+        return copy;
+    }
+
+    /** Lock for reading
+     *  @throws Exception when samples cannot be locked
+     */
+    private void lockForReading() throws Exception
+    {
+        if (! getLock().tryLock(10, TimeUnit.SECONDS))
+            throw new TimeoutException("Cannot lock " + this);
+    }
+
     /** Test if samples changed since the last time
      *  <code>testAndClearNewSamplesFlag</code> was called.
      *  @return <code>true</code> if there were new samples
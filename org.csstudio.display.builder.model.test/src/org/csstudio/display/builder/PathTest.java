@@ -10,6 +10,9 @@ package org.csstudio.display.builder;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.io.File;
+import java.nio.file.Files;
+
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
 import org.junit.Test;
 
@@ -111,4 +114,34 @@ public class PathTest
         assertThat(path, equalTo("../share/common.bob"));
 
     }
+
+    @Test
+    public void testResolve() throws Exception
+    {
+        final File dir = Files.createTempDirectory("resolve").toFile();
+        final File parent = new File(dir, "parent.bob");
+        final File opi = new File(dir, "display.opi");
+        final File bob = new File(dir, "display.bob");
+        opi.createNewFile();
+
+        String path = ModelResourceUtil.resolveResource(parent.getPath(), "display.opi");
+        assertThat(path, equalTo(opi.getAbsolutePath()));
+
+        // Missing resource is returned as is
+        path = ModelResourceUtil.resolveResource(parent.getPath(), "missing.bob");
+        assertThat(path, equalTo("missing.bob"));
+
+        // Writing a resource updates the cached resolution
+        ModelResourceUtil.writeResource(bob.getPath()).close();
+        path = ModelResourceUtil.resolveResource(parent.getPath(), "display.opi");
+        assertThat(path, equalTo(bob.getAbsolutePath()));
+
+        // Cached file that no longer exists is resolved again
+        bob.delete();
+        path = ModelResourceUtil.resolveResource(parent.getPath(), "display.opi");
+        assertThat(path, equalTo(opi.getAbsolutePath()));
+
+        opi.delete();
+        dir.delete();
+    }
 }
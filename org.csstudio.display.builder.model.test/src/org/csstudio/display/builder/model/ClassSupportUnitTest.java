@@ -30,6 +30,7 @@ import org.csstudio.display.builder.model.persist.WidgetClassesService;
 import org.csstudio.display.builder.model.persist.WidgetFontService;
 import org.csstudio.display.builder.model.properties.NamedWidgetFont;
 import org.csstudio.display.builder.model.properties.WidgetFont;
+import org.csstudio.display.builder.model.properties.WidgetFontStyle;
 import org.csstudio.display.builder.model.widgets.LabelWidget;
 import org.junit.Test;
 
@@ -121,6 +122,32 @@ public class ClassSupportUnitTest
         assertThat(widget.propFont().isUsingWidgetClass(), equalTo(false));
     }
 
+    @Test
+    public void testRedefinedClass() throws Exception
+    {
+        final WidgetClassSupport widget_classes = getExampleClasses();
+
+        final LabelWidget widget = new LabelWidget();
+        widget.propClass().setValue("TITLE");
+        widget_classes.apply(widget);
+        assertThat(widget.propFont().getValue().getFamily(), equalTo("Liberation Sans"));
+        assertThat(widget.propFont().isUsingWidgetClass(), equalTo(true));
+        assertThat(widget.propText().isUsingWidgetClass(), equalTo(false));
+
+        // Changing the class definition must update the compiled class settings
+        final LabelWidget title = new LabelWidget();
+        title.setPropertyValue("name", "TITLE");
+        title.propFont().setValue(new WidgetFont("Other", WidgetFontStyle.ITALIC, 11.0));
+        title.propFont().useWidgetClass(true);
+        widget_classes.registerClass(title);
+
+        final LabelWidget other = new LabelWidget();
+        other.propClass().setValue("TITLE");
+        widget_classes.apply(other);
+        assertThat(other.propFont().getValue().getFamily(), equalTo("Other"));
+        assertThat(other.propFont().isUsingWidgetClass(), equalTo(true));
+    }
+
     @Test
     public void testErrors() throws Exception
     {
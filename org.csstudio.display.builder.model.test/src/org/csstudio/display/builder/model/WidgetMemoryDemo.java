@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.csstudio.display.builder.model.properties.CommonWidgetProperties;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.model.widgets.RectangleWidget;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.junit.Test;
+
+/** Memory used by the widgets of a large display
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class WidgetMemoryDemo
+{
+    private static final int GROUPS = 5000;
+
+    /** @return Display with groups that each hold a label, rectangle and text update */
+    private static DisplayModel createModel()
+    {
+        final DisplayModel model = new DisplayModel();
+        for (int i=0; i<GROUPS; ++i)
+        {
+            final GroupWidget group = new GroupWidget();
+            group.setPropertyValue(CommonWidgetProperties.propName, "Group " + i);
+            group.setPropertyValue(CommonWidgetProperties.propX, (i / 20) * 132);
+            group.setPropertyValue(CommonWidgetProperties.propY, (i % 20) * 50);
+
+            final LabelWidget label = new LabelWidget();
+            label.setPropertyValue(CommonWidgetProperties.propText, Integer.toString(i));
+            group.runtimeChildren().addChild(label);
+
+            final RectangleWidget rect = new RectangleWidget();
+            rect.setPropertyValue(CommonWidgetProperties.propX, 20);
+            group.runtimeChildren().addChild(rect);
+
+            final TextUpdateWidget text = new TextUpdateWidget();
+            text.setPropertyValue(CommonWidgetProperties.propPVName, "sim://sine(-10, 10, 0.1) " + i);
+            text.setPropertyValue(CommonWidgetProperties.propX, 40);
+            group.runtimeChildren().addChild(text);
+
+            model.runtimeChildren().addChild(group);
+        }
+        return model;
+    }
+
+    private static long getUsedMemory() throws Exception
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i=0; i<3; ++i)
+        {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void testMemory() throws Exception
+    {
+        // Create one model to load all classes
+        createModel();
+
+        final long before = getUsedMemory();
+        final long start = System.nanoTime();
+        final DisplayModel model = createModel();
+        final double secs = (System.nanoTime() - start) / 1e9;
+        final long after = getUsedMemory();
+
+        final int widgets = GROUPS * 4;
+        assertThat(model.getChildren().size(), equalTo(GROUPS));
+        System.out.format("%d widgets: %.1f MB, %d bytes per widget, created in %.3f seconds\n",
+                          widgets, (after - before) / 1024.0 / 1024.0, (after - before) / widgets, secs);
+    }
+}
@@ -12,6 +12,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -185,6 +186,32 @@ public class MacrosUnitTest
         }
     }
 
+    /** Test compiled macro templates
+     *  @throws Exception on error
+     */
+    @Test
+    public void testTemplates() throws Exception
+    {
+        final Macros macros = new Macros();
+        macros.add("S", "BL7");
+        macros.add("MACRO", "S");
+        macros.add("NESTED", "$(S)");
+
+        // Template is compiled once
+        assertThat(MacroTemplate.get("PV $(S):${MACRO}"), sameInstance(MacroTemplate.get("PV $(S):${MACRO}")));
+
+        // Plain values are expanded by template
+        assertThat(MacroTemplate.get("PV $(S):${MACRO}").expand(macros), equalTo("PV BL7:S"));
+        assertThat(MacroTemplate.get("Escaped \\$(S), used $(S=x) and $(UNKNOWN=default)").expand(macros),
+                   equalTo("Escaped $(S), used BL7 and default"));
+
+        // Nested or unresolved macros need step-by-step replacement
+        assertThat(MacroTemplate.get("$($(MACRO))").expand(macros), nullValue());
+        assertThat(MacroTemplate.get("$(NESTED)").expand(macros), nullValue());
+        assertThat(MacroTemplate.get("$(UNKNOWN)").expand(macros), nullValue());
+        assertThat(MacroHandler.replace(macros, "$($(MACRO)) $(NESTED) $(UNKNOWN)"), equalTo("BL7 BL7 $(UNKNOWN)"));
+    }
+
     @Test
     public void testXML() throws Exception
     {
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.junit.Test;
+
+/** JUnit test of the {@link CompiledModel}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CompiledModelUnitTest
+{
+    private static String toXML(final DisplayModel model) throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try
+        (
+            final ModelWriter writer = new ModelWriter(out);
+        )
+        {
+            writer.writeModel(model);
+        }
+        return out.toString();
+    }
+
+    private static byte[] compile(final DisplayModel model, final String name, final long modified) throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompiledModel.write(model, name, modified, out);
+        return out.toByteArray();
+    }
+
+    /** Compiled example displays must match the XML */
+    @Test
+    public void testExamples() throws Exception
+    {
+        final File[] files = new File("../org.csstudio.display.builder.model/examples")
+                             .listFiles((dir, name) -> name.endsWith(".bob"));
+        for (File file : files)
+        {
+            final DisplayModel model = new ModelReader(new FileInputStream(file)).readModel();
+            final byte[] compiled = compile(model, file.getPath(), 42);
+            final DisplayModel copy = CompiledModel.read(new ByteArrayInputStream(compiled), file.getPath(), 42);
+            System.out.println(file.getName() + ": " + file.length() + " bytes XML, " + compiled.length + " bytes compiled");
+            assertThat(file.getName(), toXML(copy), equalTo(toXML(model)));
+            assertThat(copy.getUserData(DisplayModel.USER_DATA_INPUT_VERSION),
+                       equalTo(model.getUserData(DisplayModel.USER_DATA_INPUT_VERSION)));
+        }
+    }
+
+    @Test
+    public void testClassFlag() throws Exception
+    {
+        final DisplayModel model = new DisplayModel();
+        final LabelWidget label = new LabelWidget();
+        label.propText().setValue("Text");
+        label.propFont().useWidgetClass(true);
+        model.runtimeChildren().addChild(label);
+
+        final DisplayModel copy = CompiledModel.read(new ByteArrayInputStream(compile(model, "test.bob", 42)), "test.bob", 42);
+        final LabelWidget copied = (LabelWidget) copy.getChildren().get(0);
+        assertThat(copied.propText().getValue(), equalTo("Text"));
+        assertThat(copied.propFont().isUsingWidgetClass(), equalTo(true));
+        assertThat(copied.propForegroundColor().isUsingWidgetClass(), equalTo(false));
+    }
+
+    @Test
+    public void testOutdated() throws Exception
+    {
+        final byte[] compiled = compile(new DisplayModel(), "test.bob", 42);
+        // Display file was modified, or compiled data is for another file
+        assertThat(CompiledModel.read(new ByteArrayInputStream(compiled), "test.bob", 43), nullValue());
+        assertThat(CompiledModel.read(new ByteArrayInputStream(compiled), "other.bob", 42), nullValue());
+    }
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.MacroizedWidgetProperty;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.macros.Macros;
+import org.csstudio.display.builder.model.properties.Points;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.model.widgets.PolylineWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.junit.Test;
+
+/** JUnit test of the {@link DisplayModelCache}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplayModelCacheUnitTest
+{
+    private static String toXML(final DisplayModel model) throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try
+        (
+            final ModelWriter writer = new ModelWriter(out);
+        )
+        {
+            writer.writeModel(model);
+        }
+        return out.toString();
+    }
+
+    private static File createDisplay(final String name) throws Exception
+    {
+        final DisplayModel model = new DisplayModel();
+        model.propName().setValue(name);
+        final Macros macros = new Macros();
+        macros.add("X", "Value of X");
+        model.propMacros().setValue(macros);
+
+        final GroupWidget group = new GroupWidget();
+        final LabelWidget label = new LabelWidget();
+        label.propText().setValue("Label for $(X)");
+        group.runtimeChildren().addChild(label);
+        model.runtimeChildren().addChild(group);
+
+        final TabsWidget tabs = new TabsWidget();
+        tabs.propTabs().getElement(1).children().addChild(new LabelWidget());
+        model.runtimeChildren().addChild(tabs);
+
+        final PolylineWidget line = new PolylineWidget();
+        final Points points = new Points();
+        points.add(1, 2);
+        points.add(3, 4);
+        line.propPoints().setValue(points);
+        model.runtimeChildren().addChild(line);
+
+        final File file = File.createTempFile(name, "." + DisplayModel.FILE_EXTENSION);
+        file.deleteOnExit();
+        try
+        (
+            final FileOutputStream out = new FileOutputStream(file);
+        )
+        {
+            out.write(toXML(model).getBytes());
+        }
+        return file;
+    }
+
+    @Test
+    public void testCopies() throws Exception
+    {
+        final File file = createDisplay("copies");
+        final DisplayModelCache cache = new DisplayModelCache(5);
+
+        final DisplayModel first = cache.getModel(file.getPath());
+        final DisplayModel second = cache.getModel(file.getPath());
+        System.out.println(cache);
+        assertThat(cache.getMisses(), equalTo(1L));
+        assertThat(cache.getHits(), equalTo(1L));
+
+        // Copies are separate models with the same content
+        assertThat(second, not(sameInstance(first)));
+        assertThat(toXML(second), equalTo(toXML(first)));
+        assertThat(toXML(first), equalTo(toXML(ModelLoader.loadModel(file.getPath()))));
+        assertThat(second.getUserData(DisplayModel.USER_DATA_INPUT_FILE), equalTo(file.getPath()));
+
+        // Macro specification is kept, children have new parents
+        final GroupWidget group = (GroupWidget) second.getChildren().get(0);
+        final LabelWidget label = (LabelWidget) group.runtimeChildren().getValue().get(0);
+        assertThat(((MacroizedWidgetProperty<String>) label.propText()).getSpecification(), equalTo("Label for $(X)"));
+        assertThat(label.getParent().get(), sameInstance(group));
+
+        final TabsWidget tabs = (TabsWidget) second.getChildren().get(1);
+        assertThat(tabs.propTabs().size(), equalTo(2));
+        final Widget tab_label = tabs.propTabs().getElement(1).children().getValue().get(0);
+        assertThat(tab_label.getParent().get(), sameInstance(tabs));
+
+        // Changing one copy does not affect the other
+        first.propMacros().getValue().add("X", "Changed");
+        ((PolylineWidget) first.getChildren().get(2)).propPoints().getValue().set(0, 10, 20);
+        assertThat(second.propMacros().getValue().getValue("X"), equalTo("Value of X"));
+        assertThat(((PolylineWidget) second.getChildren().get(2)).propPoints().getValue().getX(0), equalTo(1.0));
+    }
+
+    @Test
+    public void testMacrosOfCopy() throws Exception
+    {
+        final DisplayModel template = ModelLoader.loadModel(createDisplay("macros").getPath());
+        final GroupWidget group = (GroupWidget) template.getChildren().get(0);
+        final LabelWidget label = (LabelWidget) group.runtimeChildren().getValue().get(0);
+        // Evaluate the label text of the template
+        assertThat(label.propText().getValue(), equalTo("Label for Value of X"));
+
+        // Copy evaluates the text with its own macros
+        final DisplayModel copy = template.createCopy();
+        copy.propMacros().getValue().add("X", "Other");
+        final GroupWidget copy_group = (GroupWidget) copy.getChildren().get(0);
+        final LabelWidget copy_label = (LabelWidget) copy_group.runtimeChildren().getValue().get(0);
+        assertThat(copy_label.propText().getValue(), equalTo("Label for Other"));
+        assertThat(label.propText().getValue(), equalTo("Label for Value of X"));
+    }
+
+    @Test
+    public void testUpdates() throws Exception
+    {
+        final File file = createDisplay("updates");
+        final DisplayModelCache cache = new DisplayModelCache(1);
+
+        cache.getModel(file.getPath());
+        cache.getModel(file.getPath());
+        assertThat(cache.getMisses(), equalTo(1L));
+
+        // Modified file is loaded again
+        file.setLastModified(file.lastModified() - 10000);
+        cache.getModel(file.getPath());
+        assertThat(cache.getMisses(), equalTo(2L));
+
+        // Cache is limited to one file
+        final File other = createDisplay("other");
+        cache.getModel(other.getPath());
+        assertThat(cache.size(), equalTo(1));
+        cache.getModel(file.getPath());
+        assertThat(cache.getMisses(), equalTo(4L));
+        assertThat(cache.getHits(), equalTo(1L));
+    }
+
+    @Test
+    public void testPrefetch() throws Exception
+    {
+        final File file = createDisplay("prefetch");
+        final DisplayModelCache cache = new DisplayModelCache(5);
+
+        // Prefetch relative to a 'parent' display in the same directory
+        final File parent = new File(file.getParentFile(), "parent.bob");
+        cache.prefetch(parent.getPath(), file.getName());
+        for (int i=0; i<50  &&  cache.size() < 1; ++i)
+            TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getMisses(), equalTo(1L));
+
+        // Opening the display then uses the prefetched model
+        final DisplayModel model = cache.getModel(file.getPath());
+        assertThat(cache.getHits(), equalTo(1L));
+        assertThat(model.getChildren().size(), equalTo(3));
+
+        // Errors are ignored
+        cache.prefetch(null, "/nonexisting/file.bob");
+    }
+}
@@ -260,4 +260,60 @@ public class PersistenceUnitTest
         readback = ModelReader.parseXML(xml);
         assertThat(readback.getChildren().get(0).getProperty("font").isUsingWidgetClass(), equalTo(true));
     }
+
+    /** Streaming reader must result in the same model as the DOM
+     *  @throws Exception on error
+     */
+    @Test
+    public void testStreamingReader() throws Exception
+    {
+        final DisplayModel model = new DisplayModel();
+        model.getProperty("width").setValueFromObject(400);
+        final GroupWidget group = new GroupWidget();
+        group.setPropertyValue(propName, "Outer");
+        final GroupWidget inner = new GroupWidget();
+        inner.setPropertyValue(propName, "Inner");
+        final LabelWidget label = new LabelWidget();
+        label.propText().setValue("Text with <, & and \"");
+        inner.runtimeChildren().addChild(label);
+        group.runtimeChildren().addChild(inner);
+        group.runtimeChildren().addChild(new LabelWidget());
+        model.runtimeChildren().addChild(group);
+        model.runtimeChildren().addChild(new Widget("base"));
+        final String xml = toXML(model);
+
+        final DisplayModel streamed = new ModelReader(new ByteArrayInputStream(xml.getBytes()), true).readModel();
+        final DisplayModel dom = new ModelReader(new ByteArrayInputStream(xml.getBytes()), false).readModel();
+        assertThat(toXML(streamed), equalTo(toXML(dom)));
+        assertThat(toXML(streamed), equalTo(xml));
+
+        final GroupWidget outer = (GroupWidget) streamed.getChildren().get(0);
+        final Widget readback = ((GroupWidget) outer.runtimeChildren().getValue().get(0)).runtimeChildren().getValue().get(0);
+        assertThat(((LabelWidget) readback).propText().getValue(), equalTo("Text with <, & and \""));
+    }
+
+    @Test
+    public void testParallelReader() throws Exception
+    {
+        // Enough groups and widgets to configure them in parallel
+        final DisplayModel model = new DisplayModel();
+        for (int g=0; g<20; ++g)
+        {
+            final GroupWidget group = new GroupWidget();
+            group.setPropertyValue(propName, "Group " + g);
+            for (int i=0; i<50; ++i)
+            {
+                final LabelWidget label = new LabelWidget();
+                label.propText().setValue("Label " + g + "." + i);
+                group.runtimeChildren().addChild(label);
+            }
+            model.runtimeChildren().addChild(group);
+        }
+        final String xml = toXML(model);
+
+        final DisplayModel parallel = new ModelReader(new ByteArrayInputStream(xml.getBytes()), true, true).readModel();
+        final DisplayModel sequential = new ModelReader(new ByteArrayInputStream(xml.getBytes()), true, false).readModel();
+        assertThat(toXML(parallel), equalTo(xml));
+        assertThat(toXML(sequential), equalTo(xml));
+    }
 }
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/** JUnit test of the {@link URLContentCache}
+ *
+ *  <p>Uses an in-process web server.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings({ "nls", "restriction" })
+public class URLContentCacheUnitTest
+{
+    private HttpServer server;
+    private File directory;
+    private volatile String content = "Version 1";
+    private volatile String etag = "\"v1\"";
+    private volatile boolean server_error = false;
+    private final AtomicInteger full_responses = new AtomicInteger(), not_modified = new AtomicInteger();
+
+    @Before
+    public void startServer() throws Exception
+    {
+        directory = Files.createTempDirectory("url_cache").toFile();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException
+    {
+        if (server_error)
+        {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        final String tag = etag;
+        if (tag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+        {
+            not_modified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        full_responses.incrementAndGet();
+        final byte[] data = (exchange.getRequestURI().getPath() + ": " + content).getBytes();
+        exchange.getResponseHeaders().add("ETag", tag);
+        exchange.sendResponseHeaders(200, data.length);
+        try
+        (
+            final OutputStream out = exchange.getResponseBody();
+        )
+        {
+            out.write(data);
+        }
+    }
+
+    @After
+    public void stopServer()
+    {
+        server.stop(0);
+        for (File file : directory.listFiles())
+            file.delete();
+        directory.delete();
+    }
+
+    private String getURL(final String path)
+    {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    public void testRevalidation() throws Exception
+    {
+        final URLContentCache cache = new URLContentCache(directory, 1000000, url -> new URL(url).openConnection());
+
+        // First read fetches the content
+        assertThat(new String(cache.read(getURL("/display.bob"))), equalTo("/display.bob: Version 1"));
+        assertThat(full_responses.get(), equalTo(1));
+
+        // Second read only checks that it's unchanged
+        assertThat(new String(cache.read(getURL("/display.bob"))), equalTo("/display.bob: Version 1"));
+        assertThat(full_responses.get(), equalTo(1));
+        assertThat(not_modified.get(), equalTo(1));
+
+        // Cache in another instance, for example after restart, uses the same files
+        final URLContentCache other = new URLContentCache(directory, 1000000, url -> new URL(url).openConnection());
+        assertThat(new String(other.read(getURL("/display.bob"))), equalTo("/display.bob: Version 1"));
+        assertThat(full_responses.get(), equalTo(1));
+
+        // Changed content is fetched again
+        content = "Version 2";
+        etag = "\"v2\"";
+        assertThat(new String(cache.read(getURL("/display.bob"))), equalTo("/display.bob: Version 2"));
+        assertThat(full_responses.get(), equalTo(2));
+
+        // On server error, cached content is used
+        server_error = true;
+        assertThat(new String(cache.read(getURL("/display.bob"))), equalTo("/display.bob: Version 2"));
+        server_error = false;
+
+        // Without web server, cached content is used
+        server.stop(0);
+        assertThat(new String(cache.read(getURL("/display.bob"))), equalTo("/display.bob: Version 2"));
+    }
+
+    @Test
+    public void testSizeLimit() throws Exception
+    {
+        // Room for about two entries
+        final URLContentCache cache = new URLContentCache(directory, 150, url -> new URL(url).openConnection());
+        cache.read(getURL("/a.png"));
+        Thread.sleep(1000);
+        cache.read(getURL("/b.png"));
+        Thread.sleep(1000);
+        cache.read(getURL("/c.png"));
+        assertThat(directory.list().length, equalTo(2));
+        assertThat(full_responses.get(), equalTo(3));
+
+        // Oldest entry was removed, newer ones remain
+        cache.read(getURL("/c.png"));
+        cache.read(getURL("/b.png"));
+        assertThat(full_responses.get(), equalTo(3));
+        cache.read(getURL("/a.png"));
+        assertThat(full_responses.get(), equalTo(4));
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Arrays;
+
+import org.csstudio.display.builder.model.properties.FormatOption;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.Display;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** JUnit test of {@link ValueFormatter}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ValueFormatterTest
+{
+    final NumberFormat fmt = DecimalFormat.getNumberInstance();
+    final Display display = ValueFactory.newDisplay(-10.0, -9.0, -8.0, "V", fmt, 8.0, 9.0, 10.0, -10.0, 10.0);
+
+    @Test
+    public void testSameAsHandler() throws Exception
+    {
+        final Alarm alarm = ValueFactory.alarmNone();
+        final VType[] values = new VType[]
+        {
+            ValueFactory.newVDouble(3.16, display),
+            ValueFactory.newVDouble(-0.00001234, display),
+            ValueFactory.newVDouble(123456.789, display),
+            ValueFactory.newVDouble(Double.NaN, display),
+            ValueFactory.newVInt(42, alarm, ValueFactory.timeNow(), display),
+            ValueFactory.newVString("Text", alarm, ValueFactory.timeNow()),
+            ValueFactory.newVEnum(1, Arrays.asList("Off", "On"), alarm, ValueFactory.timeNow()),
+            ValueFactory.newVDoubleArray(new ArrayDouble(1.0, 2.0), display)
+        };
+        for (FormatOption option : FormatOption.values())
+            for (int precision : new int[] { -1, 0, 3 })
+                for (boolean units : new boolean[] { false, true })
+                {
+                    final ValueFormatter formatter = new ValueFormatter(option, precision, units);
+                    // Repeat to check that re-used formats and buffer give the same result
+                    for (int repeat=0; repeat<2; ++repeat)
+                        for (VType value : values)
+                        {
+                            final String expected = FormatOptionHandler.format(value, option, precision, units);
+                            assertThat(option + " " + precision + " " + units + " " + value,
+                                       formatter.format(value), equalTo(expected));
+                        }
+                }
+    }
+
+    @Test
+    public void testReuse() throws Exception
+    {
+        final ValueFormatter formatter = ValueFormatter.get(null, FormatOption.DECIMAL, 2, true);
+        assertThat(ValueFormatter.get(formatter, FormatOption.DECIMAL, 2, true), sameInstance(formatter));
+        assertThat(ValueFormatter.get(formatter, FormatOption.DECIMAL, 3, true) == formatter, equalTo(false));
+        assertThat(formatter.format(ValueFactory.newVDouble(3.16, display)), equalTo("3.16 V"));
+    }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.widgets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.util.array.ArrayInt;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** JUnit test of Table widget data conversion
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class TableWidgetTest
+{
+    @Test
+    public void testColumnText()
+    {
+        assertThat(TableWidget.getColumnText(Arrays.asList("a", "b"), 2).toString(), equalTo("[a, b]"));
+        assertThat(TableWidget.getColumnText(new ArrayDouble(1.5, 2.0), 2).toString(), equalTo("[1.5, 2.0]"));
+        assertThat(TableWidget.getColumnText(new ArrayInt(1, 2), 2).toString(), equalTo("[1, 2]"));
+        // Only the requested number of rows
+        assertThat(TableWidget.getColumnText(new ArrayInt(1, 2, 3), 2).toString(), equalTo("[1, 2]"));
+        // Other data is repeated for each row
+        assertThat(TableWidget.getColumnText("x", 3).toString(), equalTo("[x, x, x]"));
+    }
+
+    @Test
+    public void testTableValue()
+    {
+        final TableWidget table = new TableWidget();
+        table.runtimeValue().setValue(ValueFactory.newVTable(
+                Arrays.<Class<?>>asList(String.class, double.class, int.class),
+                Arrays.asList("Name", "Value", "Count"),
+                Arrays.<Object>asList(Arrays.asList("a", "b"),
+                                      new ArrayDouble(1.5, 2.5),
+                                      new ArrayInt(1, 2))));
+        final List<List<String>> rows = table.getValue();
+        assertThat(rows.toString(), equalTo("[[a, 1.5, 1], [b, 2.5, 2]]"));
+    }
+}
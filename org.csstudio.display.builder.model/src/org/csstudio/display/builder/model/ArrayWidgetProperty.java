@@ -227,6 +227,19 @@ public class ArrayWidgetProperty<WPE extends WidgetProperty<?>> extends WidgetPr
         }
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        final List<?> other_elements = ((ArrayWidgetProperty<?>) other).value;
+        final ElementFactory<WPE> factory = ((Descriptor<WPE>)descriptor).factory;
+        while (value.size() > other_elements.size())
+            value.remove(value.size()-1);
+        while (value.size() < other_elements.size())
+            value.add(factory.newElement(widget, value.size()));
+        for (int i=0; i<value.size(); ++i)
+            value.get(i).copyFrom((WidgetProperty<?>) other_elements.get(i));
+    }
+
     @Override
     public void writeToXML(final ModelWriter model_writer, final XMLStreamWriter writer) throws Exception
     {   // Must always write each array element, even default,
@@ -229,6 +229,13 @@ public class ChildrenProperty extends RuntimeWidgetProperty<List<Widget>>
         return index;
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        for (Widget child : ((ChildrenProperty) other).value)
+            addChild(child.createCopy());
+    }
+
     @Override
     public void writeToXML(final ModelWriter model_writer, final XMLStreamWriter writer) throws Exception
     {
@@ -162,6 +162,29 @@ public class DisplayModel extends Widget
         return embedder == null;
     }
 
+    /** {@inheritDoc}
+     *
+     *  <p>The copy keeps the input file and version information.
+     */
+    @Override
+    public DisplayModel createCopy() throws Exception
+    {
+        final DisplayModel copy = (DisplayModel) super.createCopy();
+        for (String key : new String[] { USER_DATA_INPUT_FILE, USER_DATA_INPUT_VERSION })
+        {
+            final Object data = getUserData(key);
+            if (data != null)
+                copy.setUserData(key, data);
+        }
+        return copy;
+    }
+
+    @Override
+    protected Widget createInstance() throws Exception
+    {
+        return new DisplayModel();
+    }
+
     @Override
     protected void defineProperties(final List<WidgetProperty<?>> properties)
     {
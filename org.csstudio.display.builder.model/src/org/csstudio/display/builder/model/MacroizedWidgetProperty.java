@@ -126,6 +126,17 @@ abstract public class MacroizedWidgetProperty<T> extends WidgetProperty<T>
         return String.valueOf(value);
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        // Copy only the specification.
+        // The value is evaluated on demand with the macros of the copy,
+        // which may differ from those of the original.
+        specification = ((MacroizedWidgetProperty<?>) other).specification;
+        use_class = other.use_class;
+        value = null;
+    }
+
     /** Macro-based properties implement this to parse
      *  a specification text where all macros have been
      *  evaluated into the typed value.
@@ -19,8 +19,11 @@ public class Messages extends NLS
     public static String Actions_Zero;
     public static String Actions_N_Fmt;
     public static String ActiveTab;
+    public static String ArrayWidget_ArrayLength;
     public static String ArrayWidget_Description;
+    public static String ArrayWidget_FirstIndex;
     public static String ArrayWidget_Name;
+    public static String ArrayWidget_Virtualized;
     public static String ArrowLength;
     public static String Arrows;
     public static String Arrows_None;
@@ -43,6 +46,7 @@ public class Messages extends NLS
     public static String Confirm_PUSH;
     public static String Confirm_RELEASE;
     public static String EmbeddedDisplayWidget_GroupName;
+    public static String EmbeddedDisplayWidget_LazyLoad;
     public static String FontStyle_Bold;
     public static String FontStyle_BoldItalic;
     public static String FontStyle_Italic;
@@ -71,6 +75,7 @@ public class Messages extends NLS
     public static String LineStyle_DashDotDot;
     public static String LineStyle_Dot;
     public static String Middle;
+    public static String NavigationTabsWidget_Prefetch;
     public static String PlotWidget_AutoScale;
     public static String PlotWidget_Color;
     public static String PlotWidget_ErrorPV;
@@ -118,9 +123,13 @@ public class Messages extends NLS
     public static String Style_Line;
     public static String Style_None;
     public static String Style_Title;
+    public static String SymbolWidget_PreloadFrames;
     public static String Tab_Height;
     public static String Tab_Item;
     public static String TabsWidget_Description;
+    public static String TabsWidget_DisposeDelay;
+    public static String TabsWidget_LazyRuntime;
+    public static String TabsWidget_LazyTabs;
     public static String TabsWidget_Name;
     public static String TabsWidget_TabNameFmt;
     public static String Target_Replace;
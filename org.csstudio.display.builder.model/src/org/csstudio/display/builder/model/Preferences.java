@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.csstudio.display.builder.model;
 
+import java.io.File;
+
 import org.csstudio.display.builder.model.macros.MacroXMLUtil;
 import org.csstudio.display.builder.model.macros.Macros;
 import org.eclipse.core.runtime.Platform;
@@ -22,13 +24,18 @@ public class Preferences
     public static final String CACHE_TIMEOUT = "cache_timeout";
     public static final String CLASS_FILES = "class_files";
     public static final String COLOR_FILES = "color_files";
+    public static final String COMPILED_MODEL_DIRECTORY = "compiled_model_directory";
     public static final String FONT_FILES = "font_files";
     public static final String READ_TIMEOUT = "read_timeout";
     public static final String LEGACY_FONT_CALIBRATION = "legacy_font_calibration";
     public static final String MACROS = "macros";
     public static final String MAX_REPARSE_ITERATIONS = "max_reparse_iterations";
+    public static final String MODEL_CACHE_SIZE = "model_cache_size";
+    public static final String PARALLEL_PARSING = "parallel_parsing";
     public static final String SUPPORT_STANDALONE_WINDOW = "support_standalone_window";
     public static final String SKIP_DEFAULTS = "skip_defaults";
+    public static final String URL_CACHE_DIRECTORY = "url_cache_directory";
+    public static final String URL_CACHE_SIZE = "url_cache_size";
 
     public static String[] getClassFiles()
     {
@@ -44,6 +51,12 @@ public class Preferences
                             .split(" *; *");
     }
 
+    /** @return Directory for compiled display files, empty to disable */
+    public static String getCompiledModelDirectory()
+    {
+        return getPreference(COMPILED_MODEL_DIRECTORY, "");
+    }
+
     public static String[] getFontFiles()
     {
         return getPreference(FONT_FILES,
@@ -111,6 +124,22 @@ public class Preferences
         return max_reparse;
     }
 
+    /** @return Number of display models to keep in cache */
+    public static int getModelCacheSize()
+    {
+        int size = 50;
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            size = prefs.getInt(ModelPlugin.ID, MODEL_CACHE_SIZE, size, null);
+        return size;
+    }
+
+    /** @return Configure widgets of large displays in parallel? */
+    public static boolean isParallelParsing()
+    {
+        return Boolean.parseBoolean(getPreference(PARALLEL_PARSING, "false"));
+    }
+
     /** @return Do support standalone window option? */
     public static boolean isStandaloneWindowSupported()
     {
@@ -123,6 +152,23 @@ public class Preferences
         return Boolean.parseBoolean(getPreference(SKIP_DEFAULTS, "true"));
     }
 
+    /** @return Directory for caching content read from a URL, empty to disable */
+    public static String getURLCacheDirectory()
+    {
+        return getPreference(URL_CACHE_DIRECTORY,
+                             new File(System.getProperty("user.home"), ".display_builder/url_cache").getPath());
+    }
+
+    /** @return Maximum size of URL cache [MB] */
+    public static int getURLCacheSize()
+    {
+        int size = 100;
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            size = prefs.getInt(ModelPlugin.ID, URL_CACHE_SIZE, size, null);
+        return size;
+    }
+
     /** @param key Preference key
      *  @param default_value Default value
      *  @return Preference text or default value
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Compact, unmodifiable set of a widget's properties
+ *
+ *  <p>Properties are kept in an array.
+ *  The lookup from property name to array index
+ *  is shared by all widgets of the same class,
+ *  so each widget only holds the array.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+final class PropertySet extends AbstractSet<WidgetProperty<?>>
+{
+    /** Property names and their index, shared by widgets with the same properties */
+    static class Layout
+    {
+        final String[] names;
+        final Map<String, Integer> index;
+
+        Layout(final WidgetProperty<?>[] properties)
+        {
+            names = new String[properties.length];
+            index = new HashMap<>(properties.length * 4 / 3 + 1);
+            for (int i=0; i<properties.length; ++i)
+            {
+                names[i] = properties[i].getName();
+                index.put(names[i], i);
+            }
+        }
+
+        boolean matches(final WidgetProperty<?>[] properties)
+        {
+            if (names.length != properties.length)
+                return false;
+            for (int i=0; i<names.length; ++i)
+                if (! names[i].equals(properties[i].getName()))
+                    return false;
+            return true;
+        }
+    }
+
+    /** Most recent layout for each widget class */
+    private static final Map<Class<?>, Layout> layouts = new ConcurrentHashMap<>();
+
+    private final WidgetProperty<?>[] properties;
+    private final Layout layout;
+
+    /** @param widget_class Class of widget that holds the properties
+     *  @param sorted Properties in their final order
+     */
+    PropertySet(final Class<?> widget_class, final List<WidgetProperty<?>> sorted)
+    {
+        properties = sorted.toArray(new WidgetProperty<?>[sorted.size()]);
+        // Widgets of the same class almost always have the same properties,
+        // but constructor parameters may change that
+        final Layout shared = layouts.get(widget_class);
+        if (shared != null  &&  shared.matches(properties))
+            layout = shared;
+        else
+        {
+            layout = new Layout(properties);
+            layouts.put(widget_class, layout);
+        }
+        if (layout.index.size() != properties.length)
+            throw new IllegalStateException("Duplicate property names in " + Arrays.toString(layout.names));
+    }
+
+    /** @return Layout, identical for widgets with the same properties */
+    Layout getLayout()
+    {
+        return layout;
+    }
+
+    /** @param index Index of property
+     *  @return Property
+     */
+    WidgetProperty<?> getProperty(final int index)
+    {
+        return properties[index];
+    }
+
+    /** @param name Property name
+     *  @return Property or <code>null</code>
+     */
+    WidgetProperty<?> get(final Object name)
+    {
+        final Integer i = layout.index.get(name);
+        return i == null ? null : properties[i];
+    }
+
+    @Override
+    public int size()
+    {
+        return properties.length;
+    }
+
+    @Override
+    public boolean contains(final Object o)
+    {
+        return o instanceof WidgetProperty  &&  get(((WidgetProperty<?>) o).getName()) == o;
+    }
+
+    @Override
+    public Iterator<WidgetProperty<?>> iterator()
+    {
+        return new Iterator<WidgetProperty<?>>()
+        {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return i < properties.length;
+            }
+
+            @Override
+            public WidgetProperty<?> next()
+            {
+                if (i >= properties.length)
+                    throw new NoSuchElementException();
+                return properties[i++];
+            }
+        };
+    }
+
+    /** @return Unmodifiable map of property names to properties */
+    Map<String, WidgetProperty<?>> asMap()
+    {
+        return new AbstractMap<String, WidgetProperty<?>>()
+        {
+            @Override
+            public WidgetProperty<?> get(final Object name)
+            {
+                return PropertySet.this.get(name);
+            }
+
+            @Override
+            public boolean containsKey(final Object name)
+            {
+                return layout.index.containsKey(name);
+            }
+
+            @Override
+            public int size()
+            {
+                return properties.length;
+            }
+
+            @Override
+            public Set<Entry<String, WidgetProperty<?>>> entrySet()
+            {
+                return new AbstractSet<Entry<String, WidgetProperty<?>>>()
+                {
+                    @Override
+                    public int size()
+                    {
+                        return properties.length;
+                    }
+
+                    @Override
+                    public Iterator<Entry<String, WidgetProperty<?>>> iterator()
+                    {
+                        final Iterator<WidgetProperty<?>> props = PropertySet.this.iterator();
+                        return new Iterator<Entry<String, WidgetProperty<?>>>()
+                        {
+                            @Override
+                            public boolean hasNext()
+                            {
+                                return props.hasNext();
+                            }
+
+                            @Override
+                            public Entry<String, WidgetProperty<?>> next()
+                            {
+                                final WidgetProperty<?> prop = props.next();
+                                return new SimpleImmutableEntry<>(prop.getName(), prop);
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+}
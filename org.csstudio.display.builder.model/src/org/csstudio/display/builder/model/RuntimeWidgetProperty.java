@@ -35,6 +35,12 @@ abstract public class RuntimeWidgetProperty<T> extends WidgetProperty<T>
             throw new IllegalArgumentException("Must be a runtime property");
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        // Runtime properties are not copied
+    }
+
     @Override
     public void writeToXML(final ModelWriter model_writer, final XMLStreamWriter writer) throws Exception
     {
@@ -161,6 +161,14 @@ public class StructuredWidgetProperty extends WidgetProperty<List<WidgetProperty
             throw new Exception("Elements of structure " + getName() + " cannot be assigned from " + new_value);
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        final List<WidgetProperty<?>> other_elements = ((StructuredWidgetProperty) other).value;
+        for (int i=0; i<value.size(); ++i)
+            value.get(i).copyFrom(other_elements.get(i));
+    }
+
     @Override
     public void writeToXML(final ModelWriter model_writer, final XMLStreamWriter writer) throws Exception
     {
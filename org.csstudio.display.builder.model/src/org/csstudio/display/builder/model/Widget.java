@@ -22,14 +22,11 @@ import static org.csstudio.display.builder.model.properties.CommonWidgetProperti
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.csstudio.display.builder.model.macros.MacroOrPropertyProvider;
 import org.csstudio.display.builder.model.macros.MacroValueProvider;
@@ -194,22 +191,16 @@ public class Widget
 
         // Sort by category, then order of definition.
         // Prelim_properties has the original order of definition,
-        // which we want to preserve as a secondary sorting criteria
+        // which the stable sort preserves as a secondary sorting criteria
         // after property category.
-        final List<WidgetProperty<?>> sorted = new ArrayList<>(prelim_properties.size());
-        sorted.addAll(prelim_properties);
-
-        final Comparator<WidgetProperty<?>> byCategory =
-                Comparator.comparing(WidgetProperty::getCategory);
-        final Comparator<WidgetProperty<?>> byOrder =
-                Comparator.comparingInt(p -> prelim_properties.indexOf(p));
-        Collections.sort(sorted, byCategory.thenComparing(byOrder));
-        // Capture as constant sorted set
-        properties = Collections.unmodifiableSet(new LinkedHashSet<>(sorted));
+        prelim_properties.sort(Comparator.comparing(WidgetProperty::getCategory));
+        // Capture as constant sorted set.
+        // Compact array-based set since large displays have many widgets
+        final PropertySet property_set = new PropertySet(getClass(), prelim_properties);
+        properties = property_set;
 
         // Map for faster lookup by property name
-        property_map = properties.stream().collect(
-                Collectors.toMap(WidgetProperty::getName, Function.identity()));
+        property_map = property_set.asMap();
     }
 
     /** Unique runtime identifier of a widget
@@ -418,6 +409,40 @@ public class Widget
         return new WidgetConfigurator(persisted_version);
     }
 
+    /** Create a copy of this widget
+     *
+     *  <p>Creates a widget of the same type and copies
+     *  all property values, including child widgets,
+     *  without reading them from XML.
+     *  Runtime properties and user data are not copied,
+     *  and the copy has no parent.
+     *
+     *  @return Copy of this widget
+     *  @throws Exception on error
+     */
+    public Widget createCopy() throws Exception
+    {
+        final Widget copy = createInstance();
+        for (WidgetProperty<?> property : properties)
+            copy.property_map.get(property.getName()).copyFrom(property);
+        return copy;
+    }
+
+    /** @return New instance of this widget's class, using default values
+     *  @throws Exception on error
+     */
+    protected Widget createInstance() throws Exception
+    {
+        // Type may have alternate implementations, pick the one used by this widget
+        for (WidgetDescriptor desc : WidgetFactory.getInstance().getAllWidgetDescriptors(getType()))
+        {
+            final Widget widget = desc.createWidget();
+            if (widget.getClass() == getClass())
+                return widget;
+        }
+        throw new Exception("Cannot create copy of " + this);
+    }
+
     /** Get all properties of the widget.
      *
      *  <p>Properties are ordered by category and sequence of definition.
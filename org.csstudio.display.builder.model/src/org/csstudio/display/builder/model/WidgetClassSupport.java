@@ -16,6 +16,7 @@ import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.persist.ModelReader;
@@ -120,6 +121,45 @@ public class WidgetClassSupport
         }
     }
 
+    /** Class settings for one widget type and class,
+     *  compiled for the properties of a widget implementation
+     */
+    private static class ClassApplier
+    {
+        /** Layout of the widget properties */
+        final PropertySet.Layout layout;
+
+        /** Class value for each property, <code>null</code> if property does not use the class */
+        final PropertyValue[] values;
+
+        ClassApplier(final Map<String, PropertyValue> class_settings, final PropertySet properties)
+        {
+            layout = properties.getLayout();
+            values = new PropertyValue[properties.size()];
+            for (int i=0; i<values.length; ++i)
+            {
+                final WidgetProperty<?> property = properties.getProperty(i);
+                if (! (property instanceof RuntimeWidgetProperty))
+                    values[i] = class_settings.get(property.getName());
+            }
+        }
+
+        void apply(final PropertySet properties)
+        {
+            for (int i=0; i<values.length; ++i)
+            {
+                final WidgetProperty<?> property = properties.getProperty(i);
+                if (values[i] == null)
+                    property.useWidgetClass(false);
+                else
+                {
+                    property.useWidgetClass(true);
+                    values[i].apply(property);
+                }
+            }
+        }
+    }
+
     /** Map:
      *  widget type to classes-for-type,
      *  class name to properties,
@@ -130,6 +170,11 @@ public class WidgetClassSupport
                       Map<String,
                           Map<String, PropertyValue>>> widget_types = new TreeMap<>();
 
+    /** Compiled class settings: Widget type, class name to applier.
+     *  Created on first use, cleared when classes are registered.
+     */
+    private final Map<String, Map<String, ClassApplier>> appliers = new ConcurrentHashMap<>();
+
     /** Default model */
     public WidgetClassSupport()
     {
@@ -187,6 +232,7 @@ public class WidgetClassSupport
         // Empty -> Not meant to define a class
         if (widget_class.isEmpty())
             return;
+        appliers.clear();
         final Map<String, Map<String, PropertyValue>> widget_classes = widget_types.computeIfAbsent(type, t -> new TreeMap<>(classname_sort));
 
         // New class for this widget?
@@ -249,9 +295,12 @@ public class WidgetClassSupport
      */
     public void apply(final Widget widget)
     {
-        final Map<String, PropertyValue> class_settings = getClassSettings(widget);
-        for (WidgetProperty<?> prop : widget.getProperties())
-            apply(class_settings, prop);
+        final ClassApplier applier = getApplier(widget);
+        if (applier == null)
+            for (WidgetProperty<?> prop : widget.getProperties())
+                prop.useWidgetClass(false);
+        else
+            applier.apply((PropertySet) widget.properties);
         // Apply to child widgets
         final ChildrenProperty children = ChildrenProperty.getChildren(widget);
         if (children != null)
@@ -259,6 +308,31 @@ public class WidgetClassSupport
                 apply(child);
     }
 
+    /** Get compiled class settings
+     *
+     *  @param widget Widget for which to get the class info
+     *  @return {@link ClassApplier} for that widget type and class, or <code>null</code>
+     */
+    private ClassApplier getApplier(final Widget widget)
+    {
+        final Map<String, ClassApplier> classes = appliers.get(widget.getType());
+        final ClassApplier applier = classes == null ? null : classes.get(widget.getWidgetClass());
+        final PropertySet properties = (PropertySet) widget.properties;
+        if (applier != null  &&  applier.layout == properties.getLayout())
+            return applier;
+
+        // Compile class settings for this widget's properties.
+        // Widget types with alternate implementations
+        // replace the applier of the other implementation.
+        final Map<String, PropertyValue> class_settings = getClassSettings(widget);
+        if (class_settings == null)
+            return null;
+        final ClassApplier compiled = new ClassApplier(class_settings, properties);
+        appliers.computeIfAbsent(widget.getType(), type -> new ConcurrentHashMap<>())
+                .put(widget.getWidgetClass(), compiled);
+        return compiled;
+    }
+
     /** Apply class-based property values to a property
      *
      *  @param class_settings Settings for a property
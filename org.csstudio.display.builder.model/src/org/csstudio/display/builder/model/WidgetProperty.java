@@ -316,6 +316,25 @@ public abstract class WidgetProperty<T extends Object> extends PropertyChangeHan
      */
     abstract public void readFromXML(final ModelReader model_reader, final Element property_xml) throws Exception;
 
+    /** Copy value from another property
+     *
+     *  <p>Used by {@link Widget#createCopy()} to duplicate
+     *  a widget without reading it from XML.
+     *  Listeners are not notified.
+     *
+     *  <p>Plain values are shared with the other property,
+     *  so derived classes with mutable values need to copy them.
+     *
+     *  @param other Same property of another widget
+     *  @throws Exception on error
+     */
+    @SuppressWarnings("unchecked")
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        use_class = other.use_class;
+        value = (T) other.value;
+    }
+
     /** Notify listeners of property change.
      *
      *  <p>New value usually matches <code>property.getValue()</code>,
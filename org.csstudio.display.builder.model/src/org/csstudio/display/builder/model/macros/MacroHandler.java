@@ -27,7 +27,7 @@ public class MacroHandler
     // XXX Replace pattern with code.
     // This pattern is too complicated,
     // and it doesn't allow braces inside the default value.
-    private static final Pattern spec = Pattern
+    static final Pattern spec = Pattern
             .compile("(?<!\\\\)\\$\\((" + Macros.MACRO_NAME_PATTERN + ")((\\s*=\\s*)[^)]*)?\\)" +
                      "|" +
                      "(?<!\\\\)\\$\\{(" + Macros.MACRO_NAME_PATTERN + ")((\\s*=\\s*)[^}]*)?\\}");
@@ -51,6 +51,15 @@ public class MacroHandler
      */
     public static String replace(final MacroValueProvider macros, final String input) throws Exception
     {
+        // Short cut if there is nothing to replace
+        if (input.indexOf('$') < 0)
+            return input;
+
+        // Common case of macros that are simply replaced by their values
+        final String expanded = MacroTemplate.get(input).expand(macros);
+        if (expanded != null)
+            return expanded;
+
         // Replace macros, then un-escape escaped dollar signs
         final String replaced = replace(0, macros, input, 0);
         return replaced.replace("\\$", "$");
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.macros;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Compiled form of a text with macros
+ *
+ *  <p>The text is parsed once into literal sections and macro references,
+ *  which can then be expanded in one pass.
+ *
+ *  <p>Only handles the common case where each macro is simply
+ *  replaced by its value.
+ *  When a value might lead to nested or new macros,
+ *  or the text itself has nested macros like "$($(INNER))",
+ *  the caller needs to fall back to {@link MacroHandler}'s
+ *  step-by-step replacement.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class MacroTemplate
+{
+    /** Number of templates to keep before cache is cleared */
+    private static final int MAX_CACHE_SIZE = 10000;
+
+    /** Templates by text */
+    private static final ConcurrentHashMap<String, MacroTemplate> cache = new ConcurrentHashMap<>();
+
+    /** Start of a macro that's not escaped */
+    private static final Pattern MACRO_START = Pattern.compile("(?<!\\\\)\\$[({]");
+
+    /** Literal text, one more than macros, already un-escaped.
+     *  <code>null</code> if template can't handle the text.
+     */
+    private final String[] literals;
+
+    /** Macro names */
+    private final String[] names;
+
+    /** Default values of macros, <code>null</code> for macros without default */
+    private final String[] defaults;
+
+    /** Get template for text
+     *  @param text Text that may contain macros
+     *  @return {@link MacroTemplate}
+     */
+    static MacroTemplate get(final String text)
+    {
+        MacroTemplate template = cache.get(text);
+        if (template == null)
+        {
+            template = new MacroTemplate(text);
+            if (cache.size() >= MAX_CACHE_SIZE)
+                cache.clear();
+            cache.put(text, template);
+        }
+        return template;
+    }
+
+    /** @param text Text to compile */
+    private MacroTemplate(final String text)
+    {
+        final List<String> literals = new ArrayList<>(), names = new ArrayList<>(), defaults = new ArrayList<>();
+        final Matcher matcher = MacroHandler.spec.matcher(text);
+        int pos = 0;
+        boolean supported = true;
+        while (matcher.find())
+        {
+            final String literal = text.substring(pos, matcher.start());
+            // Literal "$(" remains after a macro inside it was replaced,
+            // so "$($(INNER))" needs to be handled step by step.
+            // Same for "$$(X)" where value of X might start with "(".
+            if (MACRO_START.matcher(literal).find()  ||  literal.endsWith("$"))
+            {
+                supported = false;
+                break;
+            }
+            literals.add(unescape(literal));
+
+            // Was it a $(macro) or ${macro}?
+            final int which = matcher.start(1) >= 0 ? 1 : 4;
+            names.add(matcher.group(which));
+            // Default value between end of "=" group and end of "=y" group
+            defaults.add(matcher.end(which + 1) < 0 ? null : text.substring(matcher.end(which + 2), matcher.end(which + 1)));
+            pos = matcher.end();
+        }
+        final String rest = text.substring(pos);
+        if (MACRO_START.matcher(rest).find())
+            supported = false;
+        literals.add(unescape(rest));
+
+        if (supported)
+        {
+            this.literals = literals.toArray(new String[literals.size()]);
+            this.names = names.toArray(new String[names.size()]);
+            this.defaults = defaults.toArray(new String[defaults.size()]);
+        }
+        else
+            this.literals = this.names = this.defaults = null;
+    }
+
+    private static String unescape(final String literal)
+    {
+        return literal.replace("\\$", "$");
+    }
+
+    /** Expand macros
+     *  @param macros {@link MacroValueProvider}
+     *  @return Text with macros replaced by their values,
+     *          or <code>null</code> if text needs to be handled step by step
+     */
+    String expand(final MacroValueProvider macros)
+    {
+        if (literals == null)
+            return null;
+        final StringBuilder buf = new StringBuilder();
+        buf.append(literals[0]);
+        for (int i=0; i<names.length; ++i)
+        {
+            String value = macros.getValue(names[i]);
+            if (value == null)
+                value = defaults[i];
+            // Unresolved macros as well as values that contain more macros
+            // or that escape what follows need to be handled step by step
+            if (value == null  ||  value.indexOf('$') >= 0  ||  value.endsWith("\\"))
+                return null;
+            buf.append(value);
+            buf.append(literals[i+1]);
+        }
+        return buf.toString();
+    }
+}
@@ -0,0 +1,586 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.csstudio.display.builder.model.ModelPlugin.logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.csstudio.display.builder.model.ArrayWidgetProperty;
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.MacroizedWidgetProperty;
+import org.csstudio.display.builder.model.Preferences;
+import org.csstudio.display.builder.model.StructuredWidgetProperty;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.WidgetDescriptor;
+import org.csstudio.display.builder.model.WidgetFactory;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.WidgetPropertyCategory;
+import org.csstudio.display.builder.model.properties.ColorWidgetProperty;
+import org.csstudio.display.builder.model.properties.FontWidgetProperty;
+import org.csstudio.display.builder.model.properties.NamedWidgetColor;
+import org.csstudio.display.builder.model.properties.NamedWidgetFont;
+import org.csstudio.display.builder.model.properties.WidgetColor;
+import org.csstudio.display.builder.model.properties.WidgetFont;
+import org.csstudio.display.builder.model.properties.WidgetFontStyle;
+import org.osgi.framework.Version;
+import org.w3c.dom.Element;
+
+/** Compiled, binary form of a display model
+ *
+ *  <p>Holds a display model as read from its XML file,
+ *  before widget classes are applied,
+ *  so that it can be re-created without parsing the XML
+ *  and without re-resolving the widget types.
+ *
+ *  <p>File format:
+ *  <pre>
+ *  MAGIC, format version, model version, display file name, modification time of display file
+ *  string table: count, strings
+ *  XML fragments
+ *  display: widget type, widget class, properties, children
+ *  </pre>
+ *  Widget types, property names and most values refer
+ *  to the string table.
+ *  Macro-based properties are stored by their specification,
+ *  colors and fonts by their components,
+ *  structures, arrays and child widgets by their elements.
+ *  Other properties are stored as XML fragments,
+ *  all held in one XML document that is parsed when needed.
+ *
+ *  <p>Compiled files are kept in a local directory configured by the preferences
+ *  and used as long as they match the modification time of the display file.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CompiledModel
+{
+    /** Start of a compiled display file */
+    static final byte[] MAGIC = "BOBC".getBytes(StandardCharsets.US_ASCII);
+
+    /** Version of the binary format */
+    static final int FORMAT_VERSION = 1;
+
+    /** File extension of compiled display files */
+    public static final String FILE_EXTENSION = "bobc";
+
+    // Value tags
+    private static final byte SPECIFICATION = 1,
+                              COLOR = 2,
+                              FONT = 3,
+                              STRUCTURE = 4,
+                              ARRAY = 5,
+                              CHILDREN = 6,
+                              XML = 7;
+
+    private static final int NONE = -1;
+
+    /** Root element of the XML fragments */
+    private static final String FRAGMENTS = "fragments";
+
+    private static final String directory = Preferences.getCompiledModelDirectory();
+
+    /** @return Are compiled files enabled? */
+    public static boolean isEnabled()
+    {
+        return !directory.isEmpty();
+    }
+
+    /** @param display_file Display file
+     *  @return Compiled file for that display
+     */
+    private static File getFile(final String display_file)
+    {
+        final String name = new File(display_file).getName().replaceAll("[^A-Za-z0-9_.-]", "_");
+        return new File(directory, name + "_" + Integer.toHexString(display_file.hashCode()) + "." + FILE_EXTENSION);
+    }
+
+    /** Load compiled model
+     *
+     *  <p>A compiled file that cannot be read, for example because
+     *  widget properties changed since it was written, is deleted.
+     *
+     *  @param display_file Display file
+     *  @param modified Modification time of the display file
+     *  @return {@link DisplayModel}, or <code>null</code> if there is no compiled model that matches the display file
+     */
+    public static DisplayModel load(final String display_file, final long modified)
+    {
+        final File file = getFile(display_file);
+        if (! file.canRead())
+            return null;
+        try
+        (
+            final InputStream stream = new FileInputStream(file);
+        )
+        {
+            final DisplayModel model = read(stream, display_file, modified);
+            if (model != null)
+                logger.log(Level.FINE, "Loaded {0} from {1}", new Object[] { display_file, file });
+            return model;
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot load compiled " + display_file + " from " + file + ", deleting it", ex);
+        }
+        // Stream is closed, so file can be deleted
+        if (! file.delete())
+            logger.log(Level.WARNING, "Cannot delete " + file);
+        return null;
+    }
+
+    /** Save compiled model
+     *
+     *  <p>Errors are logged, since the compiled file is only an optimization.
+     *
+     *  @param model Display model as read from the display file, classes not applied
+     *  @param display_file Display file
+     *  @param modified Modification time of the display file
+     */
+    public static void save(final DisplayModel model, final String display_file, final long modified)
+    {
+        final File file = getFile(display_file);
+        try
+        {
+            file.getParentFile().mkdirs();
+            // Write to temporary file, then move into place
+            // so that readers never see a partial file
+            final File tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            try
+            {
+                try
+                (
+                    final OutputStream stream = new FileOutputStream(tmp);
+                )
+                {
+                    write(model, display_file, modified, stream);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                tmp.delete();
+            }
+            logger.log(Level.FINE, "Compiled {0} into {1}", new Object[] { display_file, file });
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot compile " + display_file + " into " + file, ex);
+        }
+    }
+
+    /** Write compiled model
+     *  @param model Display model
+     *  @param display_file Display file
+     *  @param modified Modification time of the display file
+     *  @param stream Stream to write, will be closed
+     *  @throws Exception on error
+     */
+    public static void write(final DisplayModel model, final String display_file, final long modified,
+                             final OutputStream stream) throws Exception
+    {
+        // Encode display, collecting strings
+        final Writer writer = new Writer();
+        writer.writeWidget(model);
+        final byte[] fragments = writer.getFragments();
+
+        try
+        (
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        )
+        {
+            out.write(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(DisplayModel.VERSION.toString());
+            out.writeUTF(display_file);
+            out.writeLong(modified);
+            final Version version = model.getUserData(DisplayModel.USER_DATA_INPUT_VERSION);
+            out.writeUTF(version == null ? DisplayModel.VERSION.toString() : version.toString());
+
+            out.writeInt(writer.strings.size());
+            for (String text : writer.strings.keySet())
+                writeBytes(out, text.getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, fragments);
+            writer.data.writeTo(out);
+        }
+    }
+
+    /** Read compiled model
+     *  @param stream Stream to read, will be closed
+     *  @param display_file Display file
+     *  @param modified Modification time of the display file
+     *  @return {@link DisplayModel}, or <code>null</code> if compiled model does not match the display file
+     *  @throws Exception on error
+     */
+    public static DisplayModel read(final InputStream stream, final String display_file,
+                                    final long modified) throws Exception
+    {
+        try
+        (
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        )
+        {
+            final byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (! Arrays.equals(magic, MAGIC))
+                throw new Exception("Not a compiled display file");
+            if (in.readInt() != FORMAT_VERSION                         ||
+                ! in.readUTF().equals(DisplayModel.VERSION.toString()) ||
+                ! in.readUTF().equals(display_file)                    ||
+                in.readLong() != modified)
+                return null;
+            final Version version = Version.parseVersion(in.readUTF());
+
+            final String[] strings = new String[in.readInt()];
+            for (int i=0; i<strings.length; ++i)
+                strings[i] = new String(readBytes(in), StandardCharsets.UTF_8);
+            final byte[] fragments = readBytes(in);
+
+            final DisplayModel model = new DisplayModel();
+            model.setUserData(DisplayModel.USER_DATA_INPUT_VERSION, version);
+            new Reader(in, strings, fragments).readWidget(model);
+            return model;
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws Exception
+    {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws Exception
+    {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /** Encodes widgets into 'data', collecting 'strings' */
+    private static class Writer
+    {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(data);
+        final ByteArrayOutputStream fragment_data = new ByteArrayOutputStream();
+        final XMLStreamWriter fragments;
+        int fragment_count = 0;
+
+        Writer() throws Exception
+        {
+            fragments = XMLOutputFactory.newInstance().createXMLStreamWriter(fragment_data, XMLUtil.ENCODING);
+            fragments.writeStartDocument(XMLUtil.ENCODING, "1.0");
+            fragments.writeStartElement(FRAGMENTS);
+        }
+
+        /** @return XML document with all fragments */
+        byte[] getFragments() throws Exception
+        {
+            fragments.writeEndElement();
+            fragments.writeEndDocument();
+            fragments.close();
+            return fragment_data.toByteArray();
+        }
+
+        void writeString(final String text) throws Exception
+        {
+            if (text == null)
+            {
+                out.writeInt(NONE);
+                return;
+            }
+            Integer index = strings.get(text);
+            if (index == null)
+            {
+                index = strings.size();
+                strings.put(text, index);
+            }
+            out.writeInt(index);
+        }
+
+        void writeWidget(final Widget widget) throws Exception
+        {
+            writeString(widget.getType());
+            writeString(widget.getClass().getName());
+
+            final List<WidgetProperty<?>> properties = new ArrayList<>();
+            for (WidgetProperty<?> property : widget.getProperties())
+                if (property.getCategory() != WidgetPropertyCategory.RUNTIME  &&
+                    ! property.isReadonly()  &&  ! property.isDefaultValue())
+                    properties.add(property);
+            writeProperties(properties);
+
+            final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+            writeChildren(children == null ? null : children.getValue());
+        }
+
+        void writeChildren(final List<Widget> children) throws Exception
+        {
+            if (children == null)
+                out.writeInt(0);
+            else
+            {
+                out.writeInt(children.size());
+                for (Widget child : children)
+                    writeWidget(child);
+            }
+        }
+
+        void writeProperties(final List<WidgetProperty<?>> properties) throws Exception
+        {
+            out.writeInt(properties.size());
+            for (WidgetProperty<?> property : properties)
+            {
+                writeString(property.getName());
+                writeValue(property);
+            }
+        }
+
+        void writeValue(final WidgetProperty<?> property) throws Exception
+        {
+            out.writeBoolean(property.isUsingWidgetClass());
+            if (property instanceof MacroizedWidgetProperty)
+            {
+                out.writeByte(SPECIFICATION);
+                writeString(((MacroizedWidgetProperty<?>) property).getSpecification());
+            }
+            else if (property instanceof ColorWidgetProperty)
+            {
+                final WidgetColor color = ((ColorWidgetProperty) property).getValue();
+                out.writeByte(COLOR);
+                writeString(color instanceof NamedWidgetColor ? ((NamedWidgetColor) color).getName() : null);
+                out.writeByte(color.getRed());
+                out.writeByte(color.getGreen());
+                out.writeByte(color.getBlue());
+                out.writeByte(color.getAlpha());
+            }
+            else if (property instanceof FontWidgetProperty)
+            {
+                final WidgetFont font = ((FontWidgetProperty) property).getValue();
+                out.writeByte(FONT);
+                writeString(font instanceof NamedWidgetFont ? ((NamedWidgetFont) font).getName() : null);
+                writeString(font.getFamily());
+                out.writeByte(font.getStyle().ordinal());
+                out.writeDouble(font.getSize());
+            }
+            else if (property instanceof StructuredWidgetProperty)
+            {   // Same elements as written to XML: Skip runtime elements except for 'children'
+                out.writeByte(STRUCTURE);
+                final List<WidgetProperty<?>> elements = new ArrayList<>();
+                for (WidgetProperty<?> element : ((StructuredWidgetProperty) property).getValue())
+                    if ((element.getCategory() != WidgetPropertyCategory.RUNTIME  ||
+                         element instanceof ChildrenProperty)                      &&
+                        ! element.isDefaultValue())
+                        elements.add(element);
+                writeProperties(elements);
+            }
+            else if (property instanceof ArrayWidgetProperty)
+            {   // Each element, even default
+                out.writeByte(ARRAY);
+                final List<? extends WidgetProperty<?>> elements = ((ArrayWidgetProperty<?>) property).getValue();
+                out.writeInt(elements.size());
+                for (WidgetProperty<?> element : elements)
+                    writeValue(element);
+            }
+            else if (property instanceof ChildrenProperty)
+            {
+                out.writeByte(CHILDREN);
+                writeChildren(((ChildrenProperty) property).getValue());
+            }
+            else
+            {
+                fragments.writeStartElement(property.getName());
+                property.writeToXML(null, fragments);
+                fragments.writeEndElement();
+                out.writeByte(XML);
+                out.writeInt(fragment_count++);
+            }
+        }
+    }
+
+    /** Decodes widgets */
+    private static class Reader
+    {
+        final DataInputStream in;
+        final String[] strings;
+        final byte[] fragment_data;
+        /** Descriptor by widget class name */
+        final Map<String, WidgetDescriptor> descriptors = new HashMap<>();
+        /** Parsed XML fragments, created when needed */
+        List<Element> fragments = null;
+        ModelReader model_reader = null;
+
+        Reader(final DataInputStream in, final String[] strings, final byte[] fragment_data)
+        {
+            this.in = in;
+            this.strings = strings;
+            this.fragment_data = fragment_data;
+        }
+
+        String readString() throws Exception
+        {
+            final int index = in.readInt();
+            return index == NONE ? null : strings[index];
+        }
+
+        Widget createWidget(final String type, final String class_name) throws Exception
+        {
+            final WidgetDescriptor known = descriptors.get(class_name);
+            if (known != null)
+                return known.createWidget();
+            // Type may have alternate implementations, pick the one that was compiled
+            for (WidgetDescriptor desc : WidgetFactory.getInstance().getAllWidgetDescriptors(type))
+            {
+                final Widget widget = desc.createWidget();
+                if (widget.getClass().getName().equals(class_name))
+                {
+                    descriptors.put(class_name, desc);
+                    return widget;
+                }
+            }
+            throw new Exception("Cannot create " + class_name + " for widget type " + type);
+        }
+
+        void readWidget(final Widget widget) throws Exception
+        {
+            readString(); // type
+            readString(); // class
+            readProperties(name -> widget.getProperty(name));
+            readChildren(ChildrenProperty.getChildren(widget));
+        }
+
+        void readChildren(final ChildrenProperty children) throws Exception
+        {
+            final int count = in.readInt();
+            for (int i=0; i<count; ++i)
+            {
+                final Widget child = createWidget(readString(), readString());
+                readProperties(name -> child.getProperty(name));
+                readChildren(ChildrenProperty.getChildren(child));
+                children.addChild(child);
+            }
+        }
+
+        @FunctionalInterface
+        private interface PropertyLookup
+        {
+            WidgetProperty<?> get(String name) throws Exception;
+        }
+
+        void readProperties(final PropertyLookup lookup) throws Exception
+        {
+            final int count = in.readInt();
+            for (int i=0; i<count; ++i)
+                readValue(lookup.get(readString()));
+        }
+
+        @SuppressWarnings("unchecked")
+        void readValue(final WidgetProperty<?> property) throws Exception
+        {
+            final boolean use_class = in.readBoolean();
+            final byte tag = in.readByte();
+            switch (tag)
+            {
+            case SPECIFICATION:
+                ((MacroizedWidgetProperty<?>) property).setSpecification(readString());
+                break;
+            case COLOR:
+            {
+                final String name = readString();
+                final int red = in.readUnsignedByte(), green = in.readUnsignedByte(),
+                          blue = in.readUnsignedByte(), alpha = in.readUnsignedByte();
+                // Like reading XML, use current definition of named color
+                ((ColorWidgetProperty) property).setValue(name == null
+                    ? new WidgetColor(red, green, blue, alpha)
+                    : WidgetColorService.getColors().resolve(new NamedWidgetColor(name, red, green, blue, alpha)));
+                break;
+            }
+            case FONT:
+            {
+                final String name = readString(), family = readString();
+                final WidgetFontStyle style = WidgetFontStyle.values()[in.readByte()];
+                final double size = in.readDouble();
+                final WidgetFont font;
+                if (name == null)
+                    font = new WidgetFont(family, style, size);
+                else
+                {
+                    final Optional<NamedWidgetFont> known_font = WidgetFontService.getFonts().getFont(name);
+                    font = known_font.isPresent() ? known_font.get() : new NamedWidgetFont(name, family, style, size);
+                }
+                ((FontWidgetProperty) property).setValue(font);
+                break;
+            }
+            case STRUCTURE:
+            {
+                final StructuredWidgetProperty structure = (StructuredWidgetProperty) property;
+                readProperties(name -> structure.getElement(name));
+                break;
+            }
+            case ARRAY:
+            {
+                final ArrayWidgetProperty<WidgetProperty<?>> array = (ArrayWidgetProperty<WidgetProperty<?>>) property;
+                final int count = in.readInt();
+                while (array.size() > count)
+                    array.removeElement();
+                while (array.size() < count)
+                    array.addElement();
+                for (int i=0; i<count; ++i)
+                    readValue(array.getElement(i));
+                break;
+            }
+            case CHILDREN:
+                readChildren((ChildrenProperty) property);
+                break;
+            case XML:
+            {
+                if (fragments == null)
+                {
+                    final Element root = XMLUtil.openXMLDocument(new ByteArrayInputStream(fragment_data), FRAGMENTS);
+                    fragments = new ArrayList<>();
+                    for (Element fragment : XMLUtil.getChildElements(root))
+                        fragments.add(fragment);
+                    model_reader = new ModelReader(new ByteArrayInputStream(
+                        ("<display version=\"" + DisplayModel.VERSION + "\"/>").getBytes()));
+                }
+                property.readFromXML(model_reader, fragments.get(in.readInt()));
+                break;
+            }
+            default:
+                throw new Exception("Unknown value tag " + tag + " for " + property.getName());
+            }
+            property.useWidgetClass(use_class);
+        }
+    }
+}
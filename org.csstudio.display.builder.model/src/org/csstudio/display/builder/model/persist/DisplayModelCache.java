@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.csstudio.display.builder.model.ModelPlugin.logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Preferences;
+import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.csstudio.display.builder.model.util.NamedDaemonPool;
+
+/** Cache of display models
+ *
+ *  <p>Keeps one 'template' model per display file,
+ *  loaded with classes applied.
+ *  Callers receive a copy of the template,
+ *  which is faster than parsing the file again,
+ *  for example when a display is embedded many times.
+ *
+ *  <p>Entries are keyed by file name and re-loaded when the
+ *  modification time of the file changes.
+ *  Files without a known modification time, like web resources,
+ *  are not cached.
+ *  When the cache is full, the least recently used entry is dropped.
+ *
+ *  <p>Displays that are likely to be opened soon can be prefetched,
+ *  i.e. loaded into the cache by a low priority background thread.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplayModelCache
+{
+    private static final DisplayModelCache instance = new DisplayModelCache(Preferences.getModelCacheSize());
+
+    /** Template model for one display file */
+    private static class Entry
+    {
+        final long modified;
+        final FutureTask<DisplayModel> template;
+
+        Entry(final String display_file, final long modified)
+        {
+            this.modified = modified;
+            template = new FutureTask<>(() -> ModelLoader.loadModel(display_file));
+        }
+    }
+
+    private final int max_size;
+
+    /** Entries by display file, least recently used first. SYNC on access */
+    private final Map<String, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+
+    /** Single low priority thread for prefetching, ends when idle */
+    private final ExecutorService prefetcher = new ThreadPoolExecutor(0, 1, 10L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        target ->
+        {
+            final Thread thread = new NamedDaemonPool("DisplayPrefetch").newThread(target);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+    /** Displays that are queued for prefetch */
+    private final Set<String> prefetching = ConcurrentHashMap.newKeySet();
+
+    /** @return Cache configured by preferences */
+    public static DisplayModelCache getInstance()
+    {
+        return instance;
+    }
+
+    /** @param max_size Maximum number of display files to cache, 0 to disable */
+    public DisplayModelCache(final int max_size)
+    {
+        this.max_size = max_size;
+        cache = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest)
+            {
+                return size() > DisplayModelCache.this.max_size;
+            }
+        };
+    }
+
+    /** Load model, with classes applied (except for *.bcf itself)
+     *
+     *  <p>Concurrent calls for the same file share one load of the file.
+     *
+     *  @param display_file Model file, already resolved
+     *  @return {@link DisplayModel} that the caller may modify
+     *  @throws Exception on error
+     *  @see ModelLoader#loadModel(String)
+     */
+    public DisplayModel getModel(final String display_file) throws Exception
+    {
+        final DisplayModel template = getTemplate(display_file);
+        if (template == null)
+            return ModelLoader.loadModel(display_file);
+        // Template is never handed out, so it remains unchanged
+        return template.createCopy();
+    }
+
+    /** @param display_file Model file, already resolved
+     *  @return Template model, <code>null</code> if file cannot be cached
+     *  @throws Exception on error
+     */
+    private DisplayModel getTemplate(final String display_file) throws Exception
+    {
+        final long modified = max_size > 0 ? ModelResourceUtil.getModificationTime(display_file) : 0;
+        if (modified <= 0)
+            return null;
+
+        final Entry entry;
+        boolean load = false;
+        synchronized (cache)
+        {
+            Entry existing = cache.get(display_file);
+            if (existing == null  ||  existing.modified != modified)
+            {
+                existing = new Entry(display_file, modified);
+                cache.put(display_file, existing);
+                load = true;
+            }
+            entry = existing;
+        }
+
+        if (load)
+        {
+            misses.incrementAndGet();
+            logger.log(Level.FINE, "Loading {0} into model cache", display_file);
+            entry.template.run();
+        }
+        else
+            hits.incrementAndGet();
+
+        try
+        {
+            return entry.template.get();
+        }
+        catch (ExecutionException ex)
+        {   // Remove failed entry so that next call tries again
+            synchronized (cache)
+            {
+                cache.remove(display_file, entry);
+            }
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Exception)
+                throw (Exception) cause;
+            throw ex;
+        }
+    }
+
+    /** Load model into cache in background
+     *
+     *  <p>Later calls to {@link #getModel(String)} for the same file
+     *  will then be faster.
+     *  Has no effect if the cache is disabled or the file
+     *  is already queued for prefetching.
+     *
+     *  @param parent_display Path to a 'parent' file, may be <code>null</code>
+     *  @param display_file Model file, may be relative to parent
+     */
+    public void prefetch(final String parent_display, final String display_file)
+    {
+        if (max_size <= 0  ||  display_file.isEmpty())
+            return;
+        final String key = parent_display + "\n" + display_file;
+        if (! prefetching.add(key))
+            return;
+        prefetcher.execute(() ->
+        {
+            try
+            {
+                final String resolved_name = ModelResourceUtil.resolveResource(parent_display, display_file);
+                logger.log(Level.FINE, "Prefetching {0}", resolved_name);
+                getTemplate(resolved_name);
+            }
+            catch (Exception ex)
+            {   // Only prefetching; actually opening the display will report the error
+                logger.log(Level.FINE, "Cannot prefetch " + display_file, ex);
+            }
+            finally
+            {
+                prefetching.remove(key);
+            }
+        });
+    }
+
+    /** @return Number of cached display files */
+    public int size()
+    {
+        synchronized (cache)
+        {
+            return cache.size();
+        }
+    }
+
+    /** @return Number of requests that used a cached model */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /** @return Number of requests that loaded a model */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /** Remove all entries, for example after widget classes changed */
+    public void clear()
+    {
+        synchronized (cache)
+        {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DisplayModelCache: " + size() + " of " + max_size + " entries, " +
+               getHits() + " hits, " + getMisses() + " misses";
+    }
+}
@@ -12,6 +12,7 @@ import java.io.InputStream;
 import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.WidgetClassSupport;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.osgi.framework.Version;
 
 /** Helper for loading a display model
  *
@@ -20,6 +21,9 @@ import org.csstudio.display.builder.model.util.ModelResourceUtil;
  *  updates the model's input file information
  *  and applies the class definitions (except for *.bcf files).
  *
+ *  <p>Display files are loaded from their {@link CompiledModel}
+ *  when available.
+ *
  *  @author Kay Kasemir
  */
 public class ModelLoader
@@ -39,6 +43,23 @@ public class ModelLoader
         return loadModel(resolved_name);
     }
 
+    /** Load model, resolved relative to parent, from the {@link DisplayModelCache}
+     *
+     *  <p>For displays that are opened many times at runtime,
+     *  like embedded displays.
+     *  Editors should use {@link #resolveAndLoadModel(String, String)}.
+     *
+     *  @param parent_display Path to a 'parent' file, may be <code>null</code>
+     *  @param display_file Model file
+     *  @return {@link DisplayModel}
+     *  @throws Exception on error
+     */
+    public static DisplayModel resolveAndLoadCachedModel(final String parent_display, final String display_file) throws Exception
+    {
+        final String resolved_name = ModelResourceUtil.resolveResource(parent_display, display_file);
+        return DisplayModelCache.getInstance().getModel(resolved_name);
+    }
+
     /** Load model, with classes applied (except for *.bcf itself)
      *
      *  @param display_file Model file
@@ -47,7 +68,18 @@ public class ModelLoader
      */
     public static DisplayModel loadModel(final String display_file) throws Exception
     {
-        return loadModel(ModelResourceUtil.openResourceStream(display_file), display_file);
+        final long modified = CompiledModel.isEnabled() ? ModelResourceUtil.getModificationTime(display_file) : 0;
+        if (modified <= 0)
+            return loadModel(ModelResourceUtil.openResourceStream(display_file), display_file);
+
+        DisplayModel model = CompiledModel.load(display_file, modified);
+        if (model == null)
+        {
+            model = new ModelReader(ModelResourceUtil.openResourceStream(display_file)).readModel();
+            // Compile before classes are applied, since classes may change
+            CompiledModel.save(model, display_file, modified);
+        }
+        return applyClasses(model, display_file);
     }
 
 
@@ -60,15 +92,24 @@ public class ModelLoader
    public static DisplayModel loadModel(final InputStream stream, final String display_path) throws Exception
    {
        final ModelReader reader = new ModelReader(stream);
-       final DisplayModel model = reader.readModel();
+       return applyClasses(reader.readModel(), display_path);
+  }
+
+   /** @param model Model that was read
+    *  @param display_path Path to the model file
+    *  @return Model with input file information and classes applied
+    */
+   private static DisplayModel applyClasses(final DisplayModel model, final String display_path)
+   {
        model.setUserData(DisplayModel.USER_DATA_INPUT_FILE, display_path);
 
        // Models from version 2 on support classes
-       if (reader.getVersion().getMajor() >= 2  &&
+       final Version version = model.getUserData(DisplayModel.USER_DATA_INPUT_VERSION);
+       if (version.getMajor() >= 2  &&
            !display_path.endsWith(WidgetClassSupport.FILE_EXTENSION))
        {
            WidgetClassesService.getWidgetClasses().apply(model);
        }
        return model;
-  }
+   }
 }
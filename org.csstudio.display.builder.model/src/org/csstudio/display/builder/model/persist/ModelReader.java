@@ -10,13 +10,22 @@ package org.csstudio.display.builder.model.persist;
 import static org.csstudio.display.builder.model.ModelPlugin.logger;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.csstudio.display.builder.model.ChildrenProperty;
 import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Preferences;
@@ -26,6 +35,7 @@ import org.csstudio.display.builder.model.WidgetDescriptor;
 import org.csstudio.display.builder.model.WidgetFactory;
 import org.csstudio.display.builder.model.WidgetFactory.WidgetTypeException;
 import org.osgi.framework.Version;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /** Read model from XML.
@@ -67,14 +77,54 @@ import org.w3c.dom.Element;
  *  .. but widget can provide a custom WidgetConfigurator
  *  and handle legacy properties in a different way.
  *
+ *  Streaming
+ *  =========
+ *  A DOM for the complete display uses a lot of memory
+ *  and takes long to create for large displays.
+ *  Current (version 2 and higher) files are therefore read via StAX.
+ *  Only the XML of one widget's properties is turned into a small DOM
+ *  fragment, which is then passed to the widget configurator.
+ *  Child widgets are read from the stream without adding them to
+ *  the parent's DOM, and line numbers are only kept for the widget
+ *  and property elements, where they are used in error messages.
+ *
+ *  Once the stream has been read, sibling widgets are configured
+ *  in parallel on the fork/join pool if there are many of them,
+ *  since each widget's XML is in a separate document.
+ *  Widgets are still added to their parent in document order.
+ *
+ *  Legacy files, which are often transformed by configurators
+ *  that inspect or modify the XML of parent and sibling widgets,
+ *  are read via the DOM of the complete file.
+ *  Streaming also falls back to the DOM when a configurator
+ *  requests to parse the XML again.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
 public class ModelReader
 {
     private final static int MAX_PARSE_AGAIN = Preferences.getMaxReparse();
-    private final Element root;
+    /** Minimum number of widgets to configure in parallel */
+    private final static int PARALLEL_THRESHOLD = 50;
+    private final static XMLInputFactory factory = XMLInputFactory.newInstance();
+
+    static
+    {
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /** Complete XML, kept to allow falling back to the DOM */
+    private final byte[] xml;
+    private final boolean allow_streaming;
+    /** Configure sibling widgets in parallel? */
+    private final boolean parallel;
+    /** Set when a widget configurator requested to parse again */
+    private volatile boolean parse_again = false;
     private final Version version;
+    /** DOM of complete file, created when needed */
+    private Element root = null;
 
     /** Parse display from XML
      *  @param xml XML text
@@ -94,8 +144,58 @@ public class ModelReader
      */
     public ModelReader(final InputStream stream) throws Exception
     {
-        root = XMLUtil.openXMLDocument(stream, XMLTags.DISPLAY);
-        version = readVersion(root);
+        this(stream, true);
+    }
+
+    /** Create reader.
+     *  @param stream Input stream to read, will be closed
+     *  @param allow_streaming Use streaming reader where possible, or always use DOM?
+     *  @throws Exception on error
+     */
+    ModelReader(final InputStream stream, final boolean allow_streaming) throws Exception
+    {
+        this(stream, allow_streaming, Preferences.isParallelParsing());
+    }
+
+    /** Create reader.
+     *  @param stream Input stream to read, will be closed
+     *  @param allow_streaming Use streaming reader where possible, or always use DOM?
+     *  @param parallel Configure widgets in parallel when streaming?
+     *  @throws Exception on error
+     */
+    ModelReader(final InputStream stream, final boolean allow_streaming, final boolean parallel) throws Exception
+    {
+        try
+        {
+            final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            final byte[] section = new byte[64 * 1024];
+            int len;
+            while ((len = stream.read(section)) > 0)
+                buf.write(section, 0, len);
+            xml = buf.toByteArray();
+        }
+        finally
+        {
+            stream.close();
+        }
+        this.allow_streaming = allow_streaming;
+        this.parallel = parallel;
+
+        // Check root element, get version
+        final XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        try
+        {
+            moveToRoot(reader);
+            final String name = PositionalXMLReader.getName(reader);
+            if (! XMLTags.DISPLAY.equals(name))
+                throw new Exception("Wrong document type. Expected <" +
+                        XMLTags.DISPLAY + "> but found <" + name + ">");
+            version = parseVersion(reader.getAttributeValue(null, XMLTags.VERSION));
+        }
+        finally
+        {
+            reader.close();
+        }
     }
 
     /** @return Version of the file that's being read.
@@ -112,6 +212,28 @@ public class ModelReader
      */
     public DisplayModel readModel() throws Exception
     {
+        if (allow_streaming  &&  version.getMajor() >= 2)
+        {
+            try
+            {
+                return readModelFromStream();
+            }
+            catch (ParseAgainException ex)
+            {
+                logger.log(Level.FINE, "Widget configurator requested to parse again, reading display via DOM");
+            }
+        }
+        return readModelFromDOM();
+    }
+
+    /** Read model from complete DOM.
+     *  @return Model
+     *  @throws Exception on error
+     */
+    private DisplayModel readModelFromDOM() throws Exception
+    {
+        if (root == null)
+            root = XMLUtil.openXMLDocument(new ByteArrayInputStream(xml), XMLTags.DISPLAY);
         final DisplayModel model = new DisplayModel();
 
         model.setUserData(DisplayModel.USER_DATA_INPUT_VERSION, version);
@@ -123,7 +245,247 @@ public class ModelReader
         return model;
     }
 
-    final private Set<String> unknown_widget_type = new HashSet<>();
+    /** Read model from stream.
+     *  @return Model
+     *  @throws ParseAgainException when a widget configurator requested to parse again
+     *  @throws Exception on error
+     */
+    private DisplayModel readModelFromStream() throws ParseAgainException, Exception
+    {
+        final XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        final Element display_xml;
+        final List<StreamedWidget> streamed = new ArrayList<>();
+        try
+        {
+            moveToRoot(reader);
+            final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            display_xml = readContainer(reader, builder, streamed);
+        }
+        finally
+        {
+            reader.close();
+        }
+
+        final DisplayModel model = new DisplayModel();
+        model.setUserData(DisplayModel.USER_DATA_INPUT_VERSION, version);
+        // Read display's own properties
+        model.getConfigurator(version).configureFromXML(this, model, display_xml);
+        // Add widgets of model
+        parse_again = false;
+        final List<Widget> widgets = configureWidgets(streamed, display_xml.getNodeName());
+        if (parse_again)
+            throw new ParseAgainException();
+        final ChildrenProperty children = model.runtimeChildren();
+        for (Widget widget : widgets)
+            children.addChild(widget);
+        return model;
+    }
+
+    /** @param reader Reader to position on the START_ELEMENT of the root element
+     *  @throws XMLStreamException on error
+     */
+    private static void moveToRoot(final XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+            if (reader.next() == XMLStreamConstants.START_ELEMENT)
+                return;
+        throw new XMLStreamException("Missing root element");
+    }
+
+    /** XML of a widget read from the stream, not configured, yet */
+    private static class StreamedWidget
+    {
+        /** Widget XML without child widgets, in its own document */
+        final Element xml;
+        final List<StreamedWidget> children;
+        /** Number of widgets in this subtree */
+        final int count;
+
+        StreamedWidget(final Element xml, final List<StreamedWidget> children)
+        {
+            this.xml = xml;
+            this.children = children;
+            int count = 1;
+            for (StreamedWidget child : children)
+                count += child.count;
+            this.count = count;
+        }
+    }
+
+    /** Read element that may contain widgets
+     *
+     *  <p>Each container is read into its own document,
+     *  so that widgets can later be configured in parallel.
+     *  Widgets are returned as {@link StreamedWidget}s,
+     *  all other content is added to the returned element.
+     *
+     *  @param reader Reader positioned on START_ELEMENT of the container, will be positioned on its END_ELEMENT
+     *  @param builder Builder used to create documents
+     *  @param widgets List where widgets are added
+     *  @return Element for the container, without the widgets
+     *  @throws Exception on error
+     */
+    private Element readContainer(final XMLStreamReader reader, final DocumentBuilder builder,
+                                  final List<StreamedWidget> widgets) throws Exception
+    {
+        final Document doc = builder.newDocument();
+        final Element container_xml = PositionalXMLReader.createElement(reader, doc, true);
+        while (reader.hasNext())
+        {
+            switch (reader.next())
+            {
+            case XMLStreamConstants.START_ELEMENT:
+                if (XMLTags.WIDGET.equals(PositionalXMLReader.getName(reader)))
+                {
+                    final List<StreamedWidget> children = new ArrayList<>();
+                    final Element widget_xml = readContainer(reader, builder, children);
+                    widgets.add(new StreamedWidget(widget_xml, children));
+                }
+                else
+                    container_xml.appendChild(PositionalXMLReader.readElement(reader, doc, 1));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                container_xml.appendChild(doc.createTextNode(reader.getText()));
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                return container_xml;
+            default:
+                // Ignore comments, processing instructions
+            }
+        }
+        throw new XMLStreamException("Missing end of <" + container_xml.getNodeName() + ">", reader.getLocation());
+    }
+
+    /** Configure sibling widgets that were read from the stream
+     *
+     *  <p>Large sets of siblings are configured in parallel.
+     *  A widget configurator that requests to parse again
+     *  sets <code>parse_again</code>.
+     *
+     *  @param streamed Widgets read from stream
+     *  @param parent_name Element name of their parent
+     *  @return Configured widgets, in document order
+     */
+    private List<Widget> configureWidgets(final List<StreamedWidget> streamed, final String parent_name)
+    {
+        final int N = streamed.size();
+        final Widget[] configured = new Widget[N];
+        final Element[] added = new Element[N];
+        new ConfigureWidgets(streamed, parent_name, configured, added, 0, N).invoke();
+
+        final List<Widget> widgets = new ArrayList<>(N);
+        for (Widget widget : configured)
+            if (widget != null)
+                widgets.add(widget);
+        // Read widgets that configurators added to the parent,
+        // which in a complete DOM would follow all existing widgets
+        for (Element parent_xml : added)
+            if (parent_xml != null  &&  !parse_again)
+            {
+                final List<Widget> more = readWidgetsAllowingRetry(parent_xml);
+                if (more == null)
+                    parse_again = true;
+                else
+                    widgets.addAll(more);
+            }
+        return widgets;
+    }
+
+    /** Configures a range of sibling widgets,
+     *  splitting it to run in parallel when it contains many widgets
+     */
+    private class ConfigureWidgets extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final List<StreamedWidget> streamed;
+        private final String parent_name;
+        private final Widget[] configured;
+        private final Element[] added;
+        private final int start, end;
+
+        ConfigureWidgets(final List<StreamedWidget> streamed, final String parent_name,
+                         final Widget[] configured, final Element[] added,
+                         final int start, final int end)
+        {
+            this.streamed = streamed;
+            this.parent_name = parent_name;
+            this.configured = configured;
+            this.added = added;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (parallel  &&  end - start > 1)
+            {
+                int count = 0;
+                for (int i=start; i<end; ++i)
+                    count += streamed.get(i).count;
+                if (count >= PARALLEL_THRESHOLD)
+                {
+                    final int mid = (start + end) / 2;
+                    invokeAll(new ConfigureWidgets(streamed, parent_name, configured, added, start, mid),
+                              new ConfigureWidgets(streamed, parent_name, configured, added, mid, end));
+                    return;
+                }
+            }
+            for (int i=start; i<end  &&  !parse_again; ++i)
+                configureWidget(streamed.get(i), parent_name, configured, added, i);
+        }
+    }
+
+    /** Configure widget that was read from the stream, including its child widgets
+     *
+     *  <p>The widget XML is placed in a placeholder parent
+     *  while the widget is configured.
+     *  Configurators of legacy widgets may add widgets to that parent,
+     *  which are then returned in <code>added</code>.
+     *
+     *  @param streamed Widget read from stream
+     *  @param parent_name Element name of its parent
+     *  @param configured Array where the widget is set, remains <code>null</code> on error
+     *  @param added Array where the placeholder is set if widgets were added to it
+     *  @param index Index of widget in the arrays
+     */
+    private void configureWidget(final StreamedWidget streamed, final String parent_name,
+                                 final Widget[] configured, final Element[] added, final int index)
+    {
+        final Element widget_xml = streamed.xml;
+        final Element parent_xml = widget_xml.getOwnerDocument().createElement(parent_name);
+        parent_xml.appendChild(widget_xml);
+        try
+        {
+            final Widget widget = readWidget(widget_xml);
+            final ChildrenProperty child_property = ChildrenProperty.getChildren(widget);
+            if (child_property != null)
+                for (Widget child : configureWidgets(streamed.children, widget_xml.getNodeName()))
+                    child_property.addChild(child);
+            configured[index] = widget;
+        }
+        catch (ParseAgainException ex)
+        {
+            parse_again = true;
+        }
+        catch (WidgetTypeException ex)
+        {
+            handleUnknownType(ex, widget_xml);
+        }
+        catch (final Throwable ex)
+        {
+            logger.log(Level.WARNING,
+                       "Widget configuration file error, line " + XMLUtil.getLineInfo(widget_xml), ex);
+        }
+        if (widget_xml.getParentNode() == parent_xml)
+            parent_xml.removeChild(widget_xml);
+        if (parent_xml.hasChildNodes())
+            added[index] = parent_xml;
+    }
+
+    final private Set<String> unknown_widget_type = ConcurrentHashMap.newKeySet();
 
     /** Read all '&lt;widget>..' child entries
      *
@@ -175,12 +537,7 @@ public class ModelReader
             }
             catch (WidgetTypeException ex)
             {
-                // Mention missing widget only once per reader
-                if (! unknown_widget_type.contains(ex.getType()))
-                {
-                    logger.log(Level.WARNING, ex.getMessage() + ", line " + XMLUtil.getLineInfo(widget_xml));
-                    unknown_widget_type.add(ex.getType());
-                }
+                handleUnknownType(ex, widget_xml);
                 // Continue with next widget
             }
             catch (final Throwable ex)
@@ -193,6 +550,16 @@ public class ModelReader
         return widgets;
     }
 
+    /** @param ex Unknown widget type
+     *  @param widget_xml XML of the widget
+     */
+    private void handleUnknownType(final WidgetTypeException ex, final Element widget_xml)
+    {
+        // Mention missing widget only once per reader
+        if (unknown_widget_type.add(ex.getType()))
+            logger.log(Level.WARNING, ex.getMessage() + ", line " + XMLUtil.getLineInfo(widget_xml));
+    }
+
     /** Read widget from XML
      *  @param widget_xml Widget's XML element
      *  @return Widget
@@ -248,8 +615,16 @@ public class ModelReader
      */
     private static Version readVersion(final Element element)
     {
-        final String text = element.getAttribute(XMLTags.VERSION);
-        if (text.isEmpty())
+        return parseVersion(element.getAttribute(XMLTags.VERSION));
+    }
+
+    /** @param text Version text, may be <code>null</code> or empty
+     *  @return {@link Version}
+     *  @throws IllegalArgumentException on parse error
+     */
+    private static Version parseVersion(final String text)
+    {
+        if (text == null  ||  text.isEmpty())
             return new Version(0, 0, 0);
         return new Version(text);
     }
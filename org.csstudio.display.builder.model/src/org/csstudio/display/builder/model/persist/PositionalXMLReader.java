@@ -15,6 +15,9 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -32,6 +35,10 @@ import org.xml.sax.helpers.DefaultHandler;
  *  </pre>
  *  User object is of type {@link Integer}
  *
+ *  <p>Can also create elements from a {@link XMLStreamReader},
+ *  where the line number is only added to the
+ *  top levels of the element tree to limit memory usage.
+ *
  *  @author http://stackoverflow.com/questions/4915422/get-line-number-from-xml-node-java
  */
 @SuppressWarnings("nls")
@@ -136,4 +143,72 @@ class PositionalXMLReader
 
         return doc;
     }
+
+    /** @param reader Reader positioned on a START_ELEMENT
+     *  @return Qualified name of the element
+     */
+    static String getName(final XMLStreamReader reader)
+    {
+        final String prefix = reader.getPrefix();
+        if (prefix == null  ||  prefix.isEmpty())
+            return reader.getLocalName();
+        return prefix + ":" + reader.getLocalName();
+    }
+
+    /** Create element for the current START_ELEMENT, with attributes but no content
+     *  @param reader Reader positioned on a START_ELEMENT
+     *  @param doc Document used to create the element
+     *  @param with_line Add line number?
+     *  @return {@link Element}
+     */
+    static Element createElement(final XMLStreamReader reader, final Document doc, final boolean with_line)
+    {
+        final Element el = doc.createElement(getName(reader));
+        for (int i=0; i<reader.getAttributeCount(); ++i)
+        {
+            final String prefix = reader.getAttributePrefix(i);
+            final String name = reader.getAttributeLocalName(i);
+            el.setAttribute(prefix == null  ||  prefix.isEmpty() ? name : prefix + ":" + name,
+                            reader.getAttributeValue(i));
+        }
+        if (with_line)
+            el.setUserData(LINE_NUMBER, Integer.valueOf(reader.getLocation().getLineNumber()), null);
+        return el;
+    }
+
+    /** Read element for the current START_ELEMENT, including all content
+     *
+     *  <p>Nested widgets and their properties also receive line numbers.
+     *
+     *  @param reader Reader positioned on a START_ELEMENT, will be positioned on the matching END_ELEMENT
+     *  @param doc Document used to create the element
+     *  @param line_levels Number of levels in the element tree that receive line numbers
+     *  @return {@link Element}
+     *  @throws XMLStreamException on error
+     */
+    static Element readElement(final XMLStreamReader reader, final Document doc, int line_levels) throws XMLStreamException
+    {
+        if (XMLTags.WIDGET.equals(getName(reader)))
+            line_levels = 2;
+        final Element el = createElement(reader, doc, line_levels > 0);
+        while (reader.hasNext())
+        {
+            switch (reader.next())
+            {
+            case XMLStreamConstants.START_ELEMENT:
+                el.appendChild(readElement(reader, doc, line_levels - 1));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                el.appendChild(doc.createTextNode(reader.getText()));
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                return el;
+            default:
+                // Ignore comments, processing instructions
+            }
+        }
+        throw new XMLStreamException("Missing end of <" + el.getNodeName() + ">", reader.getLocation());
+    }
 }
\ No newline at end of file
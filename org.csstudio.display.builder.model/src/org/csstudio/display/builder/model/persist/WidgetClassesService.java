@@ -35,6 +35,11 @@ public class WidgetClassesService
      */
     private volatile static Future<WidgetClassSupport> class_support = null;
 
+    /** Default class support, used when there are no class files.
+     *  Kept to reuse its compiled class settings.
+     */
+    private volatile static WidgetClassSupport default_support = null;
+
     /** Ask service to load widget classes from a sources.
      *
      *  <p>Service loads in background thread.
@@ -74,6 +79,8 @@ public class WidgetClassesService
             }
             return null;
         });
+        // Cached models used the previous classes
+        DisplayModelCache.getInstance().clear();
     }
 
     /** Obtain current set of widget classes.
@@ -104,6 +111,9 @@ public class WidgetClassesService
             {
                 logger.log(Level.WARNING, "Cannot obtain widget classes", ex);
             }
-        return new WidgetClassSupport();
+        WidgetClassSupport classes = default_support;
+        if (classes == null)
+            default_support = classes = new WidgetClassSupport();
+        return classes;
     }
 }
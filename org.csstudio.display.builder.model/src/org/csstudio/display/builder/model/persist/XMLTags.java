@@ -30,6 +30,7 @@ public interface XMLTags
     public static final String MACROS = "macros";
     public static final String NAME = "name";
     public static final String PATH = "path";
+    public static final String PREFETCH = "prefetch";
     public static final String PV_NAME = "pv_name";
     public static final String RED = "red";
     public static final String RULE = "rule";
@@ -23,6 +23,7 @@ public class ActionInfos
 
     final private List<ActionInfo> actions;
     final private boolean execute_as_one;
+    final private boolean prefetch;
 
     public ActionInfos(final List<ActionInfo> actions)
     {
@@ -30,9 +31,19 @@ public class ActionInfos
     }
 
     public ActionInfos(final List<ActionInfo> actions, final boolean execute_as_one)
+    {
+        this(actions, execute_as_one, false);
+    }
+
+    /** @param actions Actions
+     *  @param execute_as_one Execute all actions as one?
+     *  @param prefetch Load displays of 'open display' actions in background?
+     */
+    public ActionInfos(final List<ActionInfo> actions, final boolean execute_as_one, final boolean prefetch)
     {
         this.actions = Collections.unmodifiableList(actions);
         this.execute_as_one = execute_as_one;
+        this.prefetch = prefetch;
     }
 
     /** @return List of actions */
@@ -47,6 +58,12 @@ public class ActionInfos
         return execute_as_one;
     }
 
+    /** @return Should displays of 'open display' actions be loaded in background, before the action is invoked? */
+    public boolean isPrefetched()
+    {
+        return prefetch;
+    }
+
     public static String toString(final List<ActionInfo> actions)
     {
         if (actions.isEmpty())
@@ -102,6 +102,8 @@ public class ActionsWidgetProperty extends WidgetProperty<ActionInfos>
     {
         if (value.isExecutedAsOne())
             writer.writeAttribute(XMLTags.EXECUTE_AS_ONE, Boolean.TRUE.toString());
+        if (value.isPrefetched())
+            writer.writeAttribute(XMLTags.PREFETCH, Boolean.TRUE.toString());
         for (final ActionInfo info : value.getActions())
         {
             // <action type="..">
@@ -193,6 +195,7 @@ public class ActionsWidgetProperty extends WidgetProperty<ActionInfos>
         final boolean execute_as_one =
             Boolean.parseBoolean(property_xml.getAttribute(XMLTags.EXECUTE_AS_ONE))  ||
             Boolean.parseBoolean(property_xml.getAttribute("hook_all")); // Legacy files
+        final boolean prefetch = Boolean.parseBoolean(property_xml.getAttribute(XMLTags.PREFETCH));
 
         final List<ActionInfo> actions = new ArrayList<>();
         for (final Element action_xml : XMLUtil.getChildElements(property_xml, XMLTags.ACTION))
@@ -357,7 +360,7 @@ public class ActionsWidgetProperty extends WidgetProperty<ActionInfos>
             else
                 logger.log(Level.WARNING, "Ignoring action of unknown type '" + type + "'");
         }
-        setValue(new ActionInfos(actions, execute_as_one));
+        setValue(new ActionInfos(actions, execute_as_one, prefetch));
     }
 
     @Override
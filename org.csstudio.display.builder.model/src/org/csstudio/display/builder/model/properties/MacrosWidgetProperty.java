@@ -38,6 +38,13 @@ public class MacrosWidgetProperty extends WidgetProperty<Macros>
         super(descriptor, widget, default_value);
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        super.copyFrom(other);
+        value = new Macros(value);
+    }
+
     /** @param value Must be ActionInfo array(!), not List */
     @Override
     public void setValueFromObject(final Object value) throws Exception
@@ -49,6 +49,13 @@ public class PointsWidgetProperty extends WidgetProperty<Points>
                 "' requires Points, but received " + value.getClass().getName());
     }
 
+    @Override
+    protected void copyFrom(final WidgetProperty<?> other) throws Exception
+    {
+        super.copyFrom(other);
+        value = value.clone();
+    }
+
     @Override
     public void writeToXML(final ModelWriter model_writer, final XMLStreamWriter writer) throws Exception
     {
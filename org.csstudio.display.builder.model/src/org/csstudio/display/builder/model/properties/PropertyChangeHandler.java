@@ -11,7 +11,7 @@ import static org.csstudio.display.builder.model.ModelPlugin.logger;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.BaseWidgetPropertyListener;
@@ -75,8 +75,16 @@ import org.csstudio.display.builder.model.WidgetPropertyListener;
 @SuppressWarnings("nls")
 public abstract class PropertyChangeHandler<T extends Object>
 {
+    /** Updater for <code>recursions</code>.
+     *  Large displays have many properties,
+     *  so a plain field is used instead of an AtomicInteger per property.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PropertyChangeHandler> RECURSIONS =
+        AtomicIntegerFieldUpdater.newUpdater(PropertyChangeHandler.class, "recursions");
+
     /** Track recursions of calls to listener */
-    private final AtomicInteger recursions = new AtomicInteger();
+    private volatile int recursions = 0;
 
     /** Lazily initialized list of listeners.
      *  Read-only access must make thread safe copy.
@@ -112,7 +120,9 @@ public abstract class PropertyChangeHandler<T extends Object>
      */
     public void removePropertyListener(final BaseWidgetPropertyListener listener)
     {
-        final boolean removed = getListeners().remove(listener);
+        // Don't create list just to find that listener isn't there
+        final List<BaseWidgetPropertyListener> safe_copy = listeners;
+        final boolean removed = safe_copy != null  &&  safe_copy.remove(listener);
         if (! removed)
             logger.log(Level.SEVERE, "Unknown listener " + listener);
     }
@@ -147,7 +157,7 @@ public abstract class PropertyChangeHandler<T extends Object>
        // If a property listener changes the property,
        // that triggers a recursive listener invocation.
        // Not necessarily a problem, but likely better avoided.
-       final int recursion_level = recursions.incrementAndGet();
+       final int recursion_level = RECURSIONS.incrementAndGet(this);
        if (recursion_level > 1)
            logger.log(Level.WARNING,
                       "Recursive update of property " + property.getWidget() + " " + property.getName() + ", " +
@@ -167,6 +177,6 @@ public abstract class PropertyChangeHandler<T extends Object>
                logger.log(Level.WARNING, "Property update error for " +  property, ex);
            }
        }
-       recursions.decrementAndGet();
+       RECURSIONS.decrementAndGet(this);
    }
 }
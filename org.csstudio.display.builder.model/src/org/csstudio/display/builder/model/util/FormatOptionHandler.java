@@ -157,7 +157,7 @@ public class FormatOptionHandler
         return decimal_formats.computeIfAbsent(precision, FormatOptionHandler::createDecimalFormat);
     }
 
-    private static NumberFormat createDecimalFormat(int precision)
+    static NumberFormat createDecimalFormat(int precision)
     {
         final NumberFormat fmt = NumberFormat.getNumberInstance(LOCALE);
         fmt.setGroupingUsed(false);
@@ -171,7 +171,7 @@ public class FormatOptionHandler
         return exponential_formats.computeIfAbsent(precision, FormatOptionHandler::createExponentialFormat);
     }
 
-    private static NumberFormat createExponentialFormat(final int precision)
+    static NumberFormat createExponentialFormat(final int precision)
     {
         // DecimalFormat needs pattern for exponential notation,
         // there are no factory or configuration methods
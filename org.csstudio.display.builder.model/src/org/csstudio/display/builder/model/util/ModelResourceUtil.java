@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.DisplayModel;
@@ -35,8 +36,53 @@ public class ModelResourceUtil extends ResourceUtil
 
     private static int timeout_ms = Preferences.getReadTimeout();
 
+    /** Disk cache for content read from a URL, <code>null</code> if disabled */
+    private static final URLContentCache url_content_cache = createURLContentCache();
+
+    /** Result of resolving a resource */
+    private static class Resolution
+    {
+        /** Resolved name, <code>null</code> if resource was not found */
+        final String name;
+        /** Is resolved name a local file? */
+        final boolean is_file;
+        final long expire;
+
+        Resolution(final String name)
+        {
+            this.name = name;
+            is_file = name != null  &&  new File(name).exists();
+            expire = System.currentTimeMillis() + resolution_timeout_ms;
+        }
+
+        /** @param now Current time
+         *  @return Is resolution still valid?
+         */
+        boolean isValid(final long now)
+        {
+            if (now > expire)
+                return false;
+            // Local file that was resolved must still exist
+            return !is_file  ||  new File(name).exists();
+        }
+    }
+
+    private static final long resolution_timeout_ms = Preferences.getCacheTimeout() * 1000L;
+
+    /** Resolved resources by parent and resource name, including failed lookups */
+    private static final ConcurrentHashMap<String, Resolution> resolution_cache = new ConcurrentHashMap<>();
+
     private static WorkspaceResourceHelper workspace_helper = initializeWRHelper();
 
+    private static URLContentCache createURLContentCache()
+    {
+        final String directory = Preferences.getURLCacheDirectory();
+        if (directory.isEmpty())
+            return null;
+        return new URLContentCache(new File(directory), Preferences.getURLCacheSize() * 1024L * 1024L,
+                                   url -> openConnection(url, timeout_ms));
+    }
+
     private static WorkspaceResourceHelper initializeWRHelper()
     {
         try
@@ -283,11 +329,50 @@ public class ModelResourceUtil extends ResourceUtil
      *
      *  <p>For *.opi files, checks if there is an updated .bob file.
      *
+     *  <p>Results, including failed lookups, are cached for the
+     *  configured cache timeout.
+     *  Cached local files are checked to still exist.
+     *
      *  @param parent_display Path to a 'parent' file, may be <code>null</code>
      *  @param resource_name Resource path. If relative, it is resolved relative to the parent display
      *  @return Resolved file name. May also be the original name if no idea how to adjust it
      */
     public static String resolveResource(final String parent_display, final String resource_name)
+    {
+        final String key = parent_display + "\n" + resource_name;
+        final long now = System.currentTimeMillis();
+        Resolution resolution = resolution_cache.get(key);
+        if (resolution == null  ||  !resolution.isValid(now))
+        {
+            resolution = new Resolution(lookupResource(parent_display, resource_name));
+            if (resolution_cache.size() > 1000)
+                resolution_cache.values().removeIf(entry -> now > entry.expire);
+            resolution_cache.put(key, resolution);
+        }
+
+        if (resolution.name != null)
+            return resolution.name;
+
+        // TODO Search along a configurable list of lookup paths?
+
+        // Give up, returning original name
+        return resource_name;
+    }
+
+    /** Forget cached results of {@link #resolveResource(String, String)},
+     *  for example because resources were added
+     */
+    public static void clearResolutionCache()
+    {
+        resolution_cache.clear();
+    }
+
+    /** Resolve a resource relative to a display
+     *  @param parent_display Path to a 'parent' file, may be <code>null</code>
+     *  @param resource_name Resource path
+     *  @return Resolved name or <code>null</code>
+     */
+    private static String lookupResource(final String parent_display, final String resource_name)
     {
         logger.log(Level.FINE, "Resolving {0} relative to {1}", new Object[] { resource_name, parent_display });
 
@@ -301,14 +386,7 @@ public class ModelResourceUtil extends ResourceUtil
                 return test;
             }
         }
-        final String result = doResolveResource(parent_display, resource_name);
-        if (result != null)
-            return result;
-
-        // TODO Search along a configurable list of lookup paths?
-
-        // Give up, returning original name
-        return resource_name;
+        return doResolveResource(parent_display, resource_name);
     }
 
     /** Attempt to resolve a resource relative to a display
@@ -410,6 +488,26 @@ public class ModelResourceUtil extends ResourceUtil
         }
     }
 
+    /** Get modification time of a resource
+     *
+     *  <p>Supported for files, including workspace resources.
+     *
+     *  @param resource_name Path to file, "platform:", "http:/.."
+     *  @return Modification time in milliseconds, 0 if not known
+     */
+    public static long getModificationTime(final String resource_name)
+    {
+        if (resource_name.startsWith("platform:")  ||  isURL(resource_name))
+            return 0;
+        if (workspace_helper != null)
+        {
+            final String local = workspace_helper.getLocalPath(resource_name);
+            if (local != null)
+                return new File(local).lastModified();
+        }
+        return new File(resource_name).lastModified();
+    }
+
     /** Open a file, web location, ..
      *
      *  @param resource_name Path to file, "platform:", "http:/.."
@@ -451,6 +549,8 @@ public class ModelResourceUtil extends ResourceUtil
 
     private static final byte[] readUrl(final String url) throws Exception
     {
+        if (url_content_cache != null)
+            return url_content_cache.read(url);
         // System.out.println("Actually reading " + url + ", not cached");
         final InputStream in = openURL(url, timeout_ms);
         final ByteArrayOutputStream buf = new ByteArrayOutputStream();
@@ -469,6 +569,9 @@ public class ModelResourceUtil extends ResourceUtil
      */
     public static OutputStream writeResource(final String resource_name) throws Exception
     {
+        // New resource may change how others are resolved, for example *.opi into *.bob
+        clearResolutionCache();
+
         if (workspace_helper != null)
             return workspace_helper.writeWorkspaceResource(resource_name);
 
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import static org.csstudio.display.builder.model.ModelPlugin.logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.logging.Level;
+
+/** Disk-backed cache for content read from web servers
+ *
+ *  <p>Content is stored with its 'ETag' and 'Last-Modified' information.
+ *  When content is requested again, the web server is asked
+ *  for a new copy only if it changed,
+ *  which for unchanged content results in a short 'Not Modified' response.
+ *  If the web server cannot be reached, cached content is used.
+ *
+ *  <p>When the cache exceeds its maximum size,
+ *  least recently used content is removed.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class URLContentCache
+{
+    /** File extension for cached content */
+    private static final String EXTENSION = ".cache";
+
+    /** Creates connection for a URL */
+    @FunctionalInterface
+    public interface Connector
+    {
+        /** @param url URL
+         *  @return Connection that has not been connected, yet
+         *  @throws Exception on error
+         */
+        public URLConnection open(String url) throws Exception;
+    }
+
+    /** Content of a URL with the information needed to check if it changed */
+    private static class Entry
+    {
+        final String url, etag, last_modified;
+        final byte[] content;
+
+        Entry(final String url, final String etag, final String last_modified, final byte[] content)
+        {
+            this.url = url;
+            this.etag = etag == null ? "" : etag;
+            this.last_modified = last_modified == null ? "" : last_modified;
+            this.content = content;
+        }
+
+        boolean canValidate()
+        {
+            return !etag.isEmpty()  ||  !last_modified.isEmpty();
+        }
+    }
+
+    private final File directory;
+    private final long max_size;
+    private final Connector connector;
+
+    /** @param directory Directory for cached content
+     *  @param max_size Maximum size of cached content in bytes
+     *  @param connector Creates URL connections
+     */
+    public URLContentCache(final File directory, final long max_size, final Connector connector)
+    {
+        this.directory = directory;
+        this.max_size = max_size;
+        this.connector = connector;
+    }
+
+    /** @param url URL
+     *  @return File for cached content of that URL
+     */
+    private File getFile(final String url)
+    {
+        return new File(directory, Integer.toHexString(url.hashCode()) + EXTENSION);
+    }
+
+    /** Read content of a URL
+     *  @param url URL to read
+     *  @return Content, either from web server or from the cache if it's still valid
+     *  @throws Exception on error
+     */
+    public byte[] read(final String url) throws Exception
+    {
+        final File file = getFile(url);
+        final Entry cached = readEntry(file, url);
+
+        final URLConnection connection = connector.open(url);
+        if (! (connection instanceof HttpURLConnection))
+            return readContent(connection.getInputStream());
+
+        final HttpURLConnection http = (HttpURLConnection) connection;
+        if (cached != null)
+        {
+            if (! cached.etag.isEmpty())
+                http.setRequestProperty("If-None-Match", cached.etag);
+            if (! cached.last_modified.isEmpty())
+                http.setRequestProperty("If-Modified-Since", cached.last_modified);
+        }
+
+        try
+        {
+            final int code;
+            try
+            {
+                code = http.getResponseCode();
+            }
+            catch (IOException ex)
+            {
+                if (cached == null)
+                    throw ex;
+                logger.log(Level.WARNING, "Cannot reach " + url + ", using cached content", ex);
+                return cached.content;
+            }
+
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED  &&  cached != null)
+            {
+                logger.log(Level.FINE, "Using cached {0}", url);
+                // Mark as recently used
+                file.setLastModified(System.currentTimeMillis());
+                return cached.content;
+            }
+
+            if (code >= HttpURLConnection.HTTP_INTERNAL_ERROR  &&  cached != null)
+            {
+                logger.log(Level.WARNING, "Server error {0} for {1}, using cached content", new Object[] { code, url });
+                return cached.content;
+            }
+
+            final byte[] content = readContent(http.getInputStream());
+            final Entry entry = new Entry(url, http.getHeaderField("ETag"), http.getHeaderField("Last-Modified"), content);
+            if (entry.canValidate())
+                writeEntry(file, entry);
+            else if (cached != null)
+                file.delete();
+            return content;
+        }
+        finally
+        {
+            http.disconnect();
+        }
+    }
+
+    private static byte[] readContent(final InputStream stream) throws Exception
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        ModelResourceUtil.copyResource(stream, buf);
+        return buf.toByteArray();
+    }
+
+    /** @param file Cache file
+     *  @param url URL
+     *  @return Cached entry for that URL or <code>null</code>
+     */
+    private Entry readEntry(final File file, final String url)
+    {
+        if (! file.canRead())
+            return null;
+        try
+        (
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        )
+        {
+            final String cached_url = in.readUTF();
+            // Different URL with same hash code?
+            if (! cached_url.equals(url))
+                return null;
+            final String etag = in.readUTF(), last_modified = in.readUTF();
+            final byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            return new Entry(url, etag, last_modified, content);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot read cached " + url + " from " + file, ex);
+        }
+        return null;
+    }
+
+    /** @param file Cache file
+     *  @param entry Entry to write
+     */
+    private void writeEntry(final File file, final Entry entry)
+    {
+        try
+        {
+            directory.mkdirs();
+            // Write to temporary file, then move into place
+            // so that other readers never see a partial file
+            final File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+            try
+            {
+                try
+                (
+                    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+                )
+                {
+                    out.writeUTF(entry.url);
+                    out.writeUTF(entry.etag);
+                    out.writeUTF(entry.last_modified);
+                    out.writeInt(entry.content.length);
+                    out.write(entry.content);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                tmp.delete();
+            }
+            logger.log(Level.FINE, "Cached {0} in {1}", new Object[] { entry.url, file });
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot cache " + entry.url + " in " + file, ex);
+        }
+        removeOldest(file);
+    }
+
+    /** Remove least recently used files until cache is within its maximum size
+     *  @param keep File to keep
+     */
+    private void removeOldest(final File keep)
+    {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null)
+            return;
+        long size = 0;
+        for (File file : files)
+            size += file.length();
+        if (size <= max_size)
+            return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files)
+        {
+            if (size <= max_size)
+                break;
+            if (file.equals(keep))
+                continue;
+            final long length = file.length();
+            if (file.delete())
+            {
+                logger.log(Level.FINE, "Removed {0} from URL cache", file);
+                size -= length;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+
+import org.csstudio.display.builder.model.properties.FormatOption;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VType;
+
+/** Formatter for the values of one widget
+ *
+ *  <p>Holds the format, precision and units setting of a widget
+ *  together with its own number formats and buffer,
+ *  so that formatting the common scalar values
+ *  creates little more than the resulting string.
+ *  Other values are handled by {@link FormatOptionHandler}.
+ *
+ *  <p>Not thread safe.
+ *  Meant to be used by a widget representation
+ *  on the UI thread when it updates.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ValueFormatter
+{
+    private final FormatOption option;
+    private final int precision;
+    private final boolean show_units;
+
+    private final StringBuffer buf = new StringBuffer();
+    private final FieldPosition position = new FieldPosition(0);
+
+    /** Number format and the precision for which it was created */
+    private NumberFormat decimal, exponential;
+    private int decimal_precision = -1, exponential_precision = -1;
+
+    /** Get formatter for settings
+     *  @param formatter Formatter that may be re-used, or <code>null</code>
+     *  @param option How to format values
+     *  @param precision Precision to use. -1 will try to fetch precision from VType
+     *  @param show_units Include units?
+     *  @return The given formatter if it has those settings, otherwise a new one
+     */
+    public static ValueFormatter get(final ValueFormatter formatter,
+                                     final FormatOption option, final int precision, final boolean show_units)
+    {
+        if (formatter != null  &&
+            formatter.option == option  &&
+            formatter.precision == precision  &&
+            formatter.show_units == show_units)
+            return formatter;
+        return new ValueFormatter(option, precision, show_units);
+    }
+
+    /** @param option How to format values
+     *  @param precision Precision to use. -1 will try to fetch precision from VType
+     *  @param show_units Include units?
+     */
+    public ValueFormatter(final FormatOption option, final int precision, final boolean show_units)
+    {
+        this.option = option;
+        this.precision = precision;
+        this.show_units = show_units;
+    }
+
+    /** Format value as string
+     *  @param value Value to format
+     *  @return Formatted value, same as {@link FormatOptionHandler#format(VType, FormatOption, int, boolean)}
+     */
+    public String format(final VType value)
+    {
+        if (value instanceof VNumber)
+        {
+            final VNumber number = (VNumber) value;
+            final NumberFormat format = getNumberFormat(number);
+            if (format != null)
+            {
+                buf.setLength(0);
+                format.format(number.getValue(), buf, position);
+                if (show_units  &&  !number.getUnits().isEmpty())
+                    buf.append(' ').append(number.getUnits());
+                return buf.toString();
+            }
+        }
+        else if (value instanceof VString)
+            return ((VString)value).getValue();
+        else if (value instanceof VEnum  &&  (option == FormatOption.DEFAULT  ||  option == FormatOption.STRING))
+            return ((VEnum)value).getValue();
+        return FormatOptionHandler.format(value, option, precision, show_units);
+    }
+
+    /** @param number Number to format
+     *  @return {@link NumberFormat} for the number or <code>null</code> if it needs special handling
+     */
+    private NumberFormat getNumberFormat(final VNumber number)
+    {
+        final double value = number.getValue().doubleValue();
+        if (Double.isNaN(value)  ||  Double.isInfinite(value))
+            return null;
+        final int actual = FormatOptionHandler.actualPrecision(number, precision);
+        switch (option)
+        {
+        case DEFAULT:
+        case DECIMAL:
+            return getDecimal(actual);
+        case EXPONENTIAL:
+            return getExponential(actual);
+        case COMPACT:
+        {
+            final double criteria = Math.abs(value);
+            if (criteria > 0.0001  &&  criteria < 10000)
+                return getDecimal(actual);
+            return getExponential(actual);
+        }
+        default:
+            return null;
+        }
+    }
+
+    private NumberFormat getDecimal(final int precision)
+    {
+        if (decimal == null  ||  decimal_precision != precision)
+        {
+            decimal = FormatOptionHandler.createDecimalFormat(precision);
+            decimal_precision = precision;
+        }
+        return decimal;
+    }
+
+    private NumberFormat getExponential(final int precision)
+    {
+        if (exponential == null  ||  exponential_precision != precision)
+        {
+            exponential = FormatOptionHandler.createExponentialFormat(precision);
+            exponential_precision = precision;
+        }
+        return exponential;
+    }
+}
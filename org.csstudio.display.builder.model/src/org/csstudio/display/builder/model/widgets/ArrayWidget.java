@@ -9,6 +9,8 @@ package org.csstudio.display.builder.model.widgets;
 
 import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propBackgroundColor;
 import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propForegroundColor;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.newBooleanPropertyDescriptor;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.newIntegerPropertyDescriptor;
 import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propMacros;
 import static org.csstudio.display.builder.model.properties.InsetsWidgetProperty.runtimePropInsets;
 
@@ -23,6 +25,8 @@ import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetCategory;
 import org.csstudio.display.builder.model.WidgetDescriptor;
 import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.WidgetPropertyCategory;
+import org.csstudio.display.builder.model.WidgetPropertyDescriptor;
 import org.csstudio.display.builder.model.macros.Macros;
 import org.csstudio.display.builder.model.persist.ModelWriter;
 import org.csstudio.display.builder.model.persist.NamedWidgetColors;
@@ -33,6 +37,10 @@ import org.csstudio.display.builder.model.properties.WidgetColor;
  * An Array Widget contains copies of a child widget. Each copy is assigned the
  * value of one element of a PV.
  *
+ * <p>By default, the copies show the first elements of the array.
+ * When 'virtualized', the copies act as a window into the array
+ * which can be scrolled through all elements.
+ *
  * @author Amanda Carpenter
  */
 @SuppressWarnings("nls")
@@ -69,11 +77,26 @@ public class ArrayWidget extends PVWidget
         }
     }
 
+    /** 'virtualized' property: Scroll the element widgets through the array? */
+    public static final WidgetPropertyDescriptor<Boolean> propVirtualized =
+        newBooleanPropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "virtualized", Messages.ArrayWidget_Virtualized);
+
+    /** Runtime 'first_index' property: Array index shown by the first element widget */
+    public static final WidgetPropertyDescriptor<Integer> runtimePropFirstIndex =
+        newIntegerPropertyDescriptor(WidgetPropertyCategory.RUNTIME, "first_index", Messages.ArrayWidget_FirstIndex, 0, Integer.MAX_VALUE);
+
+    /** Runtime 'array_length' property: Number of elements in the array */
+    public static final WidgetPropertyDescriptor<Integer> runtimePropArrayLength =
+        newIntegerPropertyDescriptor(WidgetPropertyCategory.RUNTIME, "array_length", Messages.ArrayWidget_ArrayLength, 0, Integer.MAX_VALUE);
+
     private volatile WidgetProperty<Macros> macros;
     private volatile ChildrenProperty children;
     private volatile WidgetProperty<WidgetColor> foreground;
     private volatile WidgetProperty<WidgetColor> background;
     private volatile WidgetProperty<int[]> insets;
+    private volatile WidgetProperty<Boolean> virtualized;
+    private volatile WidgetProperty<Integer> first_index;
+    private volatile WidgetProperty<Integer> array_length;
 
     public ArrayWidget()
     {
@@ -91,6 +114,9 @@ public class ArrayWidget extends PVWidget
         properties.add(background = propBackgroundColor.createProperty(this,
                 WidgetColorService.getColor(NamedWidgetColors.BACKGROUND)));
         properties.add(insets = runtimePropInsets.createProperty(this, new int[] { 0, 0 }));
+        properties.add(virtualized = propVirtualized.createProperty(this, false));
+        properties.add(first_index = runtimePropFirstIndex.createProperty(this, 0));
+        properties.add(array_length = runtimePropArrayLength.createProperty(this, 0));
     }
 
     /**
@@ -135,4 +161,22 @@ public class ArrayWidget extends PVWidget
     {
         return insets;
     }
+
+    /** @return 'virtualized' property */
+    public WidgetProperty<Boolean> propVirtualized()
+    {
+        return virtualized;
+    }
+
+    /** @return Runtime 'first_index' property */
+    public WidgetProperty<Integer> runtimePropFirstIndex()
+    {
+        return first_index;
+    }
+
+    /** @return Runtime 'array_length' property */
+    public WidgetProperty<Integer> runtimePropArrayLength()
+    {
+        return array_length;
+    }
 }
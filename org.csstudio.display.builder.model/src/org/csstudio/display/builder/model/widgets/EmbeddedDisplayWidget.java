@@ -106,6 +106,11 @@ public class EmbeddedDisplayWidget extends VisibleWidget
         CommonWidgetProperties.newStringPropertyDescriptor(
             WidgetPropertyCategory.DISPLAY, "group_name", Messages.EmbeddedDisplayWidget_GroupName);
 
+    /** 'lazy_load' property: Load the embedded display only when it's first shown */
+    static final WidgetPropertyDescriptor<Boolean> propLazyLoad =
+        CommonWidgetProperties.newBooleanPropertyDescriptor(
+            WidgetPropertyCategory.BEHAVIOR, "lazy_load", Messages.EmbeddedDisplayWidget_LazyLoad);
+
     static final WidgetPropertyDescriptor<DisplayModel> runtimeModel =
         new WidgetPropertyDescriptor<DisplayModel>(WidgetPropertyCategory.RUNTIME, "embedded_model", "Embedded Model")
         {
@@ -258,6 +263,7 @@ public class EmbeddedDisplayWidget extends VisibleWidget
     private volatile WidgetProperty<String> file;
     private volatile WidgetProperty<Resize> resize;
     private volatile WidgetProperty<String> group_name;
+    private volatile WidgetProperty<Boolean> lazy_load;
     private volatile WidgetProperty<DisplayModel> embedded_model;
     private volatile WidgetProperty<Boolean> transparent;
 
@@ -274,6 +280,7 @@ public class EmbeddedDisplayWidget extends VisibleWidget
         properties.add(macros = propMacros.createProperty(this, new Macros()));
         properties.add(resize = propResize.createProperty(this, Resize.None));
         properties.add(group_name = propGroupName.createProperty(this, ""));
+        properties.add(lazy_load = propLazyLoad.createProperty(this, false));
         properties.add(embedded_model = runtimeModel.createProperty(this, null));
         properties.add(transparent = propTransparent.createProperty(this, false));
         BorderSupport.addBorderProperties(this, properties);
@@ -307,6 +314,12 @@ public class EmbeddedDisplayWidget extends VisibleWidget
         return group_name;
     }
 
+    /** @return 'lazy_load' property */
+    public WidgetProperty<Boolean> propLazyLoad()
+    {
+        return lazy_load;
+    }
+
     /** @return Runtime 'model' property for the embedded display */
     public WidgetProperty<DisplayModel> runtimePropEmbeddedModel()
     {
@@ -24,6 +24,7 @@ import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.ArrayWidgetProperty;
 import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Messages;
 import org.csstudio.display.builder.model.StructuredWidgetProperty;
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetCategory;
@@ -98,6 +99,8 @@ public class NavigationTabsWidget extends VisibleWidget
     private static final WidgetPropertyDescriptor<WidgetColor> propDeselectedColor =
             CommonWidgetProperties.newColorPropertyDescriptor(WidgetPropertyCategory.DISPLAY, "deselected_color", "Deselected Color");
 
+    private static final WidgetPropertyDescriptor<Boolean> propPrefetch =
+        CommonWidgetProperties.newBooleanPropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "prefetch", Messages.NavigationTabsWidget_Prefetch);
 
     private volatile ArrayWidgetProperty<TabProperty> tabs;
     private volatile WidgetProperty<Direction> direction;
@@ -108,6 +111,7 @@ public class NavigationTabsWidget extends VisibleWidget
     private volatile WidgetProperty<WidgetColor> deselected_color;
     private volatile WidgetProperty<WidgetFont> font;
     private volatile WidgetProperty<Integer> active;
+    private volatile WidgetProperty<Boolean> prefetch;
     private volatile WidgetProperty<DisplayModel> embedded_model;
 
     public NavigationTabsWidget()
@@ -131,6 +135,7 @@ public class NavigationTabsWidget extends VisibleWidget
         properties.add(deselected_color = propDeselectedColor.createProperty(this, new WidgetColor(200, 200, 200)));
         properties.add(font = propFont.createProperty(this, WidgetFontService.get(NamedWidgetFonts.DEFAULT)));
         properties.add(active = propActiveTab.createProperty(this, 0));
+        properties.add(prefetch = propPrefetch.createProperty(this, false));
         properties.add(embedded_model = runtimeModel.createProperty(this, null));
 
         // Initial size
@@ -192,6 +197,12 @@ public class NavigationTabsWidget extends VisibleWidget
         return active;
     }
 
+    /** @return 'prefetch' property */
+    public WidgetProperty<Boolean> propPrefetch()
+    {
+        return prefetch;
+    }
+
     /** @return 'embedded_model' property */
     public WidgetProperty<DisplayModel> runtimePropEmbeddedModel()
     {
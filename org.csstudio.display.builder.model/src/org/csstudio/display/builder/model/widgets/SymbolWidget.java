@@ -73,6 +73,8 @@ public class SymbolWidget extends PVWidget {
     public static final WidgetPropertyDescriptor<Integer>                       propArrayIndex    = newIntegerPropertyDescriptor (WidgetPropertyCategory.BEHAVIOR, "array_index",    Messages.WidgetProperties_ArrayIndex, 0, Integer.MAX_VALUE);
     public static final WidgetPropertyDescriptor<Boolean>                       propAutoSize      = newBooleanPropertyDescriptor (WidgetPropertyCategory.BEHAVIOR, "auto_size",      Messages.WidgetProperties_AutoSize);
     public static final WidgetPropertyDescriptor<Boolean>                       propPreserveRatio = newBooleanPropertyDescriptor (WidgetPropertyCategory.BEHAVIOR, "preserve_ratio", Messages.WidgetProperties_PreserveRatio);
+    /** 'preload_frames' property: decode all symbols for the widget size up front, so index changes only switch images */
+    public static final WidgetPropertyDescriptor<Boolean>                       propPreloadFrames = newBooleanPropertyDescriptor (WidgetPropertyCategory.BEHAVIOR, "preload_frames", Messages.SymbolWidget_PreloadFrames);
 
     /** 'items' property: list of items (string properties) for combo box */
     public static final ArrayWidgetProperty.Descriptor<WidgetProperty<String> > propSymbols       = new ArrayWidgetProperty.Descriptor< WidgetProperty<String> >(
@@ -88,6 +90,7 @@ public class SymbolWidget extends PVWidget {
     private volatile WidgetProperty<WidgetColor>                 background;
     private volatile WidgetProperty<Boolean>                     enabled;
     private volatile WidgetProperty<Integer>                     initial_index;
+    private volatile WidgetProperty<Boolean>                     preload_frames;
     private volatile WidgetProperty<Boolean>                     preserve_ratio;
     private volatile WidgetProperty<Double>                      rotation;
     private volatile WidgetProperty<Boolean>                     show_index;
@@ -127,6 +130,17 @@ public class SymbolWidget extends PVWidget {
         return importedFrom;
     }
 
+    @Override
+    public Widget createCopy ( ) throws Exception {
+
+        final SymbolWidget copy = (SymbolWidget) super.createCopy();
+
+        copy.importedFrom = importedFrom;
+
+        return copy;
+
+    }
+
     public WidgetProperty<Integer> propArrayIndex ( ) {
         return array_index;
     }
@@ -147,6 +161,10 @@ public class SymbolWidget extends PVWidget {
         return initial_index;
     }
 
+    public WidgetProperty<Boolean> propPreloadFrames ( ) {
+        return preload_frames;
+    }
+
     public WidgetProperty<Boolean> propPreserveRatio ( ) {
         return preserve_ratio;
     }
@@ -184,6 +202,7 @@ public class SymbolWidget extends PVWidget {
         properties.add(auto_size      = propAutoSize.createProperty(this, false));
         properties.add(enabled        = propEnabled.createProperty(this, true));
         properties.add(preserve_ratio = propPreserveRatio.createProperty(this, true));
+        properties.add(preload_frames = propPreloadFrames.createProperty(this, false));
 
     }
 
@@ -561,23 +561,17 @@ public class TableWidget extends VisibleWidget
             final VTable table = (VTable) the_value;
             final int rows = table.getRowCount();
             final int cols = table.getColumnCount();
+            // Convert column by column
+            final List<List<String>> columns = new ArrayList<>(cols);
+            for (int c=0; c<cols; ++c)
+                columns.add(getColumnText(table.getColumnData(c), rows));
             // Extract 2D string matrix for data
             final List<List<String>> data = new ArrayList<>(rows);
             for (int r=0; r<rows; ++r)
             {
                 final List<String> row = new ArrayList<>(cols);
                 for (int c=0; c<cols; ++c)
-                {
-                    final Object col_data = table.getColumnData(c);
-                    if (col_data instanceof List)
-                        row.add( Objects.toString(((List)col_data).get(r)) );
-                    else if (col_data instanceof ListDouble)
-                        row.add( Double.toString(((ListDouble)col_data).getDouble(r)) );
-                    else if (col_data instanceof ListNumber)
-                        row.add( Long.toString(((ListNumber)col_data).getLong(r)) );
-                    else
-                        row.add( Objects.toString(col_data) );
-                }
+                    row.add(columns.get(c).get(r));
                 data.add(row);
             }
             return data;
@@ -586,6 +580,34 @@ public class TableWidget extends VisibleWidget
             return Arrays.asList(Arrays.asList(Objects.toString(the_value)));
     }
 
+    /** Convert data of one {@link VTable} column into text
+     *
+     *  @param col_data Column data, a {@link List}, {@link ListNumber} or other object
+     *  @param rows Number of rows
+     *  @return Text for each cell in that column
+     */
+    @SuppressWarnings("rawtypes")
+    public static List<String> getColumnText(final Object col_data, final int rows)
+    {
+        final List<String> column = new ArrayList<>(rows);
+        if (col_data instanceof List)
+            for (int r=0; r<rows; ++r)
+                column.add( Objects.toString(((List)col_data).get(r)) );
+        else if (col_data instanceof ListDouble)
+            for (int r=0; r<rows; ++r)
+                column.add( Double.toString(((ListDouble)col_data).getDouble(r)) );
+        else if (col_data instanceof ListNumber)
+            for (int r=0; r<rows; ++r)
+                column.add( Long.toString(((ListNumber)col_data).getLong(r)) );
+        else
+        {
+            final String text = Objects.toString(col_data);
+            for (int r=0; r<rows; ++r)
+                column.add(text);
+        }
+        return column;
+    }
+
     /** @return Runtime 'cell_colors' */
     public WidgetProperty<List<List<WidgetColor>>> runtimeCellColors()
     {
@@ -110,6 +110,16 @@ public class TabsWidget extends VisibleWidget
         CommonWidgetProperties.newIntegerPropertyDescriptor(WidgetPropertyCategory.DISPLAY, "active_tab", Messages.ActiveTab,
                                                             0, Integer.MAX_VALUE);
 
+    static final WidgetPropertyDescriptor<Boolean> propLazyTabs =
+        CommonWidgetProperties.newBooleanPropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "lazy_tabs", Messages.TabsWidget_LazyTabs);
+
+    static final WidgetPropertyDescriptor<Boolean> propLazyRuntime =
+        CommonWidgetProperties.newBooleanPropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "lazy_runtime", Messages.TabsWidget_LazyRuntime);
+
+    static final WidgetPropertyDescriptor<Integer> propDisposeDelay =
+        CommonWidgetProperties.newIntegerPropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "dispose_delay", Messages.TabsWidget_DisposeDelay,
+                                                            0, Integer.MAX_VALUE);
+
     /** Custom WidgetConfigurator to load legacy file */
     private static class TabsWidgetConfigurator extends WidgetConfigurator
     {
@@ -181,6 +191,9 @@ public class TabsWidget extends VisibleWidget
     private volatile WidgetProperty<Direction> direction;
     private volatile WidgetProperty<Integer> tab_height;
     private volatile WidgetProperty<int[]> insets;
+    private volatile WidgetProperty<Boolean> lazy_tabs;
+    private volatile WidgetProperty<Boolean> lazy_runtime;
+    private volatile WidgetProperty<Integer> dispose_delay;
 
     public TabsWidget()
     {
@@ -200,6 +213,9 @@ public class TabsWidget extends VisibleWidget
         properties.add(direction = propDirection.createProperty(this, Direction.HORIZONTAL));
         properties.add(tab_height = propTabHeight.createProperty(this, 30));
         properties.add(insets = runtimePropInsets.createProperty(this, new int[] { 0, 0 }));
+        properties.add(lazy_tabs = propLazyTabs.createProperty(this, false));
+        properties.add(lazy_runtime = propLazyRuntime.createProperty(this, false));
+        properties.add(dispose_delay = propDisposeDelay.createProperty(this, 0));
 
         // Initial size
         propWidth().setValue(300);
@@ -276,4 +292,22 @@ public class TabsWidget extends VisibleWidget
     {
         return insets;
     }
+
+    /** @return 'lazy_tabs' property: Create content of a tab when it is first selected? */
+    public WidgetProperty<Boolean> propLazyTabs()
+    {
+        return lazy_tabs;
+    }
+
+    /** @return 'lazy_runtime' property: Start runtime of a tab's widgets when it is first selected? */
+    public WidgetProperty<Boolean> propLazyRuntime()
+    {
+        return lazy_runtime;
+    }
+
+    /** @return 'dispose_delay' property: Seconds after which an inactive lazy tab is disposed, 0 to keep */
+    public WidgetProperty<Integer> propDisposeDelay()
+    {
+        return dispose_delay;
+    }
 }
@@ -34,6 +34,7 @@ import org.csstudio.display.builder.rcp.run.RCP_JFXRepresentation;
 import org.csstudio.display.builder.rcp.run.ZoomAction;
 import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
 import org.csstudio.display.builder.runtime.ActionUtil;
+import org.csstudio.display.builder.runtime.DisplaySuspension;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.javafx.swt.JFXCursorFix;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -151,20 +152,33 @@ public class RuntimeViewPart extends FXViewPart
 	// Profiling revealed that FX Canvas updates are already suppressed
 	// by the framework, and pausing the representation skips the JFX node updates,
 	// resulting in significant CPU reduction while hidden.
+	// Optionally, the runtime updates of PVs to widgets, scripts and rules
+	// are also suspended, keeping only the latest update,
+	// which is then applied once when the view is revealed.
+	private final boolean suspend_hidden = org.csstudio.display.builder.runtime.Preferences.isSuspendHiddenDisplays();
+
 	private final IPartListener2 show_hide_listener = new IPartListener2()
     {
         @Override
         public void partHidden(final IWorkbenchPartReference ref)
         {
-            if (ref.getPart(false) == RuntimeViewPart.this)
-                representation.enable(false);
+            if (ref.getPart(false) != RuntimeViewPart.this)
+                return;
+            final DisplayModel model = active_model;
+            if (suspend_hidden  &&  model != null)
+                DisplaySuspension.suspend(model);
+            representation.enable(false);
         }
 
         @Override
         public void partVisible(final IWorkbenchPartReference ref)
         {
-            if (ref.getPart(false) == RuntimeViewPart.this)
-                representation.enable(true);
+            if (ref.getPart(false) != RuntimeViewPart.this)
+                return;
+            representation.enable(true);
+            final DisplayModel model = active_model;
+            if (model != null)
+                DisplaySuspension.resume(model);
         }
 
         @Override public void partOpened(IWorkbenchPartReference ref)       { /* Ignore */ }
@@ -719,6 +733,8 @@ public class RuntimeViewPart extends FXViewPart
     {
         final DisplayModel model = active_model;
         active_model = null;
+        if (model != null)
+            DisplaySuspension.discard(model);
         if (model != null  &&  close_handler != null)
             close_handler.accept(model);
     }
@@ -80,6 +80,9 @@ public class ActionsDialog extends Dialog<ActionInfos>
     private final ListView<ActionInfo> action_list = new ListView<>(actions);
     private CheckBox execute_all;
 
+    /** Prefetch displays of 'open display' actions? */
+    private CheckBox prefetch;
+
     // UI elements for OpenDisplayAction
     private TextField open_display_description, open_display_path;
     private ToggleGroup open_display_targets;
@@ -192,8 +195,13 @@ public class ActionsDialog extends Dialog<ActionInfos>
         execute_all.setSelected(initial_actions.isExecutedAsOne());
         layout.add(execute_all, 0, 2);
 
+        prefetch = new CheckBox(Messages.ActionsDialog_Prefetch);
+        prefetch.setSelected(initial_actions.isPrefetched());
+        layout.add(prefetch, 0, 3);
+
         GridPane.setVgrow(action_list, Priority.ALWAYS);
         GridPane.setVgrow(execute_all, Priority.NEVER);
+        GridPane.setVgrow(prefetch, Priority.NEVER);
 
         // Middle button column of UI
         final MenuButton add = new MenuButton(Messages.Add, JFXUtil.getIcon("add.png"));
@@ -284,7 +292,7 @@ public class ActionsDialog extends Dialog<ActionInfos>
         final StackPane details = new StackPane(open_display_details, write_pv_details,
                                                 execute_script_details, execute_command_details,
                                                 open_file_details, open_web_details);
-        layout.add(details, 2, 1, 1, 2);
+        layout.add(details, 2, 1, 1, 3);
         GridPane.setHgrow(details, Priority.ALWAYS);
         GridPane.setVgrow(details, Priority.ALWAYS);
 
@@ -343,7 +351,7 @@ public class ActionsDialog extends Dialog<ActionInfos>
         setResultConverter(button ->
         {
             if (button == ButtonType.OK)
-                return new ActionInfos(actions, execute_all.isSelected());
+                return new ActionInfos(actions, execute_all.isSelected(), prefetch.isSelected());
             return null;
         });
 
@@ -74,6 +74,7 @@ import org.csstudio.display.builder.model.widgets.ThumbWheelWidget;
 import org.csstudio.display.builder.model.widgets.WebBrowserWidget;
 import org.csstudio.display.builder.model.widgets.plots.ImageWidget;
 import org.csstudio.display.builder.model.widgets.plots.XYPlotWidget;
+import org.csstudio.display.builder.representation.Preferences;
 import org.csstudio.display.builder.representation.ToolkitRepresentation;
 import org.csstudio.display.builder.representation.WidgetRepresentation;
 import org.csstudio.display.builder.representation.WidgetRepresentationFactory;
@@ -94,6 +95,11 @@ import org.csstudio.display.builder.representation.javafx.widgets.JFXBaseReprese
 import org.csstudio.display.builder.representation.javafx.widgets.KnobRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.LEDRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.LabelRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.LightweightEllipseRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.LightweightLEDRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.LightweightLabelRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.LightweightPolylineRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.LightweightRectangleRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.LinearMeterRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.MeterRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.MultiStateLEDRepresentation;
@@ -121,6 +127,7 @@ import org.csstudio.display.builder.representation.javafx.widgets.WebBrowserRepr
 import org.csstudio.display.builder.representation.javafx.widgets.plots.ImageRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.plots.XYPlotRepresentation;
 import org.csstudio.javafx.DialogHelper;
+import org.csstudio.javafx.ImageCache;
 import org.csstudio.javafx.Styles;
 import org.csstudio.javafx.rtplot.ColorMappingFunction;
 import org.csstudio.javafx.rtplot.NamedColorMapping;
@@ -247,6 +254,11 @@ public class JFXRepresentation extends ToolkitRepresentation<Parent, Node>
 
     private static boolean initialized_colormaps = false;
 
+    static
+    {
+        ImageCache.setMaxBytes(Preferences.getImageCacheMB() * 1024L * 1024L);
+    }
+
     /** Constructor
      *  @param edit_mode Edit mode?
      */
@@ -272,6 +284,9 @@ public class JFXRepresentation extends ToolkitRepresentation<Parent, Node>
                 factories.put(type, createFactory(config));
             }
         }
+        // Canvas-based representations are only used at runtime
+        if (! isEditMode())
+            registerLightweightRepresentations(factories);
         for (Map.Entry<String, WidgetRepresentationFactory<Parent, Node>> entry : factories.entrySet())
             register(entry.getKey(), entry.getValue());
 
@@ -333,6 +348,33 @@ public class JFXRepresentation extends ToolkitRepresentation<Parent, Node>
         factories.put(XYPlotWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new XYPlotRepresentation());
     }
 
+    /**
+     * Replace representations with those that draw onto a shared canvas
+     * for the widget types selected in the preferences
+     */
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private static void registerLightweightRepresentations(final Map<String, WidgetRepresentationFactory<Parent, Node>> factories)
+    {
+        final Map<String, WidgetRepresentationFactory<Parent, Node>> lightweight = new HashMap<>();
+        lightweight.put(EllipseWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new LightweightEllipseRepresentation());
+        lightweight.put(LabelWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new LightweightLabelRepresentation());
+        lightweight.put(LEDWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new LightweightLEDRepresentation());
+        lightweight.put(PolylineWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new LightweightPolylineRepresentation());
+        lightweight.put(RectangleWidget.WIDGET_DESCRIPTOR.getType(), ( ) -> (WidgetRepresentation) new LightweightRectangleRepresentation());
+
+        for (String type : Preferences.getLightweightWidgetTypes())
+        {
+            final WidgetRepresentationFactory<Parent, Node> factory = lightweight.get(type);
+            if (factory == null)
+                logger.log(Level.WARNING, "No lightweight representation for widget type '" + type + "'");
+            else
+            {
+                logger.log(Level.CONFIG, "Using lightweight representation for {0}", type);
+                factories.put(type, factory);
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private WidgetRepresentationFactory<Parent, Node> createFactory(final IConfigurationElement config)
     {
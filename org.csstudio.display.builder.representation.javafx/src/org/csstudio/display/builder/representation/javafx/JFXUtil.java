@@ -18,6 +18,7 @@ import org.csstudio.display.builder.model.properties.VerticalAlignment;
 import org.csstudio.display.builder.model.properties.WidgetColor;
 import org.csstudio.display.builder.model.properties.WidgetFont;
 import org.csstudio.display.builder.util.ResourceUtil;
+import org.csstudio.javafx.TextUtils;
 
 import javafx.geometry.Pos;
 import javafx.scene.image.Image;
@@ -46,6 +47,8 @@ public class JFXUtil extends org.csstudio.javafx.JFXUtil
         {
             CommonFonts.install();
             font_calibration = new JFXFontCalibration().getCalibrationFactor();
+            // Text sizes measured before fonts were installed may differ
+            TextUtils.clearCache();
         }
         catch (Exception ex)
         {
@@ -27,6 +27,7 @@ public class Messages extends NLS
     public static String ActionsDialog_FilePath;
     public static String ActionsDialog_Info;
     public static String ActionsDialog_PVName;
+    public static String ActionsDialog_Prefetch;
     public static String ActionsDialog_ScriptPath;
     public static String ActionsDialog_ScriptText;
     public static String ActionsDialog_Title;
@@ -27,6 +27,7 @@ import org.csstudio.display.builder.model.properties.StringWidgetProperty;
 import org.csstudio.display.builder.model.widgets.ActionButtonWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
 import org.csstudio.display.builder.representation.javafx.Messages;
+import org.csstudio.javafx.ImageCache;
 import org.csstudio.javafx.Styles;
 import org.eclipse.osgi.util.NLS;
 
@@ -173,7 +174,7 @@ public class ActionButtonRepresentation extends RegionBaseRepresentation<Pane, A
             for (final ActionInfo action : actions.getActions())
             {
                 final MenuItem item = new MenuItem(makeActionText(action),
-                                                   new ImageView(new Image(action.getType().getIconStream()))
+                                                   new ImageView(getIcon(action))
                                                   );
                 item.getStyleClass().add("action_button_item");
                 item.setOnAction(event -> confirm(() ->  handleAction(action)));
@@ -225,6 +226,23 @@ public class ActionButtonRepresentation extends RegionBaseRepresentation<Pane, A
         });
     }
 
+    /** @param action Action
+     *  @return Icon for the action's type, shared by all buttons
+     */
+    private static Image getIcon(final ActionInfo action)
+    {
+        final ActionInfo.ActionType type = action.getType();
+        try
+        {
+            return ImageCache.cache("action:" + type.name(), () -> new Image(type.getIconStream()));
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot load icon for " + type, ex);
+            return null;
+        }
+    }
+
     private String makeButtonText()
     {
         // If text is "$(actions)", evaluate the actions ourself because
@@ -30,7 +30,10 @@ import org.csstudio.display.builder.model.widgets.GroupWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
 
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.scene.Parent;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.Border;
@@ -46,9 +49,11 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
 {
     private final DirtyFlag dirty_number = new DirtyFlag(); //number of element widgets
     private final DirtyFlag dirty_look = new DirtyFlag(); //size/color of JavaFX Node
+    private final DirtyFlag dirty_scroll = new DirtyFlag(); //scroll bar for virtualized array
     private final WidgetPropertyListener<List<Widget>> childrenChangedListener = this::childrenChanged;
     private final WidgetPropertyListener<Integer> sizeChangedListener = this::sizeChanged;
     private final WidgetPropertyListener<WidgetColor> colorChangedListener = this::colorChanged;
+    private final UntypedWidgetPropertyListener scrollChangedListener = this::scrollChanged;
 
     private static final int inset = 10;
 
@@ -62,6 +67,8 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
     private volatile boolean isArranging = false, isAddingRemoving = false;
     private volatile Widget master = null;
     private Pane inner_pane;
+    /** Scroll bar for virtualized array, only at runtime */
+    private ScrollBar scroll = null;
 
     @Override
     protected Pane createJFXNode() throws Exception
@@ -71,7 +78,29 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
         inner_pane.relocate(inset, inset);
         height = model_widget.propHeight().getValue();
         width = model_widget.propWidth().getValue();
-        return new Pane(inner_pane);
+        final Pane pane = new Pane(inner_pane);
+        if (! toolkit.isEditMode())
+        {
+            // When virtualized, the element widgets are re-used for a
+            // window into the array which the scroll bar moves
+            scroll = new ScrollBar();
+            scroll.setManaged(false);
+            scroll.setVisible(false);
+            scroll.setUnitIncrement(1);
+            scroll.valueProperty().addListener((prop, old, value) ->
+                model_widget.runtimePropFirstIndex().setValue((int) Math.round(value.doubleValue())));
+            pane.getChildren().add(scroll);
+            pane.addEventFilter(ScrollEvent.SCROLL, event ->
+            {
+                if (scroll.isVisible()  &&  event.getDeltaY() != 0)
+                {
+                    scroll.setValue(Math.max(scroll.getMin(), Math.min(scroll.getMax(),
+                                    scroll.getValue() - Math.signum(event.getDeltaY()))));
+                    event.consume();
+                }
+            });
+        }
+        return pane;
     }
 
     @Override
@@ -89,6 +118,9 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
         model_widget.propWidth().addPropertyListener(sizeChangedListener);
         model_widget.propForegroundColor().addPropertyListener(colorChangedListener);
         model_widget.displayBackgroundColor().addPropertyListener(colorChangedListener);
+        model_widget.propVirtualized().addUntypedPropertyListener(scrollChangedListener);
+        model_widget.runtimePropFirstIndex().addUntypedPropertyListener(scrollChangedListener);
+        model_widget.runtimePropArrayLength().addUntypedPropertyListener(scrollChangedListener);
 
         childrenChanged(null, null, model_widget.runtimeChildren().getValue());
         adjustNumberByLength();
@@ -103,6 +135,9 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
         model_widget.propWidth().removePropertyListener(sizeChangedListener);
         model_widget.propForegroundColor().removePropertyListener(colorChangedListener);
         model_widget.displayBackgroundColor().removePropertyListener(colorChangedListener);
+        model_widget.propVirtualized().removePropertyListener(scrollChangedListener);
+        model_widget.runtimePropFirstIndex().removePropertyListener(scrollChangedListener);
+        model_widget.runtimePropArrayLength().removePropertyListener(scrollChangedListener);
         super.unregisterListeners();
     }
 
@@ -136,7 +171,42 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
                             new Insets(inset / 2))));
             color = JFXUtil.convert(model_widget.displayBackgroundColor().getValue());
             jfx_node.setBackground(new Background(new BackgroundFill(color, null, null)));
+            dirty_scroll.mark();
+        }
+        if (dirty_scroll.checkAndClear()  &&  scroll != null)
+            updateScrollBar();
+    }
+
+    /** Show scroll bar when virtualized array has more elements than element widgets */
+    private void updateScrollBar()
+    {
+        final List<Widget> children = model_widget.runtimeChildren().getValue();
+        final int count = children.size();
+        final int length = model_widget.runtimePropArrayLength().getValue();
+        if (! model_widget.propVirtualized().getValue()  ||  count <= 0  ||  length <= count)
+        {
+            scroll.setVisible(false);
+            return;
+        }
+        final int w = model_widget.propWidth().getValue(),
+                  h = model_widget.propHeight().getValue();
+        // Place scroll bar in the inset next to the element widgets
+        if (testVerticalStacking(children.get(0)))
+        {
+            scroll.setOrientation(Orientation.VERTICAL);
+            scroll.resizeRelocate(w - inset, inset, inset, h - inset * 2);
+        }
+        else
+        {
+            scroll.setOrientation(Orientation.HORIZONTAL);
+            scroll.resizeRelocate(inset, h - inset, w - inset * 2, inset);
         }
+        final int max = length - count;
+        scroll.setMax(max);
+        scroll.setVisibleAmount(Math.max(1.0, (double) max * count / length));
+        scroll.setBlockIncrement(count);
+        scroll.setValue(Math.min(model_widget.runtimePropFirstIndex().getValue(), max));
+        scroll.setVisible(true);
     }
 
     private void colorChanged(final WidgetProperty<WidgetColor> property, final WidgetColor old_value, final WidgetColor new_value)
@@ -145,6 +215,12 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
         toolkit.scheduleUpdate(this);
     }
 
+    private void scrollChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        dirty_scroll.mark();
+        toolkit.scheduleUpdate(this);
+    }
+
     private void sizeChanged(final WidgetProperty<Integer> property, final Integer old_value, final Integer new_value)
     {
         if (!isArranging && (old_value != new_value || old_value == null))
@@ -239,12 +239,16 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
     /**
      * Change the skin type, resetting some of the gauge parameters.
+     * The skin is only rebuilt when the skin type differs from the current one.
      *
      * @param skinType The new skin to be set.
      */
     protected void changeSkin ( final Gauge.SkinType skinType ) {
 
-        jfx_node.setSkinType(skinType);
+        //  Medusa always builds a new skin, even for the same skin type.
+        if ( jfx_node.getSkinType() != skinType ) {
+            jfx_node.setSkinType(skinType);
+        }
 
         jfx_node.setPrefWidth(model_widget.propWidth().getValue());
         jfx_node.setPrefHeight(model_widget.propHeight().getValue());
@@ -287,7 +291,14 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
         updateLimits();
 
-        Gauge gauge = GaugeBuilder.create().skinType(getSkin()).build();
+        //  Re-use the gauge of a disposed widget to avoid building a new skin.
+        Gauge gauge = takeRecycledJFXNode();
+
+        if ( gauge == null ) {
+            gauge = GaugeBuilder.create().skinType(getSkin()).build();
+        } else if ( gauge.getSkinType() != getSkin() ) {
+            gauge.setSkinType(getSkin());
+        }
 
         gauge.setPrefHeight(model_widget.propHeight().getValue());
         gauge.setPrefWidth(model_widget.propWidth().getValue());
@@ -381,6 +392,11 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
     protected abstract Gauge.SkinType getSkin();
 
+    @Override
+    protected boolean isRecyclable ( ) {
+        return true;
+    }
+
     /**
      * @return The unit string to be displayed.
      */
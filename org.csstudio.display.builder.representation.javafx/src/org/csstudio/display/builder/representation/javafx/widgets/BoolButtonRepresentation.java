@@ -21,6 +21,7 @@ import org.csstudio.display.builder.model.util.ModelResourceUtil;
 import org.csstudio.display.builder.model.util.VTypeUtil;
 import org.csstudio.display.builder.model.widgets.BoolButtonWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.csstudio.javafx.ImageCache;
 import org.csstudio.javafx.Styles;
 import org.diirt.vtype.VEnum;
 import org.diirt.vtype.VType;
@@ -238,7 +239,7 @@ public class BoolButtonRepresentation extends RegionBaseRepresentation<ButtonBas
             // Resolve image file relative to the source widget model (not 'top'!)
             final DisplayModel widget_model = model_widget.getDisplayModel();
             final String resolved = ModelResourceUtil.resolveResource(widget_model, path);
-            return new ImageView(new Image(ModelResourceUtil.openResourceStream(resolved)));
+            return new ImageView(ImageCache.cache(resolved, () -> new Image(ModelResourceUtil.openResourceStream(resolved))));
         }
         catch (Exception ex)
         {
@@ -11,6 +11,8 @@ import static org.csstudio.display.builder.representation.EmbeddedDisplayReprese
 import static org.csstudio.display.builder.representation.EmbeddedDisplayRepresentationUtil.loadDisplayModel;
 import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
@@ -25,8 +27,12 @@ import org.csstudio.display.builder.model.widgets.EmbeddedDisplayWidget.Resize;
 import org.csstudio.display.builder.representation.EmbeddedDisplayRepresentationUtil.DisplayAndGroup;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
 
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.ScrollPane.ScrollBarPolicy;
 import javafx.scene.layout.Background;
@@ -49,6 +55,10 @@ import javafx.scene.transform.Scale;
  *  in the editor.
  *  The embedded model will be started by the EmbeddedDisplayRuntime.
  *
+ *  <p>In 'lazy' mode, the model is only loaded (and thus started)
+ *  once the widget is first shown, not while it's
+ *  for example in a hidden tab or scrolled out of view.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -88,6 +98,20 @@ public class EmbeddedDisplayRepresentation extends RegionBaseRepresentation<Scro
     /** Flag to avoid recursion when this code changes the widget size */
     private volatile boolean resizing = false;
 
+    /** Set while lazy mode waits for the widget to be shown */
+    private volatile boolean await_shown = false;
+
+    /** Nodes and scene observed while awaiting the widget to be shown. Only accessed on UI thread */
+    private final List<Node> observed_nodes = new ArrayList<>();
+    private Scene observed_scene = null;
+    private final InvalidationListener shown_listener = observable -> checkShown();
+    private final InvalidationListener scene_listener = observable ->
+    {
+        unobserve();
+        observe();
+        checkShown();
+    };
+
     @Override
     protected boolean isFilteringEditModeClicks()
     {
@@ -132,9 +156,98 @@ public class EmbeddedDisplayRepresentation extends RegionBaseRepresentation<Scro
         model_widget.propMacros().addUntypedPropertyListener(fileChangedListener);
 
         model_widget.propTransparent().addUntypedPropertyListener(backgroundChangedListener);
+
+        if (model_widget.propLazyLoad().getValue()  &&  !toolkit.isEditMode())
+        {
+            await_shown = true;
+            jfx_node.sceneProperty().addListener(scene_listener);
+            observe();
+            checkShown();
+        }
         fileChanged(null, null, null);
     }
 
+    /** Observe nodes and scene that determine if the widget is shown */
+    private void observe()
+    {
+        // Position and size change as widget is laid out or scrolled
+        jfx_node.boundsInParentProperty().addListener(shown_listener);
+        jfx_node.localToSceneTransformProperty().addListener(shown_listener);
+        validateObserved();
+        // Visibility changes for example when parent tab is selected
+        for (Node node = jfx_node;  node != null;  node = node.getParent())
+        {
+            node.visibleProperty().addListener(shown_listener);
+            observed_nodes.add(node);
+        }
+        observed_scene = jfx_node.getScene();
+        if (observed_scene != null)
+        {
+            observed_scene.widthProperty().addListener(shown_listener);
+            observed_scene.heightProperty().addListener(shown_listener);
+        }
+    }
+
+    private void unobserve()
+    {
+        jfx_node.boundsInParentProperty().removeListener(shown_listener);
+        jfx_node.localToSceneTransformProperty().removeListener(shown_listener);
+        for (Node node : observed_nodes)
+            node.visibleProperty().removeListener(shown_listener);
+        observed_nodes.clear();
+        if (observed_scene != null)
+        {
+            observed_scene.widthProperty().removeListener(shown_listener);
+            observed_scene.heightProperty().removeListener(shown_listener);
+            observed_scene = null;
+        }
+    }
+
+    /** Start loading the content once the widget is shown */
+    private void checkShown()
+    {
+        if (!await_shown  ||  jfx_node == null)
+            return;
+        validateObserved();
+        if (! isShown())
+            return;
+        await_shown = false;
+        unobserve();
+        jfx_node.sceneProperty().removeListener(scene_listener);
+        ModelThreadPool.getExecutor().execute(this::updatePendingDisplay);
+    }
+
+    /** Invalidation listeners are only notified again once the value has been fetched */
+    private void validateObserved()
+    {
+        jfx_node.getBoundsInParent();
+        jfx_node.getLocalToSceneTransform();
+    }
+
+    /** @return Is widget visible and at least partially within its scene and scroll panes? */
+    private boolean isShown()
+    {
+        final Scene scene = jfx_node.getScene();
+        if (scene == null)
+            return false;
+        final Bounds bounds = jfx_node.localToScene(jfx_node.getBoundsInLocal());
+        // Not laid out, yet?
+        if (bounds.getWidth() <= 0  ||  bounds.getHeight() <= 0)
+            return false;
+        if (bounds.getMaxX() < 0  ||  bounds.getMinX() > scene.getWidth()  ||
+            bounds.getMaxY() < 0  ||  bounds.getMinY() > scene.getHeight())
+            return false;
+        for (Node node = jfx_node;  node != null;  node = node.getParent())
+        {
+            if (! node.isVisible())
+                return false;
+            if (node != jfx_node  &&  node instanceof ScrollPane  &&
+                ! node.localToScene(node.getBoundsInLocal()).intersects(bounds))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     protected void unregisterListeners()
     {
@@ -196,8 +309,10 @@ public class EmbeddedDisplayRepresentation extends RegionBaseRepresentation<Scro
         if (skipped != null)
             logger.log(Level.FINE, "Skipped: {0}", skipped);
 
-        // Load embedded display in background thread
-        ModelThreadPool.getExecutor().execute(this::updatePendingDisplay);
+        // Load embedded display in background thread,
+        // unless lazy mode still waits for the widget to be shown
+        if (! await_shown)
+            ModelThreadPool.getExecutor().execute(this::updatePendingDisplay);
     }
 
     /** Update to the next pending display
@@ -373,6 +488,12 @@ public class EmbeddedDisplayRepresentation extends RegionBaseRepresentation<Scro
         //
         // --> Very unlikely to happen because runtime has been stopped,
         //     so nothing is changing the file name right now.
+        if (await_shown)
+        {
+            await_shown = false;
+            unobserve();
+            jfx_node.sceneProperty().removeListener(scene_listener);
+        }
         final DisplayModel em = active_content_model.getAndSet(null);
         model_widget.runtimePropEmbeddedModel().setValue(null);
 
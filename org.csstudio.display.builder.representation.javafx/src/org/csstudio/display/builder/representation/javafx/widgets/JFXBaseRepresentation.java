@@ -46,6 +46,10 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
     private final DirtyFlag dirty_position = new DirtyFlag();
     private final UntypedWidgetPropertyListener positionChangedListener = this::positionChanged;
 
+    /** Mouse handler added to the jfx_node, and was it added as a filter? */
+    private EventHandler<MouseEvent> click_handler = null;
+    private boolean click_filter;
+
     /** {@inheritDoc} */
     @Override
     public Parent createComponents(final Parent parent) throws Exception
@@ -80,14 +84,16 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
                     index = container.get().getProperty(ChildrenProperty.DESCRIPTOR).getValue().indexOf(model_widget);
             }
 
-            if (index < 0)
-                JFXRepresentation.getChildren(parent).add(jfx_node);
+            // Lightweight widgets don't add nodes, so index may exceed the children
+            final List<Node> children = JFXRepresentation.getChildren(parent);
+            if (index < 0  ||  index > children.size())
+                children.add(jfx_node);
             else
-                JFXRepresentation.getChildren(parent).add(index, jfx_node);
+                children.add(index, jfx_node);
 
             if (toolkit.isEditMode())
             {   // Any visible item can be 'clicked' to allow editor to 'select' it
-                final EventHandler<MouseEvent> detect_click = event ->
+                click_handler = event ->
                 {
                     if (event.isPrimaryButtonDown())
                     {
@@ -95,19 +101,22 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
                         toolkit.fireClick(model_widget, event.isShortcutDown());
                     }
                 };
-                if (isFilteringEditModeClicks())
-                    jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, detect_click);
+                click_filter = isFilteringEditModeClicks();
+                if (click_filter)
+                    jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, click_handler);
                 else
-                    jfx_node.addEventHandler(MouseEvent.MOUSE_PRESSED, detect_click);
+                    jfx_node.addEventHandler(MouseEvent.MOUSE_PRESSED, click_handler);
             }
             else
             {
-                jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, event ->
+                click_handler = event ->
                 {
                     // Track the last item clicked for runtime DnD hack
                     toolkit.fireClick(model_widget, event.isShortcutDown());
                     // Don't consume, pass on to widget so e.g. normal button behavior still applies
-                });
+                };
+                click_filter = true;
+                jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, click_handler);
                 jfx_node.setOnContextMenuRequested((event) ->
                 {
                     event.consume();
@@ -153,6 +162,32 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
      */
     abstract protected JFX createJFXNode() throws Exception;
 
+    /** Does the representation support re-use of its JFX node?
+     *
+     *  <p>When <code>true</code>, the jfx_node is released to the {@link JFXNodePool}
+     *  on disposal, with all listeners and handlers of this representation removed,
+     *  and <code>createJFXNode()</code> may obtain it via <code>takeRecycledJFXNode()</code>
+     *  for another widget of the same type.
+     *  The representation must then fully re-configure the node.
+     *
+     *  @return <code>true</code> if JFX node may be re-used
+     */
+    protected boolean isRecyclable()
+    {
+        return false;
+    }
+
+    /** @return JFX node released by another representation of the same widget type, or <code>null</code>
+     *  @see #isRecyclable()
+     */
+    @SuppressWarnings("unchecked")
+    protected JFX takeRecycledJFXNode()
+    {
+        if (! isRecyclable())
+            return null;
+        return (JFX) JFXNodePool.take(model_widget.getType());
+    }
+
     /** @param widget Widget
      *  @return JFX node used to represent the widget
      */
@@ -164,11 +199,13 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
             final DisplayModel model = (DisplayModel) widget;
             return model.getUserData(Widget.USER_DATA_TOOLKIT_PARENT);
         }
-        final JFXBaseRepresentation<Node, Widget> representation =
+        final WidgetRepresentation<Parent, Node, Widget> representation =
                 widget.getUserData(Widget.USER_DATA_REPRESENTATION);
         if (representation == null)
             throw new NullPointerException("Missing representation for " + widget);
-        return representation.jfx_node;
+        if (representation instanceof LightweightRepresentation)
+            return ((LightweightRepresentation<?>) representation).getCanvas();
+        return ((JFXBaseRepresentation<?, ?>) representation).jfx_node;
     }
 
     /** {@inheritDoc} */
@@ -178,6 +215,18 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
         unregisterListeners();
         Objects.requireNonNull(jfx_node);
         JFXRepresentation.getChildren(jfx_node.getParent()).remove(jfx_node);
+        if (isRecyclable())
+        {
+            if (click_handler != null)
+            {
+                if (click_filter)
+                    jfx_node.removeEventFilter(MouseEvent.MOUSE_PRESSED, click_handler);
+                else
+                    jfx_node.removeEventHandler(MouseEvent.MOUSE_PRESSED, click_handler);
+            }
+            jfx_node.setOnContextMenuRequested(null);
+            JFXNodePool.release(model_widget.getType(), jfx_node);
+        }
         jfx_node = null;
     }
 
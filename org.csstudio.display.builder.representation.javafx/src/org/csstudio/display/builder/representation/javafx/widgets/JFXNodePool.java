@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.representation.Preferences;
+
+import javafx.scene.Node;
+
+/** Pool of JFX nodes for re-use by representations of the same widget type
+ *
+ *  <p>Representations that support it release their node
+ *  when disposed, and a new representation of the same
+ *  widget type may then take it instead of creating a new node.
+ *  The number of pooled nodes per widget type is limited
+ *  by the 'node_pool_sizes' preference.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class JFXNodePool
+{
+    /** Nodes and statistics for one widget type */
+    private static class Pool
+    {
+        final int limit;
+        final Deque<Node> nodes = new ArrayDeque<>();
+        long reused = 0, created = 0, dropped = 0;
+
+        Pool(final int limit)
+        {
+            this.limit = limit;
+        }
+    }
+
+    /** Pool size by widget type */
+    private static final Map<String, Integer> limits = Preferences.getNodePoolSizes();
+
+    /** Pools by widget type, guarded by synchronizing on pools */
+    private static final Map<String, Pool> pools = new HashMap<>();
+
+    private static Pool getPool(final String type)
+    {
+        return pools.computeIfAbsent(type, t -> new Pool(limits.getOrDefault(t, 0)));
+    }
+
+    /** @param type Widget type
+     *  @return Node released by an earlier representation of that widget type, or <code>null</code>
+     */
+    static Node take(final String type)
+    {
+        synchronized (pools)
+        {
+            final Pool pool = getPool(type);
+            final Node node = pool.nodes.poll();
+            if (node == null)
+                ++pool.created;
+            else
+                ++pool.reused;
+            return node;
+        }
+    }
+
+    /** @param type Widget type
+     *  @param node Node that is no longer used, may be kept for re-use
+     */
+    static void release(final String type, final Node node)
+    {
+        synchronized (pools)
+        {
+            final Pool pool = getPool(type);
+            if (pool.nodes.size() < pool.limit)
+                pool.nodes.push(node);
+            else
+                ++pool.dropped;
+            logger.log(Level.FINE, "Node pool for {0}: {1} pooled, {2} reused, {3} created, {4} dropped",
+                       new Object[] { type, pool.nodes.size(), pool.reused, pool.created, pool.dropped });
+        }
+    }
+
+    /** @param type Widget type
+     *  @return Number of nodes that were re-used for that widget type
+     */
+    public static long getReused(final String type)
+    {
+        synchronized (pools)
+        {
+            return getPool(type).reused;
+        }
+    }
+
+    /** @param type Widget type
+     *  @return Number of nodes that had to be created because none were pooled
+     */
+    public static long getCreated(final String type)
+    {
+        synchronized (pools)
+        {
+            return getPool(type).created;
+        }
+    }
+
+    /** @param type Widget type
+     *  @return Number of released nodes that were not pooled because the pool was full
+     */
+    public static long getDropped(final String type)
+    {
+        synchronized (pools)
+        {
+            return getPool(type).dropped;
+        }
+    }
+
+    /** @param type Widget type
+     *  @return Number of nodes currently held for re-use
+     */
+    public static int getPooled(final String type)
+    {
+        synchronized (pools)
+        {
+            return getPool(type).nodes.size();
+        }
+    }
+
+    /** Remove all pooled nodes */
+    public static void clear()
+    {
+        synchronized (pools)
+        {
+            for (Pool pool : pools.values())
+                pool.nodes.clear();
+        }
+    }
+}
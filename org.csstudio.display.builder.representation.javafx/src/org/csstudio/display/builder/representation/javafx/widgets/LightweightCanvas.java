@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.MouseEvent;
+
+/** Canvas shared by the {@link LightweightRepresentation}s of one parent
+ *
+ *  <p>Widgets are drawn in the order in which they were added.
+ *  When a widget changes, only the area that it used to cover
+ *  and the area that it now covers are repainted,
+ *  once for all the changes of one update cycle.
+ *
+ *  <p>Clicks, context menu requests and tool tips
+ *  are forwarded to the widget under the mouse.
+ *
+ *  <p>Only accessed on the UI thread.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class LightweightCanvas
+{
+    /** Key for the canvas in the properties of the parent */
+    private static final String CANVAS_KEY = "_lightweight_canvas";
+
+    private final Parent parent;
+    private final Canvas canvas = new Canvas();
+    private final List<LightweightRepresentation<?>> items = new ArrayList<>();
+
+    /** Region that needs to be repainted */
+    private double dirty_x0 = Double.POSITIVE_INFINITY, dirty_y0 = Double.POSITIVE_INFINITY,
+                   dirty_x1 = Double.NEGATIVE_INFINITY, dirty_y1 = Double.NEGATIVE_INFINITY;
+
+    /** Has a repaint been scheduled? */
+    private boolean paint_pending = false;
+
+    /** Item which has its tool tip attached to the canvas */
+    private LightweightRepresentation<?> tooltip_item = null;
+
+    /** @param parent Parent
+     *  @return Canvas for lightweight widgets in that parent, created when needed
+     */
+    static LightweightCanvas get(final Parent parent)
+    {
+        LightweightCanvas lightweight = (LightweightCanvas) parent.getProperties().get(CANVAS_KEY);
+        if (lightweight == null)
+        {
+            lightweight = new LightweightCanvas(parent);
+            parent.getProperties().put(CANVAS_KEY, lightweight);
+        }
+        return lightweight;
+    }
+
+    private LightweightCanvas(final Parent parent)
+    {
+        this.parent = parent;
+        // Canvas is sized to fit the items, don't involve the parent's layout
+        canvas.setManaged(false);
+        canvas.addEventFilter(MouseEvent.MOUSE_PRESSED, this::mousePressed);
+        canvas.setOnContextMenuRequested(this::contextMenuRequested);
+        canvas.setOnMouseMoved(event -> setTooltipItem(findItem(event.getX(), event.getY())));
+        canvas.setOnMouseExited(event -> setTooltipItem(null));
+        // Below all the nodes of the parent
+        JFXRepresentation.getChildren(parent).add(0, canvas);
+    }
+
+    /** @return Canvas node */
+    Canvas getCanvas()
+    {
+        return canvas;
+    }
+
+    /** @param item Item to add on top of existing items */
+    void add(final LightweightRepresentation<?> item)
+    {
+        items.add(item);
+    }
+
+    /** Remove item, and the canvas once it no longer holds any items
+     *  @param item Item to remove
+     */
+    void remove(final LightweightRepresentation<?> item)
+    {
+        if (tooltip_item == item)
+            setTooltipItem(null);
+        items.remove(item);
+        invalidate(item.getBounds());
+        if (items.isEmpty())
+        {
+            JFXRepresentation.getChildren(parent).remove(canvas);
+            parent.getProperties().remove(CANVAS_KEY);
+        }
+    }
+
+    /** Schedule repaint of a region
+     *  @param region Region that needs to be repainted
+     */
+    void invalidate(final Rectangle2D region)
+    {
+        if (region.getWidth() <= 0  ||  region.getHeight() <= 0)
+            return;
+        dirty_x0 = Math.min(dirty_x0, region.getMinX());
+        dirty_y0 = Math.min(dirty_y0, region.getMinY());
+        dirty_x1 = Math.max(dirty_x1, region.getMaxX());
+        dirty_y1 = Math.max(dirty_y1, region.getMaxY());
+        if (! paint_pending)
+        {
+            paint_pending = true;
+            Platform.runLater(this::paint);
+        }
+    }
+
+    private void paint()
+    {
+        paint_pending = false;
+        if (items.isEmpty())
+            return;
+
+        // Grow or shrink canvas to fit the items, which requires a full repaint
+        double width = 0, height = 0;
+        for (LightweightRepresentation<?> item : items)
+        {
+            final Rectangle2D bounds = item.getBounds();
+            width = Math.max(width, bounds.getMaxX());
+            height = Math.max(height, bounds.getMaxY());
+        }
+        width = Math.ceil(width);
+        height = Math.ceil(height);
+        if (width != canvas.getWidth()  ||  height != canvas.getHeight())
+        {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty_x0 = dirty_y0 = 0;
+            dirty_x1 = width;
+            dirty_y1 = height;
+        }
+
+        // Repaint dirty region, snapped to full pixels
+        final double x = Math.max(0, Math.floor(dirty_x0)),
+                     y = Math.max(0, Math.floor(dirty_y0)),
+                     w = Math.min(width, Math.ceil(dirty_x1)) - x,
+                     h = Math.min(height, Math.ceil(dirty_y1)) - y;
+        dirty_x0 = dirty_y0 = Double.POSITIVE_INFINITY;
+        dirty_x1 = dirty_y1 = Double.NEGATIVE_INFINITY;
+        if (w <= 0  ||  h <= 0)
+            return;
+
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, w, h);
+        gc.clip();
+        gc.clearRect(x, y, w, h);
+        for (LightweightRepresentation<?> item : items)
+            if (item.getBounds().intersects(x, y, w, h))
+            {
+                gc.save();
+                try
+                {
+                    item.paint(gc);
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.WARNING, "Cannot paint " + item, ex);
+                }
+                gc.restore();
+            }
+        gc.restore();
+    }
+
+    /** @param x X coordinate within canvas
+     *  @param y Y coordinate within canvas
+     *  @return Top-most item at that location or <code>null</code>
+     */
+    private LightweightRepresentation<?> findItem(final double x, final double y)
+    {
+        for (int i=items.size()-1; i>=0; --i)
+        {
+            final LightweightRepresentation<?> item = items.get(i);
+            final Rectangle2D bounds = item.getBounds();
+            // Empty bounds of hidden items would still 'contain' 0, 0
+            if (bounds.getWidth() > 0  &&  bounds.contains(x, y)  &&  item.isHit(x, y))
+                return item;
+        }
+        return null;
+    }
+
+    private void mousePressed(final MouseEvent event)
+    {
+        final LightweightRepresentation<?> item = findItem(event.getX(), event.getY());
+        if (item != null)
+            item.fireClick(event.isShortcutDown());
+        // Don't consume, pass on like the nodes of other widgets
+    }
+
+    private void contextMenuRequested(final ContextMenuEvent event)
+    {
+        final LightweightRepresentation<?> item = findItem(event.getX(), event.getY());
+        if (item != null)
+        {
+            event.consume();
+            item.fireContextMenu();
+        }
+        // else: Pass on to parent, same as a click into the empty parent
+    }
+
+    private void setTooltipItem(final LightweightRepresentation<?> item)
+    {
+        if (item == tooltip_item)
+            return;
+        TooltipSupport.detach(canvas);
+        tooltip_item = item;
+        if (item != null)
+            item.attachTooltip(canvas);
+    }
+}
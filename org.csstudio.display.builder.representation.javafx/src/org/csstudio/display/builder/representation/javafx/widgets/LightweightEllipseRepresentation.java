@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.widgets.EllipseWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/** Draws ellipse widget on shared canvas
+ *  @author Kay Kasemir
+ */
+public class LightweightEllipseRepresentation extends LightweightRepresentation<EllipseWidget>
+{
+    private Color background, line_color;
+    private int line_width;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propBackgroundColor().addUntypedPropertyListener(changedListener);
+        model_widget.propTransparent().addUntypedPropertyListener(changedListener);
+        model_widget.propLineColor().addUntypedPropertyListener(changedListener);
+        model_widget.propLineWidth().addUntypedPropertyListener(changedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propBackgroundColor().removePropertyListener(changedListener);
+        model_widget.propTransparent().removePropertyListener(changedListener);
+        model_widget.propLineColor().removePropertyListener(changedListener);
+        model_widget.propLineWidth().removePropertyListener(changedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected void update()
+    {
+        background = model_widget.propTransparent().getValue()
+                   ? null
+                   : JFXUtil.convert(model_widget.propBackgroundColor().getValue());
+        line_color = JFXUtil.convert(model_widget.propLineColor().getValue());
+        line_width = model_widget.propLineWidth().getValue();
+    }
+
+    @Override
+    protected void paintWidget(final GraphicsContext gc)
+    {
+        if (background != null)
+        {
+            gc.setFill(background);
+            gc.fillOval(0, 0, width, height);
+        }
+        if (line_width > 0)
+        {   // Stroke inside of the widget's area
+            gc.setStroke(line_color);
+            gc.setLineWidth(line_width);
+            gc.strokeOval(line_width/2.0, line_width/2.0, width - line_width, height - line_width);
+        }
+    }
+
+    @Override
+    protected boolean contains(final double x, final double y)
+    {
+        if (width <= 0  ||  height <= 0)
+            return false;
+        final double dx = (x - width/2.0) / (width/2.0),
+                     dy = (y - height/2.0) / (height/2.0);
+        return dx*dx + dy*dy <= 1.0;
+    }
+}
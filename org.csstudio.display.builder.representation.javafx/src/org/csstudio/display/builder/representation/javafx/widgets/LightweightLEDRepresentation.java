@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propBorderAlarmSensitive;
+
+import java.util.List;
+
+import org.csstudio.display.builder.model.util.VTypeUtil;
+import org.csstudio.display.builder.model.widgets.LEDWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.csstudio.javafx.TextUtils;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VType;
+
+import javafx.geometry.Dimension2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/** Draws LED widget on shared canvas
+ *
+ *  <p>Same colors and label as the {@link LEDRepresentation}.
+ *  The alarm-sensitive border is drawn outside of the LED.
+ *
+ *  @author Kay Kasemir
+ */
+public class LightweightLEDRepresentation extends LightweightRepresentation<LEDWidget>
+{
+    /** Width of the LED's outline, see .led in opibuilder.css */
+    private static final double OUTLINE = 2.345;
+
+    /** Width of the widest alarm border */
+    private static final int ALARM_BORDER = 4;
+
+    /** Segments used to approximate the border of a round LED */
+    private static final int SEGMENTS = 48;
+
+    private Color value_color, line_color, foreground;
+    private Font font;
+    private String value_label = "";
+    private boolean square;
+    private AlarmSeverity severity = AlarmSeverity.NONE;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propSquare().addUntypedPropertyListener(changedListener);
+        model_widget.propFont().addUntypedPropertyListener(changedListener);
+        model_widget.propForegroundColor().addUntypedPropertyListener(changedListener);
+        model_widget.propLineColor().addUntypedPropertyListener(changedListener);
+        model_widget.propOffColor().addUntypedPropertyListener(changedListener);
+        model_widget.propOnColor().addUntypedPropertyListener(changedListener);
+        model_widget.propOffLabel().addUntypedPropertyListener(changedListener);
+        model_widget.propOnLabel().addUntypedPropertyListener(changedListener);
+        model_widget.runtimePropValue().addUntypedPropertyListener(changedListener);
+        model_widget.runtimePropConnected().addUntypedPropertyListener(changedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propSquare().removePropertyListener(changedListener);
+        model_widget.propFont().removePropertyListener(changedListener);
+        model_widget.propForegroundColor().removePropertyListener(changedListener);
+        model_widget.propLineColor().removePropertyListener(changedListener);
+        model_widget.propOffColor().removePropertyListener(changedListener);
+        model_widget.propOnColor().removePropertyListener(changedListener);
+        model_widget.propOffLabel().removePropertyListener(changedListener);
+        model_widget.propOnLabel().removePropertyListener(changedListener);
+        model_widget.runtimePropValue().removePropertyListener(changedListener);
+        model_widget.runtimePropConnected().removePropertyListener(changedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected void update()
+    {
+        square = model_widget.propSquare().getValue();
+        font = JFXUtil.convert(model_widget.propFont().getValue());
+        foreground = JFXUtil.convert(model_widget.propForegroundColor().getValue());
+        line_color = JFXUtil.convert(model_widget.propLineColor().getValue());
+
+        final VType value = model_widget.runtimePropValue().getValue();
+        if (value == null)
+        {
+            value_color = RegionBaseRepresentation.alarm_colors[AlarmSeverity.UNDEFINED.ordinal()];
+            value_label = "";
+        }
+        else if (computeOn(value))
+        {
+            value_color = JFXUtil.convert(model_widget.propOnColor().getValue());
+            value_label = model_widget.propOnLabel().getValue();
+        }
+        else
+        {
+            value_color = JFXUtil.convert(model_widget.propOffColor().getValue());
+            value_label = model_widget.propOffLabel().getValue();
+        }
+
+        // Alarm-sensitive border, same logic as RegionBaseRepresentation
+        if (! model_widget.runtimePropConnected().getValue())
+            severity = AlarmSeverity.UNDEFINED;
+        else if (model_widget.getPropertyValue(propBorderAlarmSensitive))
+        {
+            if (value instanceof Alarm)
+                severity = ((Alarm)value).getAlarmSeverity();
+            else if (value == null)
+                severity = AlarmSeverity.UNDEFINED;
+            else
+                severity = AlarmSeverity.NONE;
+        }
+        else
+            severity = AlarmSeverity.NONE;
+    }
+
+    /** @param value Value
+     *  @return <code>true</code> for 'on' state, same as {@link LEDRepresentation}
+     */
+    private boolean computeOn(final VType value)
+    {
+        if ((value instanceof VEnum)  &&
+            model_widget.propLabelsFromPV().getValue())
+        {
+            final List<String> labels = ((VEnum) value).getLabels();
+            if (labels.size() == 2)
+            {
+                model_widget.propOffLabel().setValue(labels.get(0));
+                model_widget.propOnLabel().setValue(labels.get(1));
+            }
+        }
+
+        int number = VTypeUtil.getValueNumber(value).intValue();
+        final int bit = model_widget.propBit().getValue();
+        if (bit >= 0)
+            number &= (1 << bit);
+        return number != 0;
+    }
+
+    @Override
+    protected int getMargin()
+    {
+        return ALARM_BORDER;
+    }
+
+    @Override
+    protected void paintWidget(final GraphicsContext gc)
+    {
+        gc.setFill(value_color);
+        gc.setStroke(line_color);
+        gc.setLineWidth(OUTLINE);
+        final double o = OUTLINE/2;
+        if (square)
+        {
+            gc.fillRect(0, 0, width, height);
+            gc.strokeRect(o, o, width - OUTLINE, height - OUTLINE);
+        }
+        else
+        {
+            gc.fillOval(0, 0, width, height);
+            gc.strokeOval(o, o, width - OUTLINE, height - OUTLINE);
+        }
+
+        if (! value_label.isEmpty())
+        {
+            gc.save();
+            gc.beginPath();
+            gc.rect(0, 0, width, height);
+            gc.clip();
+            final Dimension2D size = TextUtils.computeTextSize(font, value_label);
+            gc.setFont(font);
+            gc.setFill(foreground);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.TOP);
+            gc.fillText(value_label, width/2.0, (height - size.getHeight())/2);
+            gc.restore();
+        }
+
+        paintAlarmBorder(gc);
+    }
+
+    /** Paint alarm border outside of the LED,
+     *  using the styles of the RegionBaseRepresentation
+     *  @param gc {@link GraphicsContext}
+     */
+    private void paintAlarmBorder(final GraphicsContext gc)
+    {
+        if (severity == AlarmSeverity.NONE)
+            return;
+        gc.setStroke(RegionBaseRepresentation.alarm_colors[severity.ordinal()]);
+        switch (severity)
+        {
+        case MINOR:
+            gc.setLineWidth(2);
+            strokeLines(gc, outline(1), null);
+            break;
+        case MAJOR:
+            gc.setLineWidth(1);
+            strokeLines(gc, outline(0.5), null);
+            strokeLines(gc, outline(2.5), null);
+            break;
+        case INVALID:
+            gc.setLineWidth(2);
+            strokeLines(gc, outline(1), new double[] { 8.0, 2.0, 2.0, 2.0 });
+            break;
+        case UNDEFINED:
+        default:
+            gc.setLineWidth(4);
+            strokeLines(gc, outline(2), new double[] { 2.0, 2.0 });
+        }
+    }
+
+    /** @param distance Distance outside of the LED
+     *  @return Points of closed line around the LED
+     */
+    private double[] outline(final double distance)
+    {
+        final double x0 = -distance, y0 = -distance,
+                     x1 = width + distance, y1 = height + distance;
+        if (square)
+            return new double[] { x0, y0, x1, y0, x1, y1, x0, y1, x0, y0 };
+        final double cx = width/2.0, cy = height/2.0,
+                     rx = cx + distance, ry = cy + distance;
+        final double[] points = new double[2*(SEGMENTS+1)];
+        for (int i=0; i<=SEGMENTS; ++i)
+        {
+            final double angle = 2*Math.PI*i/SEGMENTS;
+            points[2*i] = cx + rx*Math.cos(angle);
+            points[2*i+1] = cy + ry*Math.sin(angle);
+        }
+        return points;
+    }
+
+    @Override
+    protected boolean contains(final double x, final double y)
+    {
+        // Like the LED's pane, react to the full area
+        return true;
+    }
+}
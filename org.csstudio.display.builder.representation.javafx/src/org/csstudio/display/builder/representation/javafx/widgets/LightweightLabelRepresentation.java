@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.properties.RotationStep;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.csstudio.javafx.TextUtils;
+
+import javafx.geometry.Dimension2D;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/** Draws label widget on shared canvas
+ *
+ *  <p>Supports the same properties as the {@link LabelRepresentation},
+ *  except that text is not wrapped at word boundaries.
+ *
+ *  @author Kay Kasemir
+ */
+public class LightweightLabelRepresentation extends LightweightRepresentation<LabelWidget>
+{
+    private String text;
+    private Font font;
+    private Color foreground, background;
+    private Pos pos;
+    private RotationStep rotation;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propForegroundColor().addUntypedPropertyListener(changedListener);
+        model_widget.propBackgroundColor().addUntypedPropertyListener(changedListener);
+        model_widget.propTransparent().addUntypedPropertyListener(changedListener);
+        model_widget.propFont().addUntypedPropertyListener(changedListener);
+        model_widget.propHorizontalAlignment().addUntypedPropertyListener(changedListener);
+        model_widget.propVerticalAlignment().addUntypedPropertyListener(changedListener);
+        model_widget.propRotationStep().addUntypedPropertyListener(changedListener);
+        model_widget.propText().addUntypedPropertyListener(changedListener);
+        model_widget.propAutoSize().addUntypedPropertyListener(changedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propForegroundColor().removePropertyListener(changedListener);
+        model_widget.propBackgroundColor().removePropertyListener(changedListener);
+        model_widget.propTransparent().removePropertyListener(changedListener);
+        model_widget.propFont().removePropertyListener(changedListener);
+        model_widget.propHorizontalAlignment().removePropertyListener(changedListener);
+        model_widget.propVerticalAlignment().removePropertyListener(changedListener);
+        model_widget.propRotationStep().removePropertyListener(changedListener);
+        model_widget.propText().removePropertyListener(changedListener);
+        model_widget.propAutoSize().removePropertyListener(changedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected void update()
+    {
+        text = model_widget.propText().getValue();
+        font = JFXUtil.convert(model_widget.propFont().getValue());
+        foreground = JFXUtil.convert(model_widget.propForegroundColor().getValue());
+        background = model_widget.propTransparent().getValue()
+                   ? null
+                   : JFXUtil.convert(model_widget.propBackgroundColor().getValue());
+        pos = JFXUtil.computePos(model_widget.propHorizontalAlignment().getValue(),
+                                 model_widget.propVerticalAlignment().getValue());
+        rotation = model_widget.propRotationStep().getValue();
+
+        if (model_widget.propAutoSize().getValue())
+        {   // Triggers another update if the size changes
+            final Dimension2D size = TextUtils.computeTextSize(font, text);
+            model_widget.propWidth().setValue( (int) Math.ceil(size.getWidth()) );
+            model_widget.propHeight().setValue( (int) Math.ceil(size.getHeight()) );
+        }
+    }
+
+    @Override
+    protected void paintWidget(final GraphicsContext gc)
+    {
+        if (background != null)
+        {
+            gc.setFill(background);
+            gc.fillRect(0, 0, width, height);
+        }
+        if (text.isEmpty())
+            return;
+
+        // Rotate like the Label node of LabelRepresentation
+        final double w, h;
+        switch (rotation)
+        {
+        case NINETY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(-height, 0);
+            w = height;
+            h = width;
+            break;
+        case ONEEIGHTY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(-width, -height);
+            w = width;
+            h = height;
+            break;
+        case MINUS_NINETY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(0, -width);
+            w = height;
+            h = width;
+            break;
+        case NONE:
+        default:
+            w = width;
+            h = height;
+        }
+
+        gc.beginPath();
+        gc.rect(0, 0, w, h);
+        gc.clip();
+
+        // Position the block of text within the label.
+        // Lines within the block are left-aligned, same as in a Label.
+        final Dimension2D size = TextUtils.computeTextSize(font, text);
+        final double x, y;
+        switch (pos.getHpos())
+        {
+        case CENTER:
+            x = (w - size.getWidth()) / 2;
+            break;
+        case RIGHT:
+            x = w - size.getWidth();
+            break;
+        case LEFT:
+        default:
+            x = 0;
+        }
+        switch (pos.getVpos())
+        {
+        case CENTER:
+            y = (h - size.getHeight()) / 2;
+            break;
+        case BOTTOM:
+        case BASELINE:
+            y = h - size.getHeight();
+            break;
+        case TOP:
+        default:
+            y = 0;
+        }
+        gc.setFont(font);
+        gc.setFill(foreground);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.TOP);
+        gc.fillText(text, x, y);
+    }
+}
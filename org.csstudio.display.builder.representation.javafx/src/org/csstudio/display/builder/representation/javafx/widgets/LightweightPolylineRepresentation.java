@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.widgets.PolylineWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+/** Draws polyline widget on shared canvas
+ *  @author Kay Kasemir
+ */
+public class LightweightPolylineRepresentation extends LightweightRepresentation<PolylineWidget>
+{
+    /** Default miter limit of the {@link GraphicsContext} */
+    private static final double MITER_LIMIT = 10.0;
+
+    private Color color;
+    private int line_width, arrows, arrow_length;
+    private double[] points = new double[0];
+    private double[] dashes;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propLineColor().addUntypedPropertyListener(changedListener);
+        model_widget.propLineWidth().addUntypedPropertyListener(changedListener);
+        model_widget.propLineStyle().addUntypedPropertyListener(changedListener);
+        model_widget.propPoints().addUntypedPropertyListener(changedListener);
+        model_widget.propArrows().addUntypedPropertyListener(changedListener);
+        model_widget.propArrowLength().addUntypedPropertyListener(changedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propLineColor().removePropertyListener(changedListener);
+        model_widget.propLineWidth().removePropertyListener(changedListener);
+        model_widget.propLineStyle().removePropertyListener(changedListener);
+        model_widget.propPoints().removePropertyListener(changedListener);
+        model_widget.propArrows().removePropertyListener(changedListener);
+        model_widget.propArrowLength().removePropertyListener(changedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected void update()
+    {
+        color = JFXUtil.convert(model_widget.propLineColor().getValue());
+        line_width = model_widget.propLineWidth().getValue();
+        arrows = model_widget.propArrows().getValue().ordinal();
+        arrow_length = model_widget.propArrowLength().getValue();
+
+        final Double[] values = model_widget.propPoints().getValue().asDoubleArray();
+        points = new double[values.length];
+        for (int i=0; i<values.length; ++i)
+            points[i] = values[i];
+
+        // Scale dashes, dots and gaps by line width,
+        // same as PolylineRepresentation
+        switch (model_widget.propLineStyle().getValue())
+        {
+        case DASH:
+            dashes = new double[] { 3.0*line_width, 1.0*line_width };
+            break;
+        case DOT:
+            dashes = new double[] { 1.0*line_width, 1.0*line_width };
+            break;
+        case DASHDOT:
+            dashes = new double[] { 3.0*line_width, 1.0*line_width,
+                                    1.0*line_width, 1.0*line_width };
+            break;
+        case DASHDOTDOT:
+            dashes = new double[] { 3.0*line_width, 1.0*line_width,
+                                    1.0*line_width, 1.0*line_width,
+                                    1.0*line_width, 1.0*line_width };
+            break;
+        case SOLID:
+        default:
+            dashes = null;
+            break;
+        }
+    }
+
+    @Override
+    protected int getMargin()
+    {
+        // Miter joins may extend beyond the points, and so do the arrows
+        return (int) Math.ceil(MITER_LIMIT * line_width / 2 + arrow_length / 4.0) + 1;
+    }
+
+    @Override
+    protected void paintWidget(final GraphicsContext gc)
+    {
+        if (points.length < 4)
+            return;
+        gc.setStroke(color);
+        gc.setFill(color);
+        gc.setLineWidth(line_width);
+        gc.setLineJoin(StrokeLineJoin.MITER);
+        gc.setMiterLimit(MITER_LIMIT);
+        gc.setLineCap(StrokeLineCap.BUTT);
+        strokeLines(gc, points, dashes);
+
+        final int len = points.length;
+        if ((arrows & 1) != 0)
+            paintArrow(gc, points[0], points[1], points[2], points[3]);
+        if ((arrows & 2) != 0)
+            paintArrow(gc, points[len-2], points[len-1], points[len-4], points[len-3]);
+    }
+
+    /** Paint arrow, same shape as PolylineRepresentation.Arrow
+     *  @param gc {@link GraphicsContext}
+     *  @param x1 x-coordinate for tip of arrow (end of line)
+     *  @param y1 y-coordinate for tip of arrow (end of line)
+     *  @param x2 x-coordinate for line extending from arrow
+     *  @param y2 y-coordinate for line extending from arrow
+     */
+    private void paintArrow(final GraphicsContext gc, final double x1, final double y1, final double x2, final double y2)
+    {
+        final double dx = x1 - x2;
+        final double dy = y1 - y2;
+        final double d = Math.sqrt(dx * dx + dy * dy);
+        final double x0 = (d != 0) ? x1 - dx * arrow_length / d : x1;
+        final double y0 = (d != 0) ? y1 - dy * arrow_length / d : y1;
+        final double x_ = (y1 - y0) / 4;
+        final double y_ = (x1 - x0) / 4;
+        final double[] xs = { x0 + x_, x1, x0 - x_ };
+        final double[] ys = { y0 - y_, y1, y0 + y_ };
+        gc.fillPolygon(xs, ys, 3);
+        gc.strokePolygon(xs, ys, 3);
+    }
+
+    @Override
+    protected boolean contains(final double x, final double y)
+    {
+        // Is point close to one of the lines?
+        final double limit = line_width / 2.0 + 2;
+        for (int i=2; i<points.length-1; i+=2)
+        {
+            final double x0 = points[i-2], y0 = points[i-1],
+                         dx = points[i] - x0, dy = points[i+1] - y0;
+            final double length2 = dx*dx + dy*dy;
+            // Position of closest point on the line, 0..1
+            final double pos = length2 > 0
+                             ? Math.max(0, Math.min(1, ((x - x0)*dx + (y - y0)*dy) / length2))
+                             : 0;
+            final double ex = x0 + pos*dx - x, ey = y0 + pos*dy - y;
+            if (ex*ex + ey*ey <= limit*limit)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.widgets.RectangleWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/** Draws rectangle widget on shared canvas
+ *  @author Kay Kasemir
+ */
+public class LightweightRectangleRepresentation extends LightweightRepresentation<RectangleWidget>
+{
+    private Color background, line_color;
+    private int line_width, corner_width, corner_height;
+    private boolean ignore_mouse;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propCornerWidth().addUntypedPropertyListener(changedListener);
+        model_widget.propCornerHeight().addUntypedPropertyListener(changedListener);
+        model_widget.propBackgroundColor().addUntypedPropertyListener(changedListener);
+        model_widget.propTransparent().addUntypedPropertyListener(changedListener);
+        model_widget.propLineColor().addUntypedPropertyListener(changedListener);
+        model_widget.propLineWidth().addUntypedPropertyListener(changedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propCornerWidth().removePropertyListener(changedListener);
+        model_widget.propCornerHeight().removePropertyListener(changedListener);
+        model_widget.propBackgroundColor().removePropertyListener(changedListener);
+        model_widget.propTransparent().removePropertyListener(changedListener);
+        model_widget.propLineColor().removePropertyListener(changedListener);
+        model_widget.propLineWidth().removePropertyListener(changedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected void update()
+    {
+        final boolean transparent = model_widget.propTransparent().getValue();
+        background = transparent
+                   ? null
+                   : JFXUtil.convert(model_widget.propBackgroundColor().getValue());
+        line_color = JFXUtil.convert(model_widget.propLineColor().getValue());
+        line_width = model_widget.propLineWidth().getValue();
+        corner_width = model_widget.propCornerWidth().getValue();
+        corner_height = model_widget.propCornerHeight().getValue();
+        // Like RectangleRepresentation, pass clicks on transparent rectangles
+        // to the underlying widgets unless there are actions
+        ignore_mouse = transparent  &&
+                       model_widget.propActions().getValue().getActions().isEmpty();
+    }
+
+    @Override
+    protected void paintWidget(final GraphicsContext gc)
+    {
+        if (background != null)
+        {
+            gc.setFill(background);
+            gc.fillRoundRect(0, 0, width, height, 2*corner_width, 2*corner_height);
+        }
+        if (line_width > 0)
+        {   // Stroke inside of the widget's area
+            gc.setStroke(line_color);
+            gc.setLineWidth(line_width);
+            gc.strokeRoundRect(line_width/2.0, line_width/2.0, width - line_width, height - line_width,
+                               Math.max(0, 2*corner_width - line_width), Math.max(0, 2*corner_height - line_width));
+        }
+    }
+
+    @Override
+    protected boolean contains(final double x, final double y)
+    {
+        return ! ignore_mouse;
+    }
+}
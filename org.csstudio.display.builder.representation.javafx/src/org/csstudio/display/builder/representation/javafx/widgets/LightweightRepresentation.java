@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.DirtyFlag;
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.widgets.VisibleWidget;
+import org.csstudio.display.builder.representation.WidgetRepresentation;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/** Base class for widget representations that draw onto a shared canvas
+ *
+ *  <p>Instead of creating JavaFX nodes for each widget,
+ *  simple widgets can be drawn onto one {@link Canvas}
+ *  per parent, which reduces the size of the scene graph.
+ *  Only used at runtime.
+ *
+ *  <p>Derived classes register listeners which call
+ *  {@link #changed(WidgetProperty, Object, Object)},
+ *  fetch the model's settings in {@link #update()}
+ *  and draw them in {@link #paint(GraphicsContext)}.
+ *
+ *  @param <MW> Model widget
+ *  @author Kay Kasemir
+ */
+abstract public class LightweightRepresentation<MW extends VisibleWidget> extends WidgetRepresentation<Parent, Node, MW>
+{
+    private final DirtyFlag dirty = new DirtyFlag();
+
+    /** Listener for derived classes to mark the widget as changed */
+    protected final UntypedWidgetPropertyListener changedListener = this::changed;
+
+    private LightweightCanvas canvas;
+
+    /** Area covered on the canvas, only accessed on UI thread */
+    private Rectangle2D bounds = Rectangle2D.EMPTY;
+
+    /** Position and size of the widget, only accessed on UI thread */
+    protected int x, y, width, height;
+
+    /** {@inheritDoc} */
+    @Override
+    public Parent createComponents(final Parent parent) throws Exception
+    {
+        canvas = LightweightCanvas.get(parent);
+        canvas.add(this);
+        registerListeners();
+        dirty.mark();
+        updateChanges();
+        return parent;
+    }
+
+    /** @return Canvas used to represent the widget */
+    public Canvas getCanvas()
+    {
+        return canvas.getCanvas();
+    }
+
+    /** Register model widget listeners.
+     *
+     *  <p>Override must call base class
+     */
+    protected void registerListeners()
+    {
+        model_widget.propVisible().addUntypedPropertyListener(changedListener);
+        model_widget.propX().addUntypedPropertyListener(changedListener);
+        model_widget.propY().addUntypedPropertyListener(changedListener);
+        model_widget.propWidth().addUntypedPropertyListener(changedListener);
+        model_widget.propHeight().addUntypedPropertyListener(changedListener);
+    }
+
+    /** Unregister model widget listeners.
+     *
+     *  <p>Override must call base class
+     */
+    protected void unregisterListeners()
+    {
+        model_widget.propVisible().removePropertyListener(changedListener);
+        model_widget.propX().removePropertyListener(changedListener);
+        model_widget.propY().removePropertyListener(changedListener);
+        model_widget.propWidth().removePropertyListener(changedListener);
+        model_widget.propHeight().removePropertyListener(changedListener);
+    }
+
+    /** Mark widget as changed and schedule an update
+     *  @param property Ignored
+     *  @param old_value Ignored
+     *  @param new_value Ignored
+     */
+    protected void changed(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        dirty.mark();
+        toolkit.scheduleUpdate(this);
+    }
+
+    @Override
+    public void updateChanges()
+    {
+        if (! dirty.checkAndClear())
+            return;
+        x = model_widget.propX().getValue();
+        y = model_widget.propY().getValue();
+        width = model_widget.propWidth().getValue();
+        height = model_widget.propHeight().getValue();
+        update();
+
+        // Repaint the area that used to be covered as well as the new area
+        canvas.invalidate(bounds);
+        if (model_widget.propVisible().getValue())
+        {
+            final int margin = getMargin();
+            bounds = new Rectangle2D(x - margin, y - margin, Math.max(0, width + 2*margin), Math.max(0, height + 2*margin));
+        }
+        else
+            bounds = Rectangle2D.EMPTY;
+        canvas.invalidate(bounds);
+    }
+
+    /** Fetch model settings for painting
+     *
+     *  <p>Called on the UI thread after the widget changed.
+     */
+    abstract protected void update();
+
+    /** @return Pixels that the widget draws beyond its x, y, width, height */
+    protected int getMargin()
+    {
+        return 0;
+    }
+
+    /** @return Area covered on the canvas, empty when not visible */
+    Rectangle2D getBounds()
+    {
+        return bounds;
+    }
+
+    /** Paint the widget
+     *
+     *  <p>Called on the UI thread.
+     *  Graphics context is translated to the top-left corner of the widget
+     *  and restored after the call.
+     *
+     *  @param gc {@link GraphicsContext} of the shared canvas
+     */
+    void paint(final GraphicsContext gc)
+    {
+        gc.translate(x, y);
+        paintWidget(gc);
+    }
+
+    /** Paint the widget
+     *  @param gc {@link GraphicsContext} translated to the top-left corner of the widget
+     */
+    abstract protected void paintWidget(GraphicsContext gc);
+
+    /** Check if a location within the bounds of the widget 'hits' the widget
+     *
+     *  <p>Default implementation returns <code>true</code>
+     *  for the whole area of the widget.
+     *
+     *  @param x X coordinate relative to the widget
+     *  @param y Y coordinate relative to the widget
+     *  @return <code>true</code> if the widget should receive clicks at that point
+     */
+    protected boolean contains(final double x, final double y)
+    {
+        return true;
+    }
+
+    /** @param canvas_x X coordinate within the canvas
+     *  @param canvas_y Y coordinate within the canvas
+     *  @return <code>true</code> if the widget should receive clicks at that point
+     */
+    boolean isHit(final double canvas_x, final double canvas_y)
+    {
+        return contains(canvas_x - x, canvas_y - y);
+    }
+
+    /** @param shortcut Was the shortcut key down? */
+    void fireClick(final boolean shortcut)
+    {
+        toolkit.fireClick(model_widget, shortcut);
+    }
+
+    void fireContextMenu()
+    {
+        toolkit.fireContextMenu(model_widget);
+    }
+
+    /** @param node Node that should show the tool tip of this widget */
+    void attachTooltip(final Node node)
+    {
+        TooltipSupport.attach(node, model_widget.propTooltip());
+    }
+
+    /** Stroke lines with dashes
+     *
+     *  <p>JavaFX 8 {@link GraphicsContext} does not support dashes,
+     *  so each dash is drawn as a separate line.
+     *
+     *  @param gc {@link GraphicsContext}
+     *  @param points x0, y0, x1, y1, .. of the lines
+     *  @param dashes Lengths of dashes and gaps, <code>null</code> for solid line
+     */
+    protected static void strokeLines(final GraphicsContext gc, final double[] points, final double[] dashes)
+    {
+        if (points.length < 4)
+            return;
+        if (dashes == null  ||  dashes[0] <= 0)
+        {
+            final int n = points.length / 2;
+            final double[] xs = new double[n], ys = new double[n];
+            for (int i=0; i<n; ++i)
+            {
+                xs[i] = points[2*i];
+                ys[i] = points[2*i+1];
+            }
+            gc.strokePolyline(xs, ys, n);
+            return;
+        }
+        // Index of current dash or gap and the length left in it,
+        // continued across the segments of the line
+        int dash = 0;
+        double left = dashes[0];
+        for (int i=2; i<points.length-1; i+=2)
+        {
+            final double x0 = points[i-2], y0 = points[i-1],
+                         dx = points[i] - x0, dy = points[i+1] - y0;
+            final double length = Math.sqrt(dx*dx + dy*dy);
+            if (length <= 0)
+                continue;
+            double pos = 0;
+            while (pos < length)
+            {
+                final double end = Math.min(length, pos + left);
+                if ((dash % 2) == 0)
+                    gc.strokeLine(x0 + dx*pos/length, y0 + dy*pos/length,
+                                  x0 + dx*end/length, y0 + dy*end/length);
+                left -= end - pos;
+                pos = end;
+                if (left <= 0)
+                {
+                    dash = (dash + 1) % dashes.length;
+                    left = dashes[dash];
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose()
+    {
+        unregisterListeners();
+        canvas.remove(this);
+    }
+}
@@ -22,6 +22,7 @@ import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
 import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
+import org.csstudio.display.builder.model.persist.DisplayModelCache;
 import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.model.widgets.NavigationTabsWidget;
 import org.csstudio.display.builder.model.widgets.NavigationTabsWidget.TabProperty;
@@ -103,6 +104,16 @@ public class NavigationTabsRepresentation extends RegionBaseRepresentation<Navig
 
         // Load embedded display in background thread
         ModelThreadPool.getExecutor().execute(this::updatePendingDisplay);
+
+        // Prefetch the other tabs so that switching is faster
+        if (model_widget.propPrefetch().getValue()  &&  !toolkit.isEditMode())
+        {
+            final DisplayModel display = model_widget.checkDisplayModel();
+            final String parent_display = display == null ? null : display.getUserData(DisplayModel.USER_DATA_INPUT_FILE);
+            for (TabProperty tab : tabs)
+                if (tab != active_tab)
+                    DisplayModelCache.getInstance().prefetch(parent_display, tab.file().getValue());
+        }
     };
 
     @Override
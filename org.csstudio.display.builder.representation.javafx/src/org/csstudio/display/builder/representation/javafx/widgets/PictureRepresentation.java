@@ -30,6 +30,7 @@ import javafx.scene.image.ImageView;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Scale;
 import javafx.scene.transform.Translate;
 import se.europeanspallationsource.xaos.components.SVG;
 
@@ -44,6 +45,7 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
     /** Change the image size, rotation or preserve_ratio */
     private final DirtyFlag dirty_style = new DirtyFlag();
     private final UntypedWidgetPropertyListener styleChangedListener = this::styleChanged;
+    private final UntypedWidgetPropertyListener sizeChangedListener = this::sizeChanged;
     private final WidgetPropertyListener<String> contentChangedListener = this::contentChanged;
 
     private volatile Image img_loaded;
@@ -92,8 +94,8 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
     protected void registerListeners()
     {
         super.registerListeners();
-        model_widget.propWidth().addUntypedPropertyListener(styleChangedListener);
-        model_widget.propHeight().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propWidth().addUntypedPropertyListener(sizeChangedListener);
+        model_widget.propHeight().addUntypedPropertyListener(sizeChangedListener);
 
         model_widget.propStretch().addUntypedPropertyListener(styleChangedListener);
         model_widget.propRotation().addUntypedPropertyListener(styleChangedListener);
@@ -109,8 +111,8 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
     @Override
     protected void unregisterListeners()
     {
-        model_widget.propWidth().removePropertyListener(styleChangedListener);
-        model_widget.propHeight().removePropertyListener(styleChangedListener);
+        model_widget.propWidth().removePropertyListener(sizeChangedListener);
+        model_widget.propHeight().removePropertyListener(sizeChangedListener);
         model_widget.propStretch().removePropertyListener(styleChangedListener);
         model_widget.propRotation().removePropertyListener(styleChangedListener);
         model_widget.propFile().removePropertyListener(contentChangedListener);
@@ -123,6 +125,15 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
         toolkit.scheduleUpdate(this);
     }
 
+    private void sizeChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        styleChanged(property, old_value, new_value);
+        // SVG is rendered for the widget size
+        final String path = img_path;
+        if (path != null  &&  isSVG(path))
+            ModelThreadPool.getExecutor().execute(() -> loadImage(false, false));
+    }
+
     private void contentChanged(final WidgetProperty<String> property, final String old_value, final String new_value)
     {
         // Imagine if updateChanges executes here. Mark is cleared and image updated before new image loaded.
@@ -151,52 +162,66 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
             load_failed = true;
         }
 
+        loadImage(load_failed, toolkit.isEditMode());
+    }
+
+    /** @param path Image path
+     *  @return Is it an SVG file?
+     */
+    private static boolean isSVG(final String path)
+    {
+        return path.toLowerCase().endsWith(".svg");
+    }
+
+    /** Load image for current path and size
+     *  @param load_failed Did resolving the path already fail?
+     *  @param refresh Read file again instead of using cached image?
+     */
+    private void loadImage(boolean load_failed, final boolean refresh)
+    {
+        final String path = img_path;
         if (!load_failed)
         {
-            if (toolkit.isEditMode())
-                ImageCache.remove(img_path);
-            img_loaded = ImageCache.get(img_path);
-            if (img_loaded == null)
+            if (isSVG(path))
             {
-                if (img_path.toLowerCase().endsWith(".svg"))
+                // SVG is rendered for the widget size,
+                // so cache each size separately.
+                // The editor renders without caching, since resizing
+                // the widget would fill the cache with unused sizes.
+                final double width = model_widget.propWidth().getValue(),
+                             height = model_widget.propHeight().getValue();
+                try
                 {
-                    try
-                    {
-                        // Open the image from the stream created from the resource file
-                        final SVG svg = SVG.load(ModelResourceUtil.openResourceStream(img_path));
-                        final Bounds bounds = svg.getLayoutBounds();
-
-                        img_loaded = new WritableImage((int) Math.round(bounds.getWidth()), (int) Math.round(bounds.getHeight()));
-
-                        toolkit.execute(() ->
-                        {
-                            final SnapshotParameters sp = new SnapshotParameters();
-                            sp.setFill(Color.TRANSPARENT);
-                            svg.snapshot(sp, (WritableImage) img_loaded);
-                        });
-                    }
-                    catch (Exception ex)
+                    if (toolkit.isEditMode())
+                        img_loaded = renderSVG(path, width, height);
+                    else
                     {
-                        logger.log(Level.WARNING, "Failure loading SVG image file:" + img_path, ex);
-                        load_failed = true;
+                        final String key = ImageCache.getKey(path, width, height);
+                        if (refresh)
+                            ImageCache.remove(key);
+                        img_loaded = ImageCache.cache(key, () -> renderSVG(path, width, height));
                     }
                 }
-                else
+                catch (Exception ex)
                 {
-                    try
-                    {
-                        // Open the image from the stream created from the resource file
-                        img_loaded = new Image(ModelResourceUtil.openResourceStream(img_path));
-                    }
-                    catch (Exception ex)
-                    {
-                        logger.log(Level.WARNING, "Failure loading image file:" + img_path, ex);
-                        load_failed = true;
-                    }
+                    logger.log(Level.WARNING, "Failure loading SVG image file:" + path, ex);
+                    load_failed = true;
+                }
+            }
+            else
+            {
+                if (refresh)
+                    ImageCache.remove(path);
+                try
+                {
+                    // Open the image from the stream created from the resource file
+                    img_loaded = ImageCache.cache(path, () -> new Image(ModelResourceUtil.openResourceStream(path)));
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.WARNING, "Failure loading image file:" + path, ex);
+                    load_failed = true;
                 }
-
-                if (!load_failed)
-                    ImageCache.put(img_path, img_loaded);
             }
         }
 
@@ -211,7 +236,7 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
             }
             catch (Exception ex)
             {
-                logger.log(Level.WARNING, "Failure loading default image file:" + img_path, ex);
+                logger.log(Level.WARNING, "Failure loading default image file:" + path, ex);
             }
         }
 
@@ -225,6 +250,32 @@ public class PictureRepresentation extends JFXBaseRepresentation<ImageView, Pict
         toolkit.scheduleUpdate(this);
     }
 
+    /** @param path SVG file
+     *  @param width Widget width
+     *  @param height Widget height
+     *  @return Image for SVG, scaled to cover the widget, which is rendered on the UI thread
+     *  @throws Exception on error
+     */
+    private Image renderSVG(final String path, final double width, final double height) throws Exception
+    {
+        // Open the image from the stream created from the resource file
+        final SVG svg = SVG.load(ModelResourceUtil.openResourceStream(path));
+        final Bounds bounds = svg.getLayoutBounds();
+        final double scale = Math.max(width / bounds.getWidth(), height / bounds.getHeight());
+        final double render_scale = scale > 0  &&  Double.isFinite(scale) ? scale : 1.0;
+
+        final WritableImage image = new WritableImage((int) Math.max(1, Math.round(bounds.getWidth() * render_scale)),
+                                                      (int) Math.max(1, Math.round(bounds.getHeight() * render_scale)));
+        toolkit.execute(() ->
+        {
+            final SnapshotParameters sp = new SnapshotParameters();
+            sp.setFill(Color.TRANSPARENT);
+            sp.setTransform(new Scale(render_scale, render_scale));
+            svg.snapshot(sp, image);
+        });
+        return image;
+    }
+
     @Override
     public void updateChanges()
     {
@@ -33,6 +33,7 @@ import org.diirt.vtype.Alarm;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.VType;
 
+import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
@@ -110,6 +111,7 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
     private final DirtyFlag dirty_border = new DirtyFlag();
     private final UntypedWidgetPropertyListener customBorderChangedListener = this::custom_border_changed;
     private final UntypedWidgetPropertyListener connectionOrValueChangedListener = this::connectionOrValueChanged;
+    private final EventHandler<MouseEvent> middleButtonHandler = this::hookMiddleButtonCopy;
 
     private volatile WidgetProperty<VType> value_prop = null;
     private volatile WidgetProperty<Boolean> alarm_sensitive_border_prop = null;
@@ -186,7 +188,7 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
 
         // Allow middle-button click to copy PV name
         if (model_widget instanceof PVWidget)
-            jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> hookMiddleButtonCopy(event));
+            jfx_node.addEventFilter(MouseEvent.MOUSE_PRESSED, middleButtonHandler);
     }
 
     @Override
@@ -203,8 +205,15 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
                 value_prop.removePropertyListener(connectionOrValueChangedListener);
 
             model_widget.runtimePropConnected().removePropertyListener(connectionOrValueChangedListener);
+
+            if (model_widget instanceof PVWidget)
+                jfx_node.removeEventFilter(MouseEvent.MOUSE_PRESSED, middleButtonHandler);
         }
 
+        // Node that's re-used for another widget must not keep this widget's border
+        if (isRecyclable())
+            jfx_node.setBorder(null);
+
         super.unregisterListeners();
     }
 
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -73,6 +74,7 @@ import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.transform.Scale;
 import se.europeanspallationsource.xaos.components.SVG;
 
 
@@ -94,6 +96,9 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
     private final DirtyFlag                                            dirtyStyle                  = new DirtyFlag();
     private final DirtyFlag                                            dirtyValue                  = new DirtyFlag();
     private volatile boolean                                           enabled                     = true;
+    private volatile Frames                                            frames                      = null;
+    private final UntypedWidgetPropertyListener                        framesChangedListener       = this::framesChanged;
+    private final AtomicInteger                                        framesGeneration            = new AtomicInteger();
     private final UntypedWidgetPropertyListener                        geometryChangedListener     = this::geometryChanged;
     private final ImageView                                            imageView                   = new ImageView();
     private final Label                                                indexLabel                  = new Label();
@@ -191,6 +196,7 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
     public void dispose ( ) {
 
         symbol = null;
+        frames = null;
 
         symbols.get().clear();
         symbols.set(null);
@@ -266,7 +272,7 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
                 updatingValue.set(false);
             }
 
-            if ( idx != Integer.MIN_VALUE ) {
+            if ( idx != Integer.MIN_VALUE && !showFrame(idx) ) {
                 // Valid value.
                 setImageIndex(idx);
             }
@@ -410,6 +416,11 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
         model_widget.propPreserveRatio().addUntypedPropertyListener(geometryChangedListener);
         model_widget.propRotation().addUntypedPropertyListener(geometryChangedListener);
 
+        model_widget.propPreloadFrames().addUntypedPropertyListener(framesChangedListener);
+        model_widget.propWidth().addUntypedPropertyListener(framesChangedListener);
+        model_widget.propHeight().addUntypedPropertyListener(framesChangedListener);
+        model_widget.propPreserveRatio().addUntypedPropertyListener(framesChangedListener);
+
         model_widget.propBackgroundColor().addUntypedPropertyListener(styleChangedListener);
         model_widget.propEnabled().addUntypedPropertyListener(styleChangedListener);
         model_widget.propShowIndex().addUntypedPropertyListener(styleChangedListener);
@@ -444,6 +455,11 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
         model_widget.propPreserveRatio().removePropertyListener(geometryChangedListener);
         model_widget.propRotation().removePropertyListener(geometryChangedListener);
 
+        model_widget.propPreloadFrames().removePropertyListener(framesChangedListener);
+        model_widget.propWidth().removePropertyListener(framesChangedListener);
+        model_widget.propHeight().removePropertyListener(framesChangedListener);
+        model_widget.propPreserveRatio().removePropertyListener(framesChangedListener);
+
         model_widget.propBackgroundColor().removePropertyListener(styleChangedListener);
         model_widget.propEnabled().removePropertyListener(styleChangedListener);
         model_widget.propShowIndex().removePropertyListener(styleChangedListener);
@@ -541,6 +557,85 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
 
     }
 
+    private void framesChanged ( final WidgetProperty<?> property, final Object oldValue, final Object newValue ) {
+        ModelThreadPool.getExecutor().execute(this::loadFrames);
+    }
+
+    /**
+     * When frames are preloaded, decode all symbols for the current widget
+     * size, so that index changes only need to switch the image.
+     */
+    private void loadFrames ( ) {
+
+        int generation = framesGeneration.incrementAndGet();
+        List<Symbol> symbolsList = symbols.get();
+
+        if ( toolkit.isEditMode() || symbolsList == null || !model_widget.propPreloadFrames().getValue() ) {
+            frames = null;
+            return;
+        }
+
+        double w = model_widget.propWidth().getValue();
+        double h = model_widget.propHeight().getValue();
+        boolean preserveRatio = model_widget.propPreserveRatio().getValue();
+        Symbol[] frameSymbols = symbolsList.toArray(new Symbol[symbolsList.size()]);
+        Image[] frameImages = new Image[frameSymbols.length];
+
+        for ( int i = 0; i < frameSymbols.length; i++ ) {
+
+            // Newer request supersedes this one.
+            if ( generation != framesGeneration.get() ) {
+                return;
+            }
+
+            frameImages[i] = frameSymbols[i].getFrame(w, h, preserveRatio);
+
+        }
+
+        if ( generation == framesGeneration.get() ) {
+            frames = new Frames(frameSymbols, frameImages);
+            dirtyValue.mark();
+            toolkit.scheduleUpdate(this);
+        }
+
+    }
+
+    /**
+     * Show a preloaded frame. Must be called on the UI thread.
+     *
+     * @param index The symbol index.
+     * @return {@code false} if there's no preloaded frame for the index.
+     */
+    private boolean showFrame ( int index ) {
+
+        Frames preloaded = frames;
+
+        if ( preloaded == null || index < 0 || preloaded.images.length == 0 ) {
+            return false;
+        }
+
+        int i = Math.min(index, preloaded.images.length - 1);
+        Image frame = preloaded.images[i];
+
+        if ( frame == null ) {
+            return false;
+        }
+
+        symbol = preloaded.symbols[i];
+
+        imageView.setImage(frame);
+
+        if ( jfx_node.getChildren().get(0) != imageView ) {
+            jfx_node.getChildren().set(0, imageView);
+            dirtyGeometry.mark();
+        }
+
+        imageIndex.set(index);
+
+        return true;
+
+    }
+
     private void geometryChanged ( final WidgetProperty<?> property, final Object oldValue, final Object newValue ) {
         dirtyGeometry.mark();
         toolkit.scheduleUpdate(this);
@@ -665,6 +760,8 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
             dirtyValue.mark();
             toolkit.scheduleUpdate(this);
 
+            ModelThreadPool.getExecutor().execute(this::loadFrames);
+
         }
 
     }
@@ -726,22 +823,38 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
 
     }
 
+    /**
+     * Symbols and their images decoded for the widget size.
+     */
+    private static class Frames {
+
+        final Symbol[] symbols;
+        final Image[] images;
+
+        Frames ( Symbol[] symbols, Image[] images ) {
+            this.symbols = symbols;
+            this.images = images;
+        }
+
+    }
+
     private class Symbol {
 
         private final String fileName;
+        private final String imageFileName;
         private Image image = null;
         private double originalHeight = 100;
         private double originalWidth = 100;
 
         Symbol ( ) {
             fileName = null;
+            imageFileName = null;
         }
 
         Symbol ( String fileName ) {
 
             this.fileName = fileName;
-
-            String imageFileName = resolveImageFile(model_widget, fileName);
+            this.imageFileName = resolveImageFile(model_widget, fileName);
 
             if ( imageFileName != null ) {
 
@@ -749,61 +862,88 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
                     ImageCache.remove(imageFileName);
                 }
 
-                image = ImageCache.get(imageFileName);
+                // Concurrent requests for the same file decode it only once.
+                if ( imageFileName.toLowerCase().endsWith(".svg") ) {
+                    try {
+                        image = ImageCache.cache(imageFileName, ( ) -> renderSVG(1.0, 1.0));
+                    } catch ( Exception ex ) {
+                        logger.log(Level.WARNING, "Failure loading SVG image file: ({0}) {1} [{2}].", new Object[] { fileName, imageFileName, ex.getMessage() });
+                    }
+                } else {
+                    try {
+                        // Open the image from the stream created from the
+                        // resource file.
+                        image = ImageCache.cache(imageFileName, ( ) -> new Image(ModelResourceUtil.openResourceStream(imageFileName)));
+                    } catch ( Exception ex ) {
+                        logger.log(Level.WARNING, "Failure loading image: ({0}) {1} [{2}].", new Object[] { fileName, imageFileName, ex.getMessage() });
+                    }
+                }
 
                 if ( image != null ) {
                     originalWidth = image.getWidth();
                     originalHeight = image.getHeight();
-                } else {
+                }
 
-                    boolean loadFailed = true;
+            }
 
-                    if ( imageFileName.toLowerCase().endsWith(".svg") ) {
-                        try {
+        }
+
+        /**
+         * @param width         The widget width.
+         * @param height        The widget height.
+         * @param preserveRatio Whether to preserve the aspect ratio.
+         * @return The image decoded for the given size, or {@code null} if
+         *         this symbol has no image.
+         */
+        Image getFrame ( double width, double height, boolean preserveRatio ) {
+
+            if ( image == null || width <= 0 || height <= 0 ) {
+                return null;
+            }
 
-                            // Open the image from the stream created from the
-                            // resource file.
-                            SVG svg = SVG.load(ModelResourceUtil.openResourceStream(imageFileName));
-                            Bounds bounds = svg.getLayoutBounds();
+            double scaleX = width / originalWidth;
+            double scaleY = height / originalHeight;
 
-                            image = new WritableImage((int) Math.round(bounds.getWidth()), (int) Math.round(bounds.getHeight()));
-                            originalWidth = image.getWidth();
-                            originalHeight = image.getHeight();
-                            loadFailed = false;
+            if ( preserveRatio ) {
+                scaleX = scaleY = Math.min(scaleX, scaleY);
+            }
+
+            double sx = scaleX;
+            double sy = scaleY;
+            String key = ImageCache.getKey(imageFileName, originalWidth * sx, originalHeight * sy);
 
-                            toolkit.execute( ( ) -> {
+            try {
+                if ( imageFileName.toLowerCase().endsWith(".svg") ) {
+                    return ImageCache.cache(key, ( ) -> renderSVG(sx, sy));
+                } else {
+                    return ImageCache.cache(key, ( ) -> new Image(ModelResourceUtil.openResourceStream(imageFileName), Math.max(1, Math.round(originalWidth * sx)), Math.max(1, Math.round(originalHeight * sy)), false, true));
+                }
+            } catch ( Exception ex ) {
+                logger.log(Level.WARNING, "Failure preloading frame: ({0}) {1} [{2}].", new Object[] { fileName, imageFileName, ex.getMessage() });
+                return null;
+            }
 
-                                SnapshotParameters sp = new SnapshotParameters();
+        }
 
-                                sp.setFill(Color.TRANSPARENT);
-                                svg.snapshot(sp, (WritableImage) image);
+        private Image renderSVG ( double scaleX, double scaleY ) throws Exception {
 
-                            });
+            // Open the image from the stream created from the
+            // resource file.
+            SVG svg = SVG.load(ModelResourceUtil.openResourceStream(imageFileName));
+            Bounds bounds = svg.getLayoutBounds();
+            WritableImage svgImage = new WritableImage((int) Math.max(1, Math.round(bounds.getWidth() * scaleX)), (int) Math.max(1, Math.round(bounds.getHeight() * scaleY)));
 
-                        } catch ( Exception ex ) {
-                            logger.log(Level.WARNING, "Failure loading SVG image file: ({0}) {1} [{2}].", new Object[] { fileName, imageFileName, ex.getMessage() });
-                        }
-                    } else {
-                        try {
+            toolkit.execute( ( ) -> {
 
-                            // Open the image from the stream created from the
-                            // resource file.
-                            image = new Image(ModelResourceUtil.openResourceStream(imageFileName));
-                            originalWidth = image.getWidth();
-                            originalHeight = image.getHeight();
-                            loadFailed = false;
+                SnapshotParameters sp = new SnapshotParameters();
 
-                        } catch ( Exception ex ) {
-                            logger.log(Level.WARNING, "Failure loading image: ({0}) {1} [{2}].", new Object[] { fileName, imageFileName, ex.getMessage() });
-                        }
-                    }
+                sp.setFill(Color.TRANSPARENT);
+                sp.setTransform(new Scale(scaleX, scaleY));
+                svg.snapshot(sp, svgImage);
 
-                    if ( !loadFailed ) {
-                        ImageCache.put(imageFileName, image);
-                    }
+            });
 
-                }
-            }
+            return svgImage;
 
         }
 
@@ -8,6 +8,7 @@
 package org.csstudio.display.builder.representation.javafx.widgets;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -59,6 +60,20 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
     /** Most recent table data, row by row */
     private volatile List<List<String>> data = new ArrayList<>();
 
+    /** Most recent VTable value, used to detect unchanged columns.
+     *  Guarded by changed_columns
+     */
+    private VTable table_value = null;
+
+    /** Most recent VTable data, column by column,
+     *  or <code>null</code> when value is not a VTable.
+     *  Guarded by changed_columns
+     */
+    private List<List<String>> table_columns = null;
+
+    /** Columns in table_columns that changed since the last update of the table */
+    private final BitSet changed_columns = new BitSet();
+
     /** Most recent cell colors, row by row */
     private volatile List<List<Color>> cell_colors = null;
 
@@ -110,6 +125,9 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
                 @Override
                 public void tableChanged(final StringTable table)
                 {
+                    // Table no longer matches the last received value,
+                    // next value needs to update all columns
+                    clearTableColumns();
                     updating_table = true;
                     try
                     {
@@ -130,6 +148,8 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
                 @Override
                 public void dataChanged(final StringTable table)
                 {
+                    // User edited cells, next value needs to update all columns
+                    clearTableColumns();
                     updating_table = true;
                     try
                     {
@@ -261,29 +281,108 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
             // "No PV" is very common for table to be set by script
             // Show empty table, not error nor "No PV"
             data = new ArrayList<>();
+            clearTableColumns();
+        }
+        else if (new_value instanceof VTable)
+        {   // Use table's column headers
+            final VTable table = (VTable) new_value;
+            final int cols = table.getColumnCount();
+            final List<String> new_headers = new ArrayList<>(cols);
+            for (int c=0; c<cols; ++c)
+                new_headers.add(table.getColumnName(c));
+            final boolean same_headers = new_headers.equals(headers);
+            if (! same_headers)
+            {
+                headers = new_headers;
+                dirty_columns.mark();
+            }
+            updateTableColumns(table, same_headers);
         }
         else
         {
-            // new_value == model_widget.runtimeValue().getValue() might be
-            // a List<List<String>> or a VTable.
-            // getValue() fetches either one as deep-copied List<List<String>>
+            // new_value == model_widget.runtimeValue().getValue() is
+            // a List<List<String>>.
+            // getValue() fetches it as deep-copied List<List<String>>
             data = model_widget.getValue();
-            if (new_value instanceof VTable)
-            {   // Use table's column headers
-                final VTable table = (VTable) new_value;
-                final int cols = table.getColumnCount();
-                final List<String> new_headers = new ArrayList<>(cols);
-                for (int c=0; c<cols; ++c)
-                    new_headers.add(table.getColumnName(c));
-                if (! new_headers.equals(headers))
+            clearTableColumns();
+        }
+        dirty_data.mark();
+        toolkit.scheduleUpdate(this);
+    }
+
+    /** Convert VTable into cells, column by column
+     *
+     *  <p>Columns with the same data as in the previous value
+     *  re-use the cells of the previous value.
+     *
+     *  @param table New value
+     *  @param same_headers Does the table have the same columns as the previous value?
+     */
+    private void updateTableColumns(final VTable table, final boolean same_headers)
+    {
+        final int rows = table.getRowCount();
+        final int cols = table.getColumnCount();
+        synchronized (changed_columns)
+        {
+            final VTable previous = same_headers ? table_value : null;
+            final boolean same_rows = previous != null  &&  table_columns != null  &&
+                                      previous.getRowCount() == rows;
+            final List<List<String>> columns = new ArrayList<>(cols);
+            for (int c=0; c<cols; ++c)
+            {
+                final Object col_data = table.getColumnData(c);
+                if (same_rows  &&  c < previous.getColumnCount()  &&  c < table_columns.size()  &&
+                    Objects.equals(col_data, previous.getColumnData(c)))
+                    columns.add(table_columns.get(c));
+                else
                 {
-                    headers = new_headers;
-                    dirty_columns.mark();
+                    columns.add(TableWidget.getColumnText(col_data, rows));
+                    changed_columns.set(c);
                 }
             }
+            table_value = table;
+            table_columns = columns;
+        }
+    }
+
+    /** Value is not a VTable, use row-by-row data */
+    private void clearTableColumns()
+    {
+        synchronized (changed_columns)
+        {
+            table_value = null;
+            table_columns = null;
+            changed_columns.clear();
         }
-        dirty_data.mark();
-        toolkit.scheduleUpdate(this);
+    }
+
+    /** Update data of the table
+     *  @param all_columns Update all columns, or only those that changed?
+     */
+    private void updateData(final boolean all_columns)
+    {
+        final int rows;
+        final List<List<String>> columns;
+        synchronized (changed_columns)
+        {
+            if (table_columns == null)
+            {
+                rows = 0;
+                columns = null;
+            }
+            else
+            {   // Pass only the changed columns
+                rows = table_value.getRowCount();
+                columns = new ArrayList<>(table_columns.size());
+                for (int c=0; c<table_columns.size(); ++c)
+                    columns.add(all_columns || changed_columns.get(c) ? table_columns.get(c) : null);
+                changed_columns.clear();
+            }
+        }
+        if (columns == null)
+            jfx_node.setData(data);
+        else
+            jfx_node.setColumnData(rows, columns);
     }
 
     private void cellColorsChanged(final WidgetProperty<List<List<WidgetColor>>> property, final List<List<WidgetColor>> removed, final List<List<WidgetColor>> added)
@@ -329,8 +428,11 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
             jfx_node.setRowSelectionMode(model_widget.propRowSelectionMode().getValue());
         }
 
+        // Setting the headers removes all data
+        boolean columns_reset = false;
         if (dirty_columns.checkAndClear())
         {
+            columns_reset = true;
             jfx_node.setHeaders(headers);
             final List<ColumnProperty> columns = model_widget.propColumns().getValue();
             final int num = Math.min(headers.size(), columns.size());
@@ -355,8 +457,8 @@ public class TableRepresentation extends RegionBaseRepresentation<StringTable, T
                 }
             }
         }
-        if (dirty_data.checkAndClear())
-            jfx_node.setData(data);
+        if (dirty_data.checkAndClear()  ||  columns_reset)
+            updateData(columns_reset);
         if (dirty_cell_colors.checkAndClear())
             jfx_node.setCellColors(cell_colors);
         if (dirty_set_selection.checkAndClear())
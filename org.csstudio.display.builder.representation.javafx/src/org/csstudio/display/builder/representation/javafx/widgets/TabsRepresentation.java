@@ -9,8 +9,13 @@ package org.csstudio.display.builder.representation.javafx.widgets;
 
 import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -21,6 +26,7 @@ import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
 import org.csstudio.display.builder.model.properties.Direction;
+import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.model.widgets.TabsWidget;
 import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
@@ -37,6 +43,11 @@ import javafx.scene.layout.Pane;
 import javafx.scene.text.Font;
 
 /** Creates JavaFX item for model widget
+ *
+ *  <p>With 'lazy_tabs', the child widgets of a tab are only
+ *  represented once the tab is selected, and disposed again
+ *  after the tab has been inactive for the 'dispose_delay'.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -44,6 +55,15 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
 {
     private final DirtyFlag dirty_layout = new DirtyFlag();
 
+    /** Represent children only when their tab is selected? Never in edit mode */
+    private volatile boolean lazy = false;
+
+    /** Tabs with represented children */
+    private final Set<Tab> populated = ConcurrentHashMap.newKeySet();
+
+    /** Timers for disposing children of inactive tabs, only accessed on UI thread */
+    private final Map<Tab, ScheduledFuture<?>> dispose_timers = new HashMap<>();
+
     private final AtomicBoolean changing_active_tab = new AtomicBoolean();
 
     private volatile Font tab_font;
@@ -77,7 +97,8 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
                 toolkit.execute(() -> toolkit.disposeWidget(removed_widget));
             }
 
-        if (added != null)
+        if (added != null  &&
+            (! lazy  ||  populated.contains(jfx_node.getTabs().get(index))))
             addChildren(index, added);
     };
 
@@ -106,6 +127,13 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
         changing_active_tab.set(false);
     };
 
+    // Represent children of lazy tab when selected
+    private final ChangeListener<Tab> selectedTabListener = (t, old, selected) ->
+    {
+        populateTab(selected);
+        scheduleDispose(old);
+    };
+
     @Override
     public TabPane createJFXNode() throws Exception
     {
@@ -126,6 +154,8 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
     {
         super.registerListeners();
 
+        lazy = ! toolkit.isEditMode()  &&  model_widget.propLazyTabs().getValue();
+
         // Create initial tabs and their children
         addTabs(model_widget.propTabs().getValue());
 
@@ -146,6 +176,12 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
         // Update model when UI selects a tab
         jfx_node.getSelectionModel().selectedIndexProperty().addListener(selectedIndexListener);
 
+        if (lazy)
+        {
+            populateTab(jfx_node.getSelectionModel().getSelectedItem());
+            jfx_node.getSelectionModel().selectedItemProperty().addListener(selectedTabListener);
+        }
+
         // Initial update of font, size
         layoutChanged(null, null, null);
     }
@@ -165,6 +201,10 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
         model_widget.propActiveTab().addPropertyListener(track_active_model_tab);
 
         jfx_node.getSelectionModel().selectedIndexProperty().removeListener(selectedIndexListener);
+        jfx_node.getSelectionModel().selectedItemProperty().removeListener(selectedTabListener);
+        for (ScheduledFuture<?> timer : dispose_timers.values())
+            timer.cancel(false);
+        dispose_timers.clear();
 
         super.unregisterListeners();
     }
@@ -199,7 +239,8 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
             final int index = jfx_node.getTabs().size();
             jfx_node.getTabs().add(tab);
 
-            addChildren(index, item.children().getValue());
+            if (! lazy)
+                addChildren(index, item.children().getValue());
 
             item.name().addPropertyListener(tab_title_listener);
             item.children().addPropertyListener(tab_children_listener);
@@ -215,6 +256,10 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
             for (Tab tab : jfx_node.getTabs())
                 if (tab.getUserData() == item)
                 {
+                    final ScheduledFuture<?> timer = dispose_timers.remove(tab);
+                    if (timer != null)
+                        timer.cancel(false);
+                    populated.remove(tab);
                     jfx_node.getTabs().remove(tab);
                     break;
                 }
@@ -233,6 +278,51 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
         }
     }
 
+    /** Represent children of a lazy tab
+     *  @param tab Tab that was selected
+     */
+    private void populateTab(final Tab tab)
+    {
+        if (tab == null)
+            return;
+        final ScheduledFuture<?> timer = dispose_timers.remove(tab);
+        if (timer != null)
+            timer.cancel(false);
+        if (populated.add(tab))
+        {
+            final TabItemProperty item = (TabItemProperty) tab.getUserData();
+            addChildren(jfx_node.getTabs().indexOf(tab), item.children().getValue());
+        }
+    }
+
+    /** Schedule disposal of the children of a lazy tab
+     *  @param tab Tab that is no longer selected
+     */
+    private void scheduleDispose(final Tab tab)
+    {
+        final int delay = model_widget.propDisposeDelay().getValue();
+        if (tab == null  ||  delay <= 0  ||  ! populated.contains(tab))
+            return;
+        final ScheduledFuture<?> timer = dispose_timers.put(tab,
+            ModelThreadPool.getTimer().schedule(() -> toolkit.execute(() -> depopulateTab(tab)), delay, TimeUnit.SECONDS));
+        if (timer != null)
+            timer.cancel(false);
+    }
+
+    /** Dispose children of a lazy tab
+     *  @param tab Tab that has been inactive
+     */
+    private void depopulateTab(final Tab tab)
+    {
+        // Called with delay, may happen after disposal or when selected again
+        if (jfx_node == null  ||  jfx_node.getSelectionModel().getSelectedItem() == tab)
+            return;
+        dispose_timers.remove(tab);
+        if (populated.remove(tab))
+            for (Widget child : ((TabItemProperty) tab.getUserData()).children().getValue())
+                toolkit.disposeWidget(child);
+    }
+
     private void layoutChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
     {
         tab_font = JFXUtil.convert(model_widget.propFont().getValue());
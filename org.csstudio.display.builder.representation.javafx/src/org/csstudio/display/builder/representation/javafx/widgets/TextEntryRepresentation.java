@@ -19,6 +19,7 @@ import org.csstudio.display.builder.model.persist.NamedWidgetColors;
 import org.csstudio.display.builder.model.persist.WidgetColorService;
 import org.csstudio.display.builder.model.properties.WidgetColor;
 import org.csstudio.display.builder.model.util.FormatOptionHandler;
+import org.csstudio.display.builder.model.util.ValueFormatter;
 import org.csstudio.display.builder.model.widgets.PVWidget;
 import org.csstudio.display.builder.model.widgets.TextEntryWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
@@ -51,6 +52,10 @@ public class TextEntryRepresentation extends RegionBaseRepresentation<TextInputC
     private final UntypedWidgetPropertyListener styleChangedListener = this::styleChanged;
     private final WidgetPropertyListener<String> pvnameChangedListener = this::pvnameChanged;
     private volatile String value_text = "<?>";
+    /** Show PV name instead of value? */
+    private volatile boolean show_pv_name = false;
+    /** Formatter for values, only used on UI thread */
+    private ValueFormatter formatter = null;
 
     private static WidgetColor active_color = WidgetColorService.getColor(NamedWidgetColors.ACTIVE_TEXT);
 
@@ -183,6 +188,8 @@ public class TextEntryRepresentation extends RegionBaseRepresentation<TextInputC
      */
     private void restore()
     {
+        // Value is only formatted while not active, so format the latest
+        value_text = computeText(show_pv_name ? null : model_widget.runtimePropValue().getValue());
         jfx_node.setText(value_text);
     }
 
@@ -289,10 +296,11 @@ public class TextEntryRepresentation extends RegionBaseRepresentation<TextInputC
             return "<" + model_widget.propPVName().getValue() + ">";
         if (value == PVWidget.RUNTIME_VALUE_NO_PV)
             return "";
-        return FormatOptionHandler.format(value,
-                                          model_widget.propFormat().getValue(),
-                                          model_widget.propPrecision().getValue(),
-                                          model_widget.propShowUnits().getValue());
+        formatter = ValueFormatter.get(formatter,
+                                       model_widget.propFormat().getValue(),
+                                       model_widget.propPrecision().getValue(),
+                                       model_widget.propShowUnits().getValue());
+        return formatter.format(value);
     }
 
     private void pvnameChanged(final WidgetProperty<String> property, final String old_value, final String new_value)
@@ -301,14 +309,15 @@ public class TextEntryRepresentation extends RegionBaseRepresentation<TextInputC
         // Runtime could deal with disconnect/reconnect for new PV name
         // -> Also OK to show disconnected state until runtime
         //    subscribes to new PV, so we eventually get values from new PV.
-        value_text = computeText(null);
+        show_pv_name = true;
         dirty_content.mark();
         toolkit.scheduleUpdate(this);
     }
 
     private void contentChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
     {
-        value_text = computeText(model_widget.runtimePropValue().getValue());
+        // Only format the latest value when the representation updates
+        show_pv_name = false;
         dirty_content.mark();
         if (! active)
             toolkit.scheduleUpdate(this);
@@ -347,6 +356,9 @@ public class TextEntryRepresentation extends RegionBaseRepresentation<TextInputC
         if (active)
             return;
         if (dirty_content.checkAndClear())
+        {
+            value_text = computeText(show_pv_name ? null : model_widget.runtimePropValue().getValue());
             jfx_node.setText(value_text);
+        }
     }
 }
@@ -13,7 +13,7 @@ import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
 import org.csstudio.display.builder.model.properties.RotationStep;
 import org.csstudio.display.builder.model.properties.WidgetColor;
-import org.csstudio.display.builder.model.util.FormatOptionHandler;
+import org.csstudio.display.builder.model.util.ValueFormatter;
 import org.csstudio.display.builder.model.widgets.PVWidget;
 import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
@@ -47,6 +47,10 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
     private final UntypedWidgetPropertyListener styleChangedListener = this::styleChanged;
     private final WidgetPropertyListener<String> pvnameChangedListener = this::pvnameChanged;
     private volatile String value_text = "<?>";
+    /** Show PV name instead of value? */
+    private volatile boolean show_pv_name = false;
+    /** Formatter for values, only used on UI thread */
+    private ValueFormatter formatter = null;
     private volatile Pos pos;
 
     /** Was there ever any transformation applied to the jfx_node?
@@ -154,10 +158,11 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
             return "<" + model_widget.propPVName().getValue() + ">";
         if (value == PVWidget.RUNTIME_VALUE_NO_PV)
             return "";
-        return FormatOptionHandler.format(value,
-                                          model_widget.propFormat().getValue(),
-                                          model_widget.propPrecision().getValue(),
-                                          model_widget.propShowUnits().getValue());
+        formatter = ValueFormatter.get(formatter,
+                                       model_widget.propFormat().getValue(),
+                                       model_widget.propPrecision().getValue(),
+                                       model_widget.propShowUnits().getValue());
+        return formatter.format(value);
     }
 
     private void pvnameChanged(final WidgetProperty<String> property, final String old_value, final String new_value)
@@ -166,18 +171,15 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
         // Runtime could deal with disconnect/reconnect for new PV name
         // -> Also OK to show disconnected state until runtime
         //    subscribes to new PV, so we eventually get values from new PV.
-        value_text = computeText(null);
+        show_pv_name = true;
         dirty_content.mark();
         toolkit.scheduleUpdate(this);
     }
 
     private void contentChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
     {
-        final String new_text = computeText(model_widget.runtimePropValue().getValue());
-        // Skip update if it's the same text
-        if (value_text.equals(new_text))
-            return;
-        value_text = new_text;
+        // Only format the latest value when the representation updates
+        show_pv_name = false;
         dirty_content.mark();
         toolkit.scheduleUpdate(this);
     }
@@ -254,12 +256,18 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
         }
         if (dirty_content.checkAndClear())
         {
-            if (jfx_node instanceof Label)
-                ((Label)jfx_node).setText(value_text);
-            else
-                ((TextArea)jfx_node).setText(value_text);
-            // Since jfx_node.isManaged() == false, need to trigger layout
-            jfx_node.layout();
+            final String new_text = computeText(show_pv_name ? null : model_widget.runtimePropValue().getValue());
+            // Skip update if it's the same text
+            if (! value_text.equals(new_text))
+            {
+                value_text = new_text;
+                if (jfx_node instanceof Label)
+                    ((Label)jfx_node).setText(value_text);
+                else
+                    ((TextArea)jfx_node).setText(value_text);
+                // Since jfx_node.isManaged() == false, need to trigger layout
+                jfx_node.layout();
+            }
         }
     }
 }
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.javafx.StringTable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+
+/** JUnit test of {@link StringTable} data updates
+ *
+ *  <p>Requires a display for the JavaFX toolkit.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class StringTableTest
+{
+    @BeforeClass
+    public static void initJFX()
+    {
+        // Initializes the JavaFX toolkit
+        new JFXPanel();
+    }
+
+    private static void runOnFX(final Runnable code) throws Exception
+    {
+        final FutureTask<Void> task = new FutureTask<>(code, null);
+        Platform.runLater(task);
+        task.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testColumnData() throws Exception
+    {
+        runOnFX(() ->
+        {
+            final StringTable table = new StringTable(false);
+            table.setHeaders(Arrays.asList("A", "B"));
+            table.setData(Arrays.asList(Arrays.asList("a1", "b1"),
+                                        Arrays.asList("a2", "b2")));
+            assertThat(table.getData().toString(), equalTo("[[a1, b1], [a2, b2]]"));
+
+            // Update only column B, adding a row
+            table.setColumnData(3, Arrays.asList(null, Arrays.asList("x1", "x2", "x3")));
+            assertThat(table.getData().toString(), equalTo("[[a1, x1], [a2, x2], [, x3]]"));
+
+            // Update column A, removing a row. Short columns are padded with empty cells
+            final List<String> column_a = Arrays.asList("y1");
+            table.setColumnData(2, Arrays.asList(column_a, null));
+            assertThat(table.getData().toString(), equalTo("[[y1, x1], [, x2]]"));
+        });
+    }
+}
@@ -88,7 +88,7 @@ public class EmbeddedDisplayRepresentationUtil
             {   // Load model for displayFile, allowing lookup relative to this widget's model
                 final DisplayModel display = model_widget.getDisplayModel();
                 final String parent_display = display.getUserData(DisplayModel.USER_DATA_INPUT_FILE);
-                embedded_model = ModelLoader.resolveAndLoadModel(parent_display, display_and_group.getDisplayFile());
+                embedded_model = ModelLoader.resolveAndLoadCachedModel(parent_display, display_and_group.getDisplayFile());
 
                 // Didn't honor the display size of legacy files,
                 // always shrunk those to wrap their widgets
@@ -7,6 +7,11 @@
  *******************************************************************************/
 package org.csstudio.display.builder.representation;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
 
@@ -74,4 +79,54 @@ public class Preferences
         return milli;
     }
 
+    public static int getImageCacheMB()
+    {
+        int mb = 200;
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            mb = prefs.getInt(ID, "image_cache_mb", mb, null);
+        return mb;
+    }
+
+    public static Set<String> getLightweightWidgetTypes()
+    {
+        final Set<String> types = new HashSet<>();
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+        {
+            final String list = prefs.getString(ID, "lightweight_widgets", "", null);
+            for (String item : list.split(" *, *"))
+            {
+                final String type = item.trim();
+                if (! type.isEmpty())
+                    types.add(type);
+            }
+        }
+        return types;
+    }
+
+    public static Map<String, Integer> getNodePoolSizes()
+    {
+        String setting = "gauge:10, meter:10, linear-meter:10";
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            setting = prefs.getString(ID, "node_pool_sizes", setting, null);
+        final Map<String, Integer> sizes = new HashMap<>();
+        for (String item : setting.split(" *, *"))
+        {
+            final String[] type_size = item.trim().split(" *: *");
+            if (type_size.length != 2)
+                continue;
+            try
+            {
+                sizes.put(type_size[0], Integer.parseInt(type_size[1]));
+            }
+            catch (NumberFormatException ex)
+            {
+                // Ignore, no pool for that type
+            }
+        }
+        return sizes;
+    }
+
 }
@@ -12,6 +12,7 @@ import static org.junit.Assert.assertThat;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.csstudio.display.builder.model.util.VTypeUtil;
@@ -206,6 +207,75 @@ public class ArrayPVDispatcherTest
         PVFactory.releasePV(array_pv);
     }
 
+    /** Test windowed dispatcher */
+    @Test
+    public void testWindowedDispatcher() throws Exception
+    {
+        final RuntimePV array_pv = PVFactory.getPV("loc://window_array(1, 2, 3, 4, 5, 6)");
+
+        final AtomicReference<List<RuntimePV>> element_pvs = new AtomicReference<>();
+        final AtomicInteger changes = new AtomicInteger();
+        final AtomicInteger length = new AtomicInteger();
+        final CountDownLatch got_element_pvs = new CountDownLatch(1);
+
+        final Listener dispatch_listener = new Listener()
+        {
+            @Override
+            public void arrayChanged(final List<RuntimePV> pvs)
+            {
+                element_pvs.set(pvs);
+                changes.incrementAndGet();
+                got_element_pvs.countDown();
+            }
+
+            @Override
+            public void arrayLengthChanged(final int array_length)
+            {
+                length.set(array_length);
+            }
+        };
+
+        // Window of 3 elements, starting at [1]
+        final ArrayPVDispatcher dispatcher = new ArrayPVDispatcher(array_pv, "windowE92A1_", 1, 3, dispatch_listener);
+
+        // Await initial set of per-element PVs
+        got_element_pvs.await();
+        assertThat(length.get(), equalTo(6));
+        assertThat(changes.get(), equalTo(1));
+        assertThat(element_pvs.get().size(), equalTo(3));
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(0).read()).doubleValue(), equalTo(2.0));
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(2).read()).doubleValue(), equalTo(4.0));
+
+        // Move window -> Same per-element PVs, showing different elements
+        dispatcher.setWindow(3, 3);
+        assertThat(changes.get(), equalTo(1));
+        dump(element_pvs.get());
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(0).read()).doubleValue(), equalTo(4.0));
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(2).read()).doubleValue(), equalTo(6.0));
+
+        // Window beyond end of array is moved back
+        dispatcher.setWindow(5, 3);
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(0).read()).doubleValue(), equalTo(4.0));
+
+        // Change per-element PV -> Only that element of the array changes
+        element_pvs.get().get(1).write(50.0);
+        final ListNumber array_value = ( (VNumberArray) array_pv.read() ).getData();
+        System.out.println("Array: " +  array_value );
+        assertThat(array_value.size(), equalTo(6));
+        assertThat(array_value.getDouble(0), equalTo(1.0));
+        assertThat(array_value.getDouble(4), equalTo(50.0));
+        assertThat(array_value.getDouble(5), equalTo(6.0));
+
+        // Array shrinks below window size -> Fewer per-element PVs
+        array_pv.write(new double[] { 7, 8 });
+        assertThat(length.get(), equalTo(2));
+        assertThat(element_pvs.get().size(), equalTo(2));
+        assertThat(VTypeUtil.getValueNumber(element_pvs.get().get(0).read()).doubleValue(), equalTo(7.0));
+
+        dispatcher.close();
+        PVFactory.releasePV(array_pv);
+    }
+
     private void dump(final List<RuntimePV> pvs)
     {
         for (RuntimePV pv : pvs)
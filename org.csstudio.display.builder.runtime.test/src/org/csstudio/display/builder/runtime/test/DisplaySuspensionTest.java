@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.runtime.DisplaySuspension;
+import org.junit.Test;
+
+/** JUnit test of the {@link DisplaySuspension}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplaySuspensionTest
+{
+    @Test
+    public void testSuspendResume() throws Exception
+    {
+        final DisplayModel model = new DisplayModel();
+        final LabelWidget widget = new LabelWidget();
+        model.runtimeChildren().addChild(widget);
+
+        final List<String> updates = new ArrayList<>();
+        final Object key1 = new Object(), key2 = new Object();
+
+        // Not suspended: Updates happen right away
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("a"));
+        assertThat(updates.toString(), equalTo("[a]"));
+        updates.clear();
+
+        // Suspended: Only the last update per key is kept
+        DisplaySuspension.suspend(model);
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("1a"));
+        DisplaySuspension.execute(widget, null, key2, () -> updates.add("2a"));
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("1b"));
+        assertThat(updates.size(), equalTo(0));
+
+        // Resume applies them once
+        DisplaySuspension.resume(model);
+        assertThat(updates.toString(), equalTo("[1b, 2a]"));
+        DisplaySuspension.resume(model);
+        assertThat(updates.size(), equalTo(2));
+
+        // Discard drops pending updates
+        updates.clear();
+        DisplaySuspension.suspend(model);
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("1c"));
+        DisplaySuspension.discard(model);
+        DisplaySuspension.resume(model);
+        assertThat(updates.size(), equalTo(0));
+    }
+
+    @Test
+    public void testUpdateWhileResuming() throws Exception
+    {
+        final DisplayModel model = new DisplayModel();
+        final LabelWidget widget = new LabelWidget();
+        model.runtimeChildren().addChild(widget);
+
+        final List<String> updates = new ArrayList<>();
+        final Object key1 = new Object(), key2 = new Object();
+
+        // While resume applies the update for key2,
+        // a new update for key1 arrives.
+        // It must not be overwritten by the older pending key1 update.
+        DisplaySuspension.suspend(model);
+        DisplaySuspension.execute(widget, null, key2, () ->
+        {
+            updates.add("2");
+            DisplaySuspension.execute(widget, null, key1, () -> updates.add("new"));
+        });
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("old"));
+        DisplaySuspension.resume(model);
+        assertThat(updates.toString(), equalTo("[2, old, new]"));
+
+        // Resumed, so updates happen right away
+        DisplaySuspension.execute(widget, null, key1, () -> updates.add("now"));
+        assertThat(updates.toString(), equalTo("[2, old, new, now]"));
+    }
+}
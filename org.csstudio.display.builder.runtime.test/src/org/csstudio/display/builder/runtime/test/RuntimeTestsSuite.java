@@ -29,6 +29,7 @@ import org.python.core.PySystemState;
     //  The following classes can be in any order.
     ArrayPVDispatcherTest.class,
     CommandExecutorTest.class,
+    DisplaySuspensionTest.class,
     PVFactoryTest.class,
     PythonGatewaySupportTest.class,
     PythonScriptTest.class,
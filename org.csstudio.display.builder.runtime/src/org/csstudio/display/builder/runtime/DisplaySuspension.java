@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime;
+
+import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+
+/** Suspension of runtime updates for a display
+ *
+ *  <p>While a display is suspended, PV updates are not
+ *  written to widget properties and scripts or rules are
+ *  not executed.
+ *  Only the most recent update of each listener is kept,
+ *  and these are applied once when the display is resumed.
+ *
+ *  <p>PVs that match the 'live_pvs' preference
+ *  are always handled right away.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplaySuspension
+{
+    /** Key for the suspension in the user data of the top display model */
+    private static final String USER_DATA_SUSPENSION = "_runtime_suspension";
+
+    /** Number of currently suspended displays, to skip lookup when there are none */
+    private static final AtomicInteger suspended_displays = new AtomicInteger();
+
+    /** Patterns for names of PVs that are never suspended */
+    private static final List<Pattern> live_pvs = Preferences.getLivePVs();
+
+    /** Is the display suspended? Guarded by this */
+    private boolean suspended = false;
+
+    /** Are pending updates being applied?
+     *  Display remains suspended until all have been applied.
+     *  Guarded by this
+     */
+    private boolean resuming = false;
+
+    /** Pending update by listener. Guarded by this */
+    private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+
+    /** Suspend runtime updates of a display
+     *  @param model Top display model
+     */
+    public static void suspend(final DisplayModel model)
+    {
+        final DisplaySuspension suspension;
+        synchronized (DisplaySuspension.class)
+        {
+            DisplaySuspension existing = model.getUserData(USER_DATA_SUSPENSION);
+            if (existing == null)
+            {
+                existing = new DisplaySuspension();
+                model.setUserData(USER_DATA_SUSPENSION, existing);
+            }
+            suspension = existing;
+        }
+        synchronized (suspension)
+        {
+            if (suspension.resuming)
+            {   // Still suspended, stop applying the pending updates
+                suspension.resuming = false;
+                return;
+            }
+            if (suspension.suspended)
+                return;
+            suspension.suspended = true;
+        }
+        suspended_displays.incrementAndGet();
+        logger.log(Level.FINE, "Suspended {0}", model);
+    }
+
+    /** Resume runtime updates of a display
+     *
+     *  <p>Applies the most recent update of each listener
+     *  that was received while the display was suspended.
+     *  Updates that arrive meanwhile are still deferred,
+     *  so they are applied after the older ones,
+     *  and the display is only resumed once no updates are pending.
+     *
+     *  @param model Top display model
+     */
+    public static void resume(final DisplayModel model)
+    {
+        final DisplaySuspension suspension = model.getUserData(USER_DATA_SUSPENSION);
+        if (suspension == null)
+            return;
+        synchronized (suspension)
+        {
+            if (! suspension.suspended  ||  suspension.resuming)
+                return;
+            suspension.resuming = true;
+        }
+        while (true)
+        {
+            final List<Runnable> updates;
+            synchronized (suspension)
+            {
+                if (! suspension.resuming)
+                    return; // Suspended or discarded again
+                if (suspension.pending.isEmpty())
+                {
+                    suspension.resuming = false;
+                    suspension.suspended = false;
+                    break;
+                }
+                updates = new ArrayList<>(suspension.pending.values());
+                suspension.pending.clear();
+            }
+            logger.log(Level.FINE, "Resuming {0} with {1} updates", new Object[] { model, updates.size() });
+            for (Runnable update : updates)
+            {
+                try
+                {
+                    update.run();
+                }
+                catch (Throwable ex)
+                {
+                    logger.log(Level.WARNING, "Update on resume of " + model + " failed", ex);
+                }
+            }
+        }
+        suspended_displays.decrementAndGet();
+    }
+
+    /** Discard suspension of a display that is about to be closed
+     *
+     *  <p>Updates received while the display was suspended are dropped.
+     *
+     *  @param model Top display model
+     */
+    public static void discard(final DisplayModel model)
+    {
+        final DisplaySuspension suspension = model.clearUserData(USER_DATA_SUSPENSION);
+        if (suspension == null)
+            return;
+        synchronized (suspension)
+        {
+            if (! suspension.suspended)
+                return;
+            suspension.suspended = false;
+            suspension.resuming = false;
+            suspension.pending.clear();
+        }
+        suspended_displays.decrementAndGet();
+    }
+
+    /** Perform an update now, or defer it while the display is suspended
+     *
+     *  <p>A deferred update replaces an earlier deferred update
+     *  with the same key.
+     *
+     *  @param widget Widget that is updated
+     *  @param pv PV that triggered the update
+     *  @param key Key for the update, typically the PV listener
+     *  @param update Update to perform
+     */
+    public static void execute(final Widget widget, final RuntimePV pv, final Object key, final Runnable update)
+    {
+        if (! defer(widget, pv, key, update))
+            update.run();
+    }
+
+    private static boolean defer(final Widget widget, final RuntimePV pv, final Object key, final Runnable update)
+    {
+        if (suspended_displays.get() <= 0)
+            return false;
+        if (pv != null  &&  isLive(pv.getName()))
+            return false;
+
+        final DisplaySuspension suspension;
+        try
+        {
+            suspension = widget.getTopDisplayModel().getUserData(USER_DATA_SUSPENSION);
+        }
+        catch (Exception ex)
+        {
+            // Widget not (or no longer) in a display
+            return false;
+        }
+        if (suspension == null)
+            return false;
+        synchronized (suspension)
+        {
+            if (! suspension.suspended)
+                return false;
+            suspension.pending.put(key, update);
+        }
+        return true;
+    }
+
+    /** @param pv_name PV name
+     *  @return <code>true</code> if PV should not be suspended
+     */
+    private static boolean isLive(final String pv_name)
+    {
+        for (Pattern pattern : live_pvs)
+            if (pattern.matcher(pv_name).matches())
+                return true;
+        return false;
+    }
+}
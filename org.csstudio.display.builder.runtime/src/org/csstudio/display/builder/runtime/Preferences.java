@@ -12,6 +12,7 @@ import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Platform;
@@ -28,6 +29,8 @@ public class Preferences
     public static final String PV_FACTORY = "pv_factory";
     public static final String PV_NAME_PATCHES = "pv_name_patches";
     public static final String USE_BOY = "use_boy";
+    public static final String SUSPEND_HIDDEN_DISPLAYS = "suspend_hidden_displays";
+    public static final String LIVE_PVS = "live_pvs";
 
     /** @return Python path */
     public static String getPythonPath()
@@ -93,6 +96,37 @@ public class Preferences
         return use_boy;
     }
 
+    /** @return Suspend runtime updates of hidden displays? */
+    public static boolean isSuspendHiddenDisplays()
+    {
+        return Boolean.parseBoolean(get(SUSPEND_HIDDEN_DISPLAYS, "false"));
+    }
+
+    /** @return Patterns for names of PVs that stay live in suspended displays */
+    public static List<Pattern> getLivePVs()
+    {
+        final List<Pattern> live = new ArrayList<>();
+        final String setting = get(LIVE_PVS, "");
+        if (! setting.isEmpty())
+        {
+            for (String part : setting.split("\\s*,\\s*"))
+            {
+                final String regex = part.trim();
+                if (regex.isEmpty())
+                    continue;
+                try
+                {
+                    live.add(Pattern.compile(regex));
+                }
+                catch (PatternSyntaxException ex)
+                {
+                    logger.log(Level.SEVERE, "Error in " + LIVE_PVS + " pattern '" + regex + "'", ex);
+                }
+            }
+        }
+        return live;
+    }
+
     private static String get(final String setting, final String default_value)
     {
         String value = default_value;
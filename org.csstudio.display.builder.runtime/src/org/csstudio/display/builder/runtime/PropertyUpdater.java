@@ -13,6 +13,9 @@ import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
 import org.diirt.vtype.VType;
 
 /** RuntimePVListener that updates a property with received VType
+ *
+ *  <p>Updates are deferred while the display is suspended.
+ *
  *  @author Kay Kasemir
  */
 public class PropertyUpdater implements RuntimePVListener
@@ -31,12 +34,12 @@ public class PropertyUpdater implements RuntimePVListener
     @Override
     public void valueChanged(final RuntimePV pv, final VType value)
     {
-        property.setValue(value);
+        DisplaySuspension.execute(property.getWidget(), pv, this, () -> property.setValue(value));
     }
 
     @Override
     public void disconnected(final RuntimePV pv)
     {
-        property.setValue(null);
+        DisplaySuspension.execute(property.getWidget(), pv, this, () -> property.setValue(null));
     }
 }
\ No newline at end of file
@@ -30,9 +30,13 @@ import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
 import org.csstudio.display.builder.model.macros.MacroHandler;
 import org.csstudio.display.builder.model.macros.MacroValueProvider;
+import org.csstudio.display.builder.model.macros.Macros;
+import org.csstudio.display.builder.model.persist.DisplayModelCache;
 import org.csstudio.display.builder.model.persist.WidgetClassesService;
 import org.csstudio.display.builder.model.properties.ActionInfo;
+import org.csstudio.display.builder.model.properties.ActionInfos;
 import org.csstudio.display.builder.model.properties.ExecuteScriptActionInfo;
+import org.csstudio.display.builder.model.properties.OpenDisplayActionInfo;
 import org.csstudio.display.builder.model.properties.ScriptInfo;
 import org.csstudio.display.builder.model.properties.WritePVActionInfo;
 import org.csstudio.display.builder.model.rules.RuleInfo;
@@ -203,7 +207,8 @@ public class WidgetRuntime<MW extends Widget>
             pv_name_binding.set(new PVNameToValueBinding(this, name.get(), value.get(), true));
 
         // Prepare action-related PVs
-        final List<ActionInfo> actions = widget.propActions().getValue().getActions();
+        final ActionInfos action_infos = widget.propActions().getValue();
+        final List<ActionInfo> actions = action_infos.getActions();
         if (actions.size() > 0)
         {
             final List<RuntimePV> action_pvs = new ArrayList<>();
@@ -217,6 +222,8 @@ public class WidgetRuntime<MW extends Widget>
                     action_pvs.add(pv);
                     addPV(pv, true);
                 }
+                else if (action instanceof OpenDisplayActionInfo  &&  action_infos.isPrefetched())
+                    prefetchDisplay((OpenDisplayActionInfo) action);
             }
             if (action_pvs.size() > 0)
                 this.writable_pvs = action_pvs;
@@ -228,6 +235,26 @@ public class WidgetRuntime<MW extends Widget>
         RuntimeUtil.getExecutor().execute(this::startScripts);
     }
 
+    /** Load display of action in background, so that opening it is faster
+     *  @param action Action that opens a display
+     */
+    private void prefetchDisplay(final OpenDisplayActionInfo action)
+    {
+        try
+        {   // Expand macros and resolve like ActionUtil
+            final Macros expanded = new Macros(action.getMacros());
+            expanded.expandValues(widget.getEffectiveMacros());
+            final Macros macros = Macros.merge(widget.getEffectiveMacros(), expanded);
+            final String expanded_path = MacroHandler.replace(macros, action.getFile());
+            final String parent_file = widget.getDisplayModel().getUserData(DisplayModel.USER_DATA_INPUT_FILE);
+            DisplayModelCache.getInstance().prefetch(parent_file, expanded_path);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot prefetch display for " + action, ex);
+        }
+    }
+
     /** Start Scripts */
     private void startScripts()
     {
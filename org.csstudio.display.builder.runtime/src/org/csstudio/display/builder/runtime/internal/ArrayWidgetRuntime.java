@@ -26,6 +26,10 @@ import org.csstudio.display.builder.runtime.pv.ArrayPVDispatcher;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
 
 /** Runtime for array widget
+ *
+ *  <p>When the widget is 'virtualized', the element widgets
+ *  are bound to a window of the array that starts at the
+ *  'first_index' and has one element per element widget.
  *
  *  @author Amanda Carpenter
  */
@@ -46,8 +50,16 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
                 pvnames.add(pv.getName());
             setPVNames(0, new ArrayList<Widget>(widget.runtimeChildren().getValue()));
         }
+
+        @Override
+        public void arrayLengthChanged(final int length)
+        {
+            widget.runtimePropArrayLength().setValue(length);
+        }
     };
 
+    private final WidgetPropertyListener<Integer> first_index_listener = (prop, old, first) -> updateWindow();
+
     private final WidgetPropertyListener<List<Widget>> children_listener = (prop, removed, added) ->
     {
         if (removed != null)
@@ -73,6 +85,7 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
             for (Widget child : added)
                 RuntimeUtil.startRuntime(child);
         }
+        updateWindow();
     };
 
     @Override
@@ -88,15 +101,25 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
         super.start();
         RuntimePV pv = getPrimaryPV().orElse(null);
         if (pv != null)
-            dispatcher = new ArrayPVDispatcher(pv, pvid, assign_pv_names);
+        {
+            if (widget.propVirtualized().getValue())
+                dispatcher = new ArrayPVDispatcher(pv, pvid,
+                                                   widget.runtimePropFirstIndex().getValue(),
+                                                   widget.runtimeChildren().getValue().size(),
+                                                   assign_pv_names);
+            else
+                dispatcher = new ArrayPVDispatcher(pv, pvid, assign_pv_names);
+        }
         for (final Widget child : widget.runtimeChildren().getValue())
             RuntimeUtil.startRuntime(child);
         widget.runtimeChildren().addPropertyListener(children_listener);
+        widget.runtimePropFirstIndex().addPropertyListener(first_index_listener);
     }
 
     @Override
     public void stop()
     {
+        widget.runtimePropFirstIndex().removePropertyListener(first_index_listener);
         widget.runtimeChildren().removePropertyListener(children_listener);
         for (final Widget child : widget.runtimeChildren().getValue())
             RuntimeUtil.stopRuntime(child);
@@ -105,6 +128,14 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
         super.stop();
     }
 
+    /** In virtualized mode, bind element widgets to the current window of the array */
+    private void updateWindow()
+    {
+        if (dispatcher != null  &&  widget.propVirtualized().getValue())
+            dispatcher.setWindow(widget.runtimePropFirstIndex().getValue(),
+                                 widget.runtimeChildren().getValue().size());
+    }
+
     private void setPVNames(int i, List<Widget> added)
     {
         for (Widget widget : added)
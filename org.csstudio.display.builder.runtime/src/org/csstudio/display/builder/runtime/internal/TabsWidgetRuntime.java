@@ -7,6 +7,18 @@
  *******************************************************************************/
 package org.csstudio.display.builder.runtime.internal;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.WidgetPropertyListener;
+import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.model.widgets.TabsWidget;
 import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
@@ -16,23 +28,153 @@ import org.csstudio.display.builder.runtime.WidgetRuntime;
  *
  *  <p>Starts/stop the widgets in the tabs.
  *
+ *  <p>With 'lazy_runtime', the widgets of a tab are only started
+ *  when the tab is first selected.
+ *  If there is a 'dispose_delay', they are stopped again
+ *  after the tab has been inactive for that time.
+ *  Widgets are started and stopped on the runtime executor,
+ *  not on the thread that selects a tab.
+ *
  *  @author Kay Kasemir
  */
 public class TabsWidgetRuntime extends WidgetRuntime<TabsWidget>
 {
+    /** Children of tabs that should be running, guarded by 'this' */
+    private final Set<ChildrenProperty> started = new HashSet<>();
+
+    /** Children of tabs that are running, guarded by 'running' */
+    private final Set<ChildrenProperty> running = new HashSet<>();
+
+    /** Timers for stopping inactive tabs, guarded by 'this' */
+    private final Map<ChildrenProperty, ScheduledFuture<?>> stop_timers = new HashMap<>();
+
+    private final WidgetPropertyListener<Integer> active_tab_listener = (property, old_index, index) ->
+    {
+        startTab(index);
+        final int delay = widget.propDisposeDelay().getValue();
+        if (old_index != null  &&  delay > 0)
+            scheduleStop(old_index, delay);
+    };
+
     @Override
     public void start() throws Exception
     {
         super.start();
-        for (TabItemProperty tab : widget.propTabs().getValue())
-            RuntimeUtil.startChildRuntimes(tab.children());
+        if (widget.propLazyRuntime().getValue())
+        {
+            requestStart(widget.propActiveTab().getValue());
+            widget.propActiveTab().addPropertyListener(active_tab_listener);
+        }
+        else
+            for (int i=0; i<widget.propTabs().size(); ++i)
+                requestStart(i);
+        updateRuntimes();
+    }
+
+    /** @param index Index of tab
+     *  @return Children of that tab, or <code>null</code>
+     */
+    private ChildrenProperty getTabChildren(final Integer index)
+    {
+        final List<TabItemProperty> tabs = widget.propTabs().getValue();
+        if (index == null  ||  index < 0  ||  index >= tabs.size())
+            return null;
+        return tabs.get(index).children();
+    }
+
+    /** Request starting the widgets of a tab
+     *  @param index Index of tab
+     *  @return <code>true</code> if tab was not already requested to run
+     */
+    private synchronized boolean requestStart(final Integer index)
+    {
+        final ChildrenProperty children = getTabChildren(index);
+        if (children == null)
+            return false;
+        final ScheduledFuture<?> timer = stop_timers.remove(children);
+        if (timer != null)
+            timer.cancel(false);
+        return started.add(children);
+    }
+
+    /** Start widgets of a tab in background, unless already running
+     *  @param index Index of tab
+     */
+    private void startTab(final Integer index)
+    {
+        if (requestStart(index))
+            RuntimeUtil.getExecutor().execute(this::updateRuntimes);
+    }
+
+    /** Schedule stopping the widgets of a tab
+     *  @param index Index of tab
+     *  @param delay Delay in seconds
+     */
+    private synchronized void scheduleStop(final Integer index, final int delay)
+    {
+        final ChildrenProperty children = getTabChildren(index);
+        if (children == null  ||  ! started.contains(children))
+            return;
+        final ScheduledFuture<?> timer = stop_timers.put(children,
+            ModelThreadPool.getTimer().schedule(() -> stopTab(children), delay, TimeUnit.SECONDS));
+        if (timer != null)
+            timer.cancel(false);
+    }
+
+    /** Stop widgets of a tab in background unless it has been selected again
+     *  @param children Children of tab
+     */
+    private void stopTab(final ChildrenProperty children)
+    {
+        synchronized (this)
+        {
+            stop_timers.remove(children);
+            if (children == getTabChildren(widget.propActiveTab().getValue()))
+                return;
+            if (! started.remove(children))
+                return;
+        }
+        RuntimeUtil.getExecutor().execute(this::updateRuntimes);
+    }
+
+    /** Start or stop the widgets of tabs to match the requested tabs */
+    private void updateRuntimes()
+    {
+        synchronized (running)
+        {
+            final Set<ChildrenProperty> requested;
+            synchronized (this)
+            {
+                requested = new HashSet<>(started);
+            }
+            final Iterator<ChildrenProperty> iter = running.iterator();
+            while (iter.hasNext())
+            {
+                final ChildrenProperty children = iter.next();
+                if (! requested.contains(children))
+                {
+                    iter.remove();
+                    RuntimeUtil.stopChildRuntimes(children);
+                }
+            }
+            for (ChildrenProperty children : requested)
+                if (running.add(children))
+                    RuntimeUtil.startChildRuntimes(children);
+        }
     }
 
     @Override
     public void stop()
     {
-        for (TabItemProperty tab : widget.propTabs().getValue())
-            RuntimeUtil.stopChildRuntimes(tab.children());
+        widget.propActiveTab().removePropertyListener(active_tab_listener);
+        synchronized (this)
+        {
+            for (ScheduledFuture<?> timer : stop_timers.values())
+                timer.cancel(false);
+            stop_timers.clear();
+            started.clear();
+        }
+        updateRuntimes();
         super.stop();
     }
 }
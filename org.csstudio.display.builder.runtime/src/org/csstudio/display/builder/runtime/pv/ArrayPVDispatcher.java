@@ -38,6 +38,10 @@ import org.diirt.vtype.VType;
  *
  *  <p>Treats scalar input PVs as one-element array.
  *
+ *  <p>In windowed mode, only a limited number of per-element PVs
+ *  is created. They show a window of the array, which can be moved
+ *  through the complete array value kept in a shared buffer.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -56,6 +60,18 @@ public class ArrayPVDispatcher implements AutoCloseable
          *  @param element_pvs One scalar PV for each element of the array
          */
         public void arrayChanged(List<RuntimePV> element_pvs);
+
+        /** Notification of a change in the number of array elements.
+         *
+         *  <p>In windowed mode, the per-element PVs may only
+         *  cover part of the array.
+         *
+         *  @param length Number of elements in the array
+         */
+        default public void arrayLengthChanged(final int length)
+        {
+            // Ignored by default
+        }
     }
 
     private final RuntimePV array_pv;
@@ -114,6 +130,19 @@ public class ArrayPVDispatcher implements AutoCloseable
 
     private final AtomicReference<List<RuntimePV>> element_pvs = new AtomicReference<>(Collections.emptyList());
 
+    /** Requested index of first element in window, and size of window (-1 for complete array) */
+    private volatile int window_first, window_size;
+
+    /** Array index of the first per-element PV */
+    private volatile int offset = 0;
+
+    /** Last array value, either numbers or strings, used to move the window */
+    private volatile ListNumber number_buffer = null;
+    private volatile List<String> string_buffer = null;
+
+    /** Number of array elements, -1 when not known */
+    private volatile int array_length = -1;
+
     /** Construct dispatcher
      *
      *  @param array_pv PV that will be dispatched into per-element PVs
@@ -122,10 +151,27 @@ public class ArrayPVDispatcher implements AutoCloseable
      */
     public ArrayPVDispatcher(final RuntimePV array_pv, final String basename,
                              final Listener listener)
+    {
+        this(array_pv, basename, 0, -1, listener);
+    }
+
+    /** Construct dispatcher in windowed mode
+     *
+     *  @param array_pv PV that will be dispatched into per-element PVs
+     *  @param basename Base name used to create per-element PVs.
+     *  @param first Array index of the first per-element PV
+     *  @param size Number of per-element PVs, -1 for all array elements
+     *  @see #close()
+     */
+    public ArrayPVDispatcher(final RuntimePV array_pv, final String basename,
+                             final int first, final int size,
+                             final Listener listener)
     {
         this.array_pv = array_pv;
         this.basename = basename;
         this.listener = listener;
+        window_first = Math.max(0, first);
+        window_size = size;
 
         array_pv.addListener(array_listener);
     }
@@ -155,6 +201,49 @@ public class ArrayPVDispatcher implements AutoCloseable
         }
     }
 
+    /** Move the window of per-element PVs
+     *
+     *  <p>Per-element PVs are re-used when the size of the window
+     *  remains the same, only their values are updated
+     *  from the last array value.
+     *
+     *  @param first Array index of the first per-element PV
+     *  @param size Number of per-element PVs, -1 for all array elements
+     */
+    public void setWindow(final int first, final int size)
+    {
+        window_first = Math.max(0, first);
+        window_size = size;
+        try
+        {
+            final ListNumber numbers = number_buffer;
+            final List<String> strings = string_buffer;
+            if (numbers != null)
+                dispatchArrayUpdate(numbers);
+            else if (strings != null)
+                dispatchArrayUpdate(strings);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot move window of " + array_pv.getName(), ex);
+        }
+    }
+
+    /** @param length Number of elements in the array
+     *  @return Number of per-element PVs for current window
+     */
+    private int computeWindow(final int length)
+    {
+        final int size = window_size < 0 ? length : Math.min(window_size, length);
+        offset = Math.max(0, Math.min(window_first, length - size));
+        if (length != array_length)
+        {
+            array_length = length;
+            listener.arrayLengthChanged(length);
+        }
+        return size;
+    }
+
     private void notifyOfDisconnect()
     {
         ignore_element_updates = true;
@@ -179,19 +268,22 @@ public class ArrayPVDispatcher implements AutoCloseable
     }
 
     /** @param value Value update from array of numbers or enum indices */
-    private void dispatchArrayUpdate(final ListNumber value) throws Exception
+    private synchronized void dispatchArrayUpdate(final ListNumber value) throws Exception
     {
         ignore_element_updates = true;
         try
         {
+            number_buffer = value;
+            string_buffer = null;
             List<RuntimePV> pvs = element_pvs.get();
-            final int N = value.size();
+            final int N = computeWindow(value.size());
+            final int first = offset;
             if (pvs.size() != N)
             {   // Create new element PVs
                 pvs = new ArrayList<>(N);
                 for (int i=0; i<N; ++i)
                 {
-                    final double val = value.getDouble(i);
+                    final double val = value.getDouble(first + i);
                     final String name = "loc://" + basename + i;
                     final RuntimePV pv = PVFactory.getPV(name);
                     pv.write(val);
@@ -202,7 +294,7 @@ public class ArrayPVDispatcher implements AutoCloseable
             else
             {   // Update existing element PVs
                 for (int i=0; i<N; ++i)
-                    pvs.get(i).write(value.getDouble(i));
+                    pvs.get(i).write(value.getDouble(first + i));
             }
         }
         finally
@@ -212,13 +304,16 @@ public class ArrayPVDispatcher implements AutoCloseable
     }
 
     /** @param value Value update from array of strings */
-    private void dispatchArrayUpdate(final List<String> value) throws Exception
+    private synchronized void dispatchArrayUpdate(final List<String> value) throws Exception
     {
         ignore_element_updates = true;
         try
         {
+            number_buffer = null;
+            string_buffer = value;
             List<RuntimePV> pvs = element_pvs.get();
-            final int N = value.size();
+            final int N = computeWindow(value.size());
+            final int first = offset;
             if (pvs.size() != N)
             {   // Create new element PVs
                 pvs = new ArrayList<>(N);
@@ -226,7 +321,7 @@ public class ArrayPVDispatcher implements AutoCloseable
                 {
                     final String name = "loc://" + basename + i + "(\"\")";
                     final RuntimePV pv = PVFactory.getPV(name);
-                    pv.write(value.get(i));
+                    pv.write(value.get(first + i));
                     pvs.add(pv);
                 }
                 updateElementPVs(true, pvs);
@@ -234,7 +329,7 @@ public class ArrayPVDispatcher implements AutoCloseable
             else
             {   // Update existing element PVs
                 for (int i=0; i<N; ++i)
-                    pvs.get(i).write(value.get(i));
+                    pvs.get(i).write(value.get(first + i));
             }
         }
         finally
@@ -243,11 +338,15 @@ public class ArrayPVDispatcher implements AutoCloseable
         }
     }
 
-    /** Update the array PV with the current value of all element PVs */
+    /** Update the array PV with the current value of all element PVs
+     *
+     *  <p>Array elements outside of the window are taken from the buffer.
+     */
     private void updateArrayFromElements() throws Exception
     {
         final List<RuntimePV> pvs = element_pvs.get();
         final int N = pvs.size();
+        final int first = offset;
 
         if (N == 1)
         {   // Is 'array' really a scalar?
@@ -262,16 +361,21 @@ public class ArrayPVDispatcher implements AutoCloseable
 
         if (is_string)
         {
-            final String[] value = new String[N];
-            for (int i=0; i<N; ++i)
-                value[i] = VTypeUtil.getValueString(pvs.get(i).read(), false);
+            final List<String> buffer = string_buffer;
+            final String[] value = buffer == null ? new String[N] : buffer.toArray(new String[buffer.size()]);
+            for (int i=0; i<N  &&  first+i < value.length; ++i)
+                value[first + i] = VTypeUtil.getValueString(pvs.get(i).read(), false);
             array_pv.write(value);
         }
         else
         {
-            final double[] value = new double[N];
-            for (int i=0; i<N; ++i)
-                value[i] = VTypeUtil.getValueNumber(pvs.get(i).read()).doubleValue();
+            final ListNumber buffer = number_buffer;
+            final double[] value = new double[buffer == null ? N : buffer.size()];
+            if (buffer != null)
+                for (int i=0; i<value.length; ++i)
+                    value[i] = buffer.getDouble(i);
+            for (int i=0; i<N  &&  first+i < value.length; ++i)
+                value[first + i] = VTypeUtil.getValueNumber(pvs.get(i).read()).doubleValue();
             array_pv.write(value);
         }
     }
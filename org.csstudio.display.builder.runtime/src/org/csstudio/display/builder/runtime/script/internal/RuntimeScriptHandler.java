@@ -24,6 +24,7 @@ import org.csstudio.display.builder.model.properties.ScriptPV;
 import org.csstudio.display.builder.model.rules.RuleInfo;
 import org.csstudio.display.builder.model.rules.RuleToScript;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.csstudio.display.builder.runtime.DisplaySuspension;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.display.builder.runtime.WidgetRuntime;
 import org.csstudio.display.builder.runtime.pv.PVFactory;
@@ -236,8 +237,9 @@ public class RuntimeScriptHandler implements RuntimePVListener
                 return;
         }
 
-        // Request execution of script
-        script.submit(widget, pvs);
+        // Request execution of script,
+        // once on resume if the display is suspended
+        DisplaySuspension.execute(widget, pv, this, () -> script.submit(widget, pvs));
     }
 
     /** @param pv PV
@@ -261,6 +263,6 @@ public class RuntimeScriptHandler implements RuntimePVListener
         // Invoke script even if (trigger) PV is disconnected
         final int i = getPVIndex(pv);
         if (infos.get(i).isTrigger())
-            script.submit(widget, pvs);
+            DisplaySuspension.execute(widget, pv, this, () -> script.submit(widget, pvs));
     }
 }
\ No newline at end of file
@@ -9,11 +9,17 @@
 package org.csstudio.javafx;
 
 
-import java.util.Collections;
-import java.util.Map;
+import static org.csstudio.javafx.Activator.logger;
 
-import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
-import org.apache.commons.collections4.map.ReferenceMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 import javafx.scene.image.Image;
 
@@ -25,34 +31,53 @@ import javafx.scene.image.Image;
  * This class will allow caching of images using their resolved filename as key.
  * <p/>
  * <p>
- * Current implementation uses a {@link ReferenceMap} of soft pointers for both
- * the key and the value (an {@link Image}). This will allow for the garbage
- * collector to reclaim the memory of unreferenced images on critically low
- * memory
- * situations.
+ * Decoded images are kept up to a memory budget, estimated as 4 bytes per
+ * pixel. When the budget is exceeded, the least recently used images are
+ * evicted. The budget defaults to 200 MB and can be set via
+ * {@link #setMaxBytes(long)}, which the display builder does
+ * based on its {@code image_cache_mb} preference.
  * </p>
  * <p>
- * A better implementation will use a real cache library (e.g.
- * <a href="https://cache2k.org">cache2k</a>) with proper policies.
+ * {@link #cache(String, Callable)} decodes an image only once, even when
+ * several widgets request it at the same time. Images rendered for a certain size, for example from SVG files, use
+ * {@link #getKey(String, double, double)} to cache each size separately.
  * </p>
  *
  * @author claudiorosati, European Spallation Source ERIC
+ * @author Kay Kasemir
  * @version 1.0.0 17 Oct 2018
  */
+@SuppressWarnings( "nls" )
 public class ImageCache {
 
-    private static final Map<String, Image> CACHE = Collections.synchronizedMap(new ReferenceMap<>(ReferenceStrength.SOFT, ReferenceStrength.SOFT));
+    /** Least recently used images first, guarded by synchronizing on CACHE */
+    private static final LinkedHashMap<String, Image> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Images that are currently decoded */
+    private static final Map<String, FutureTask<Image>> LOADING = new ConcurrentHashMap<>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private static long maxBytes = 200L * 1024 * 1024;
+    private static long bytes = 0;
 
     /**
      * @return The number of entries before the cache is cleared.
      */
     public static int clear ( ) {
 
-        int entries = size();
+        synchronized ( CACHE ) {
+
+            int entries = CACHE.size();
 
-        CACHE.clear();
+            CACHE.clear();
+            bytes = 0;
 
-        return entries;
+            return entries;
+
+        }
 
     }
 
@@ -62,7 +87,21 @@ public class ImageCache {
      * @return The cached {@link Image} instance or {@code null}.
      */
     public static Image get ( String key ) {
-        return CACHE.get(key);
+
+        Image image;
+
+        synchronized ( CACHE ) {
+            image = CACHE.get(key);
+        }
+
+        if ( image == null ) {
+            MISSES.incrementAndGet();
+        } else {
+            HITS.incrementAndGet();
+        }
+
+        return image;
+
     }
 
     /**
@@ -73,7 +112,28 @@ public class ImageCache {
      *         {@code key}, or {@code null}.
      */
     public static Image put ( String key, Image value ) {
-        return CACHE.put(key, value);
+
+        long size = getBytes(value);
+
+        synchronized ( CACHE ) {
+
+            Image previous = CACHE.remove(key);
+
+            if ( previous != null ) {
+                bytes -= getBytes(previous);
+            }
+
+            // An image that alone exceeds the budget is not cached.
+            if ( size <= maxBytes ) {
+                CACHE.put(key, value);
+                bytes += size;
+                evict();
+            }
+
+            return previous;
+
+        }
+
     }
 
     /**
@@ -83,7 +143,19 @@ public class ImageCache {
      *         {@code key}, or {@code null}.
      */
     public static Image remove ( String key ) {
-        return CACHE.remove(key);
+
+        synchronized ( CACHE ) {
+
+            Image previous = CACHE.remove(key);
+
+            if ( previous != null ) {
+                bytes -= getBytes(previous);
+            }
+
+            return previous;
+
+        }
+
     }
 
     /**
@@ -91,7 +163,156 @@ public class ImageCache {
      *         cache.
      */
     public static int size ( ) {
-        return CACHE.size();
+        synchronized ( CACHE ) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Get an image from the cache, decoding it in the calling thread if needed.
+     * When another thread is already decoding the same image, its result is
+     * awaited instead of decoding the image again.
+     *
+     * @param key    The unique identifier of the image.
+     * @param loader Decodes the image.
+     * @return The cached or newly decoded {@link Image}.
+     * @throws Exception When the image cannot be decoded.
+     */
+    public static Image cache ( String key, Callable<Image> loader ) throws Exception {
+
+        Image image = get(key);
+
+        if ( image != null ) {
+            return image;
+        }
+
+        FutureTask<Image> task = new FutureTask<>(() -> decode(key, loader));
+        FutureTask<Image> active = LOADING.putIfAbsent(key, task);
+
+        if ( active == null ) {
+            run(key, task);
+            active = task;
+        }
+
+        try {
+            return active.get();
+        } catch ( ExecutionException ex ) {
+            if ( ex.getCause() instanceof Exception ) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+
+    }
+
+    /**
+     * @param path   The resolved filename of the image.
+     * @param width  The width for which the image is rendered.
+     * @param height The height for which the image is rendered.
+     * @return The key for the image rendered at the given size.
+     */
+    public static String getKey ( String path, double width, double height ) {
+        return path + "@" + Math.round(width) + "x" + Math.round(height);
+    }
+
+    /**
+     * @param max The memory budget of the cache in bytes.
+     */
+    public static void setMaxBytes ( long max ) {
+        synchronized ( CACHE ) {
+            maxBytes = max;
+            evict();
+        }
+    }
+
+    /**
+     * @return The estimated memory used by the cached images, in bytes.
+     */
+    public static long getBytes ( ) {
+        synchronized ( CACHE ) {
+            return bytes;
+        }
+    }
+
+    /**
+     * @return The number of requests that found the image in the cache.
+     */
+    public static long getHits ( ) {
+        return HITS.get();
+    }
+
+    /**
+     * @return The number of requests that did not find the image in the
+     *         cache.
+     */
+    public static long getMisses ( ) {
+        return MISSES.get();
+    }
+
+    /**
+     * @return The number of images removed to stay within the memory budget.
+     */
+    public static long getEvictions ( ) {
+        return EVICTIONS.get();
+    }
+
+    private static Image decode ( String key, Callable<Image> loader ) throws Exception {
+
+        // Another thread may have completed the same image since the
+        // cache was checked.
+        Image image;
+
+        synchronized ( CACHE ) {
+            image = CACHE.get(key);
+        }
+
+        if ( image == null ) {
+
+            image = loader.call();
+
+            if ( image.isError() ) {
+                throw new Exception("Cannot decode image " + key, image.getException());
+            }
+
+            put(key, image);
+
+        }
+
+        return image;
+
+    }
+
+    private static void run ( String key, FutureTask<Image> task ) {
+        try {
+            task.run();
+        } finally {
+            LOADING.remove(key, task);
+        }
+    }
+
+    /**
+     * Remove least recently used images until the cache is within its budget.
+     * Caller must synchronize on {@link #CACHE}.
+     */
+    private static void evict ( ) {
+
+        Iterator<Map.Entry<String, Image>> iterator = CACHE.entrySet().iterator();
+
+        while ( bytes > maxBytes && iterator.hasNext() ) {
+
+            Map.Entry<String, Image> entry = iterator.next();
+
+            bytes -= getBytes(entry.getValue());
+            iterator.remove();
+            EVICTIONS.incrementAndGet();
+            logger.log(Level.FINE, "Evicted {0} from image cache", entry.getKey());
+
+        }
+
+    }
+
+    private static long getBytes ( Image image ) {
+        return 4L * Math.round(image.getWidth()) * Math.round(image.getHeight());
     }
 
     private ImageCache ( ) {
@@ -760,23 +760,28 @@ public class StringTable extends BorderPane
     */
    public void setData(final List<List<String>> new_data)
    {
-       // Try to update existing StringProperty cells for common rows
+       // Try to update existing StringProperty cells for common rows.
+       // Cells only notify the table when their text actually changes.
        final int rows = getDataRowCount();
        final int both = Math.min(rows, new_data.size());
        for (int r=0; r<both; ++r)
            copyRow(r, new_data.get(r), data.get(r));
 
-       // Add new rows
-       for (int r=rows; r<new_data.size(); ++r)
+       // Add new rows, all at once to avoid table update for each row
+       if (new_data.size() > rows)
        {
-           final List<StringProperty> row = createEmptyRow();
-           copyRow(r, new_data.get(r), row);
-           data.add(r, row);
+           final List<List<StringProperty>> new_rows = new ArrayList<>(new_data.size() - rows);
+           for (int r=rows; r<new_data.size(); ++r)
+           {
+               final List<StringProperty> row = createEmptyRow();
+               copyRow(r, new_data.get(r), row);
+               new_rows.add(row);
+           }
+           data.addAll(rows, new_rows);
        }
-
        // Delete superfluous rows
-       for (int r=rows-1; r>=new_data.size(); --r)
-           data.remove(r);
+       else if (rows > new_data.size())
+           data.remove(new_data.size(), rows);
 
        if (editable  &&  data.size() <= new_data.size())
            data.add(MAGIC_LAST_ROW);
@@ -785,6 +790,46 @@ public class StringTable extends BorderPane
        // fireDataChanged();
    }
 
+   /** Set or update data column by column
+    *
+    *  <p>Columns that are <code>null</code> remain unchanged,
+    *  so a caller that knows which columns changed
+    *  only needs to provide the cells of those columns.
+    *
+    *  @param rows Number of rows
+    *  @param new_columns Cells for each column, <code>null</code> to keep the current cells
+    */
+   public void setColumnData(final int rows, final List<List<String>> new_columns)
+   {
+       // Add or remove rows, all at once
+       final int old_rows = getDataRowCount();
+       if (rows > old_rows)
+       {
+           final List<List<StringProperty>> new_rows = new ArrayList<>(rows - old_rows);
+           for (int r=old_rows; r<rows; ++r)
+               new_rows.add(createEmptyRow());
+           data.addAll(old_rows, new_rows);
+       }
+       else if (old_rows > rows)
+           data.remove(rows, old_rows);
+       if (editable  &&  data.size() <= rows)
+           data.add(MAGIC_LAST_ROW);
+
+       // Update existing StringProperty cells of changed columns
+       final int cols = Math.min(getColumnCount(), new_columns.size());
+       for (int c=0; c<cols; ++c)
+       {
+           final List<String> column = new_columns.get(c);
+           if (column == null)
+               continue;
+           final int both = Math.min(rows, column.size());
+           for (int r=0; r<both; ++r)
+               data.get(r).get(c).set(column.get(r));
+           for (int r=both; r<rows; ++r)
+               data.get(r).get(c).set("");
+       }
+   }
+
    /** @param row Row index (for error message)
     *  @param src Strings to place into table row
     *  @param dst Table row
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Oak Ridge National Laboratory.
+ * Copyright (c) 2017-2018 Oak Ridge National Laboratory.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,18 +7,76 @@
  *******************************************************************************/
 package org.csstudio.javafx;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.application.Platform;
 import javafx.geometry.Bounds;
 import javafx.geometry.Dimension2D;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
 /** Helper for text
+ *
+ *  <p>Sizes of recently measured texts are cached.
+ *  For monospaced fonts, the size of a single line of plain text
+ *  is computed from the size of one character.
+ *
  *  @author Kay Kasemir
  */
+@SuppressWarnings("nls")
 public class TextUtils
 {
+    /** Number of measured texts to keep */
+    private static final int MAX_CACHE_SIZE = 10000;
+
     private final static Text helper = new Text();
 
+    /** Font and text, key for the size cache */
+    private static class Key
+    {
+        final Font font;
+        final String text;
+
+        Key(final Font font, final String text)
+        {
+            this.font = font;
+            this.text = text;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return font.hashCode() * 31 + text.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (! (obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return font.equals(other.font)  &&  text.equals(other.text);
+        }
+    }
+
+    /** Least recently used sizes first, only accessed on UI thread */
+    private final static Map<Key, Dimension2D> sizes = new LinkedHashMap<Key, Dimension2D>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Dimension2D> eldest)
+        {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /** Size of one character for monospaced fonts, <code>null</code> for other fonts */
+    private final static Map<Font, Dimension2D> char_sizes = new HashMap<>();
+
     /** Compute the preferred size for a text
      *
      *  <p>Must be called on the UI thread,
@@ -29,6 +87,91 @@ public class TextUtils
      *  @return Width, height
      */
     public static Dimension2D computeTextSize(final Font font, final String text)
+    {
+        final Dimension2D char_size = getCharSize(font);
+        if (char_size != null  &&  isPlainLine(text))
+            return new Dimension2D(char_size.getWidth() * text.length(), char_size.getHeight());
+
+        final Key key = new Key(font, text);
+        Dimension2D size = sizes.get(key);
+        if (size == null)
+        {
+            size = measure(font, text);
+            sizes.put(key, size);
+        }
+        return size;
+    }
+
+    /** Clear cached sizes
+     *
+     *  <p>To be called when fonts are installed or calibrated,
+     *  which could change the size of texts.
+     *  May be called on any thread,
+     *  the cache is cleared on the UI thread.
+     */
+    public static void clearCache()
+    {
+        if (Platform.isFxApplicationThread())
+            doClearCache();
+        else
+        {
+            try
+            {
+                Platform.runLater(TextUtils::doClearCache);
+            }
+            catch (IllegalStateException ex)
+            {   // Toolkit not initialized, so there is no UI thread using the cache
+                doClearCache();
+            }
+        }
+    }
+
+    private static void doClearCache()
+    {
+        sizes.clear();
+        char_sizes.clear();
+    }
+
+    /** @param font Font
+     *  @return Size of one character if font is monospaced, else <code>null</code>
+     */
+    private static Dimension2D getCharSize(final Font font)
+    {
+        if (char_sizes.containsKey(font))
+            return char_sizes.get(font);
+        final Dimension2D narrow = measure(font, "iiiiiiiiii"),
+                          wide   = measure(font, "WWWWWWWWWW");
+        final Dimension2D char_size = Objects.equals(narrow, wide)
+                                    ? new Dimension2D(wide.getWidth() / 10, wide.getHeight())
+                                    : null;
+        char_sizes.put(font, char_size);
+        return char_size;
+    }
+
+    /** @param text Text
+     *  @return Is text a single line of printable ASCII characters,
+     *          not starting or ending in space?
+     */
+    private static boolean isPlainLine(final String text)
+    {
+        if (text.isEmpty()  ||
+            text.charAt(0) == ' '  ||
+            text.charAt(text.length()-1) == ' ')
+            return false;
+        for (int i=text.length()-1; i>=0; --i)
+        {
+            final char c = text.charAt(i);
+            if (c < ' '  ||  c > '~')
+                return false;
+        }
+        return true;
+    }
+
+    /** @param font Font
+     *  @param text Text
+     *  @return Size of the text as laid out by the text helper
+     */
+    private static Dimension2D measure(final Font font, final String text)
     {
         // com.sun.javafx.scene.control.skin.Utils contains related code,
         // but is private